@@ -0,0 +1,100 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+
+/**
+ * This controller shows a 'BoardUiState' on a 'BoardView'. It remembers what each view currently
+ * shows and passes only the differences to the view - a selection changes one field and the
+ * display of the gamer on turn, a new round only resets the flagged fields. It doesn't depend on
+ * any Android class, so the views are only touched by the 'BoardView' implementation.
+ */
+public class BoardController {
+
+    /** The views of the playing field as seen by the controller. */
+    public interface BoardView {
+
+        /**
+         * @param field the field index from [0-8].
+         * @param symbol the symbol to show - 'BoardUiState.SYMBOL_EMPTY', 'SYMBOL_X' or 'SYMBOL_O'.
+         */
+        void showFieldSymbol(int field, int symbol);
+
+        /**
+         * @param field the field index from [0-8].
+         * @param selectable 'true' if the field can be selected.
+         */
+        void setFieldSelectable(int field, boolean selectable);
+
+        /**
+         * @param xOnTurn 'true' to mark the gamer 'X' as on turn, 'false' for the gamer 'O'.
+         */
+        void showGamerOnTurn(boolean xOnTurn);
+    }
+
+    /** The value of a shown state which is unknown and has to be shown in any case. */
+    private static final int UNKNOWN = -1;
+    /** The value of a shown 'false'. */
+    private static final int FALSE = 0;
+    /** The value of a shown 'true'. */
+    private static final int TRUE = 1;
+
+    /** The shown model. */
+    private final BoardUiState mUiState;
+    /** The view showing the model. */
+    private final BoardView mBoardView;
+
+    /** The symbol currently shown by each field or 'UNKNOWN'. */
+    private final int[] mShownSymbols = new int[TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT];
+    /** Marks whether each field can currently be selected - 'TRUE', 'FALSE' or 'UNKNOWN'. */
+    private final int[] mShownSelectable = new int[TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT];
+    /** Marks whether the gamer 'X' is currently shown on turn - 'TRUE', 'FALSE' or 'UNKNOWN'. */
+    private int mShownXOnTurn;
+
+    public BoardController(BoardUiState uiState, BoardView boardView) {
+        mUiState = uiState;
+        mBoardView = boardView;
+        invalidate();
+    }
+
+    /**
+     * This method forgets everything the views show, so the next 'render()' updates all of them.
+     */
+    public void invalidate() {
+        for (int field = 0; field < TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT; field++) {
+            mShownSymbols[field] = UNKNOWN;
+            mShownSelectable[field] = UNKNOWN;
+        }
+        mShownXOnTurn = UNKNOWN;
+    }
+
+    /**
+     * This method passes all differences between the model and the shown views to the view.
+     *
+     * @return the count of changes passed to the view.
+     */
+    public int render() {
+
+        int changes = 0;
+        for (int field = 0; field < TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT; field++) {
+            int symbol = mUiState.getFieldSymbol(field);
+            if (mShownSymbols[field] != symbol) {
+                mShownSymbols[field] = symbol;
+                mBoardView.showFieldSymbol(field, symbol);
+                changes++;
+            }
+            int selectable = mUiState.isFieldSelectable(field) ? TRUE : FALSE;
+            if (mShownSelectable[field] != selectable) {
+                mShownSelectable[field] = selectable;
+                mBoardView.setFieldSelectable(field, selectable == TRUE);
+                changes++;
+            }
+        }
+        int xOnTurn = mUiState.isXOnTurn() ? TRUE : FALSE;
+        if (mShownXOnTurn != xOnTurn) {
+            mShownXOnTurn = xOnTurn;
+            mBoardView.showGamerOnTurn(xOnTurn == TRUE);
+            changes++;
+        }
+        return changes;
+    }
+}
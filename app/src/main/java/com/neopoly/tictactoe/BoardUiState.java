@@ -0,0 +1,125 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.PackedPlayingField;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+
+/**
+ * This model holds the state of the playing field as it should be shown: the symbol of each field,
+ * which fields can be selected and which gamer is on turn. It is updated only by the deltas which
+ * the game logic reports as its 'GameLogicListener', so it never reads or compares the whole
+ * playing field, and it doesn't depend on any Android class - the 'BoardController' shows it.
+ */
+public class BoardUiState implements TicTacToeGameLogicInterface.GameLogicListener {
+
+    /** The symbol of an empty field. */
+    public static final int SYMBOL_EMPTY = 0;
+    /** The symbol of a field flagged by the gamer 'X'. */
+    public static final int SYMBOL_X = 1;
+    /** The symbol of a field flagged by the gamer 'O'. */
+    public static final int SYMBOL_O = 2;
+
+    /** The 'FieldFlag' of each field. */
+    private final FieldFlag[] mFieldFlags =
+            new FieldFlag[TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT];
+    /** The 'FieldFlag' of the gamer on turn - or of the gamer after the last selection. */
+    private FieldFlag mNextGamer;
+    /** The mask of the 'win lines' of the finished game or '0'. */
+    private int mWinLines;
+    /** The state of the shown game. */
+    private GameState mGameState;
+    /** Marks whether the gamer 'X' is the first gamer of the shown game. */
+    private boolean mFirstX;
+
+    public BoardUiState() {
+        onPlayingFieldLoaded(PackedPlayingField.EMPTY);
+    }
+
+    /**
+     * This method declares which gamer is the first gamer - only called before a new game starts,
+     * so the symbols of flagged fields never change.
+     *
+     * @param firstX 'true' if the gamer 'X' is the first gamer.
+     */
+    public void setFirstX(boolean firstX) {
+        mFirstX = firstX;
+    }
+
+    @Override
+    public void onPlayingFieldLoaded(int packedPlayingField) {
+        PackedPlayingField.unpack(packedPlayingField, mFieldFlags);
+        mNextGamer = PackedPlayingField.getNextGamer(packedPlayingField);
+        mWinLines = 0;
+        mGameState = GameState.OPEN;        // Game logics only load open games
+    }
+
+    @Override
+    public void onFieldFlagged(int field, FieldFlag flag) {
+        mFieldFlags[field] = flag;
+        mNextGamer = flag.equals(FieldFlag.FIRST_GAMERS_FLAG)
+                ? FieldFlag.SECOND_GAMERS_FLAG : FieldFlag.FIRST_GAMERS_FLAG;
+    }
+
+    @Override
+    public void onLinesUnwinable(int lines) {
+        // The shown playing field doesn't mark lines which can't be won anymore
+    }
+
+    @Override
+    public void onWinLinesReached(int winLines) {
+        mWinLines = winLines;
+    }
+
+    @Override
+    public void onGameStateChanged(GameState previousGameState, GameState gameState) {
+        mGameState = gameState;
+    }
+
+    /**
+     * @param field the field index from [0-8].
+     * @return the symbol of the field - 'SYMBOL_EMPTY', 'SYMBOL_X' or 'SYMBOL_O'.
+     */
+    public int getFieldSymbol(int field) {
+        switch (mFieldFlags[field]) {
+            case FIRST_GAMERS_FLAG:
+                return mFirstX ? SYMBOL_X : SYMBOL_O;
+            case SECOND_GAMERS_FLAG:
+                return mFirstX ? SYMBOL_O : SYMBOL_X;
+            default:
+                return SYMBOL_EMPTY;
+        }
+    }
+
+    /**
+     * @param field the field index from [0-8].
+     * @return 'true' if the field is empty and the game is still open.
+     */
+    public boolean isFieldSelectable(int field) {
+        return mGameState.equals(GameState.OPEN)
+                && mFieldFlags[field].equals(FieldFlag.EMPTY_FIELD);
+    }
+
+    /**
+     * @return the mask with the bit 'n' set for each 'GameLine' with the ordinal 'n' which is a
+     * 'win line' of the finished game.
+     */
+    public int getWinLines() {
+        return mWinLines;
+    }
+
+    /**
+     * @return 'true' if the gamer 'X' is on turn - after the end of a game the gamer who would
+     * have been on turn next.
+     */
+    public boolean isXOnTurn() {
+        return mNextGamer.equals(FieldFlag.FIRST_GAMERS_FLAG) == mFirstX;
+    }
+
+    /**
+     * @return the state of the shown game.
+     */
+    public GameState getGameState() {
+        return mGameState;
+    }
+}
@@ -2,6 +2,7 @@ package com.neopoly.tictactoe;
 
 import android.app.Activity;
 import android.app.AlertDialog;
+import android.content.Context;
 import android.content.DialogInterface;
 import android.content.Intent;
 import android.os.Bundle;
@@ -12,6 +13,9 @@ import android.widget.RadioButton;
 import android.widget.RadioGroup;
 import android.widget.TextView;
 
+import com.neopoly.tictactoe.gamelogic.Match;
+import com.neopoly.tictactoe.gamelogic.MatchStore;
+
 public class MainActivity extends Activity {
 
     protected final static String NAME_X = "nameX";
@@ -21,8 +25,20 @@ public class MainActivity extends Activity {
     protected final static String WINS_O = "winsO";
     protected final static String FIRST_X = "firstX";
 
+    private static MatchStore sMatchStore;
+
     private Bundle mCurrentGameScore;
 
+    /**
+     * The match store is shared by all activities, so all writes run on its one background thread.
+     */
+    protected static synchronized MatchStore getMatchStore(Context context) {
+        if (sMatchStore == null) {
+            sMatchStore = new MatchStore(context.getApplicationContext().getFilesDir());
+        }
+        return sMatchStore;
+    }
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -30,6 +46,34 @@ public class MainActivity extends Activity {
 
         mCurrentGameScore = null;
         findViewById(R.id.current_game).setVisibility(View.INVISIBLE);
+
+        // Load the last match in the background and show it as soon as it is available
+        getMatchStore(this).loadLatestMatch(new MatchStore.OnMatchLoadedListener() {
+            @Override
+            public void onMatchLoaded(final Match match) {
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mCurrentGameScore == null && match != null
+                                && match.getGameRound() > 0) {
+                            mCurrentGameScore = toGameScore(match);
+                            showCurrentGameScore();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private static Bundle toGameScore(Match match) {
+        Bundle gameScore = new Bundle();
+        gameScore.putString(NAME_X, match.getNameX());
+        gameScore.putString(NAME_O, match.getNameO());
+        gameScore.putInt(WINS_X, match.getWinsX());
+        gameScore.putInt(WINS_O, match.getWinsO());
+        gameScore.putInt(GAME_ROUND, match.getGameRound());
+        gameScore.putBoolean(FIRST_X, match.isFirstX());
+        return gameScore;
     }
 
     public void onButtonClick(View view) {
@@ -84,6 +128,7 @@ public class MainActivity extends Activity {
                 }
 
                 findViewById(R.id.current_game).setVisibility(View.INVISIBLE);
+                getMatchStore(this).discardMatch();
         }
     }
 
@@ -100,24 +145,28 @@ public class MainActivity extends Activity {
                 mCurrentGameScore = null;
                 findViewById(R.id.current_game).setVisibility(View.INVISIBLE);
             } else {
-                findViewById(R.id.current_game).setVisibility(View.VISIBLE);
-
-                ((TextView) findViewById(R.id.tv_name_gamer_x))
-                        .setText(mCurrentGameScore.getString(NAME_X));
-                ((TextView) findViewById(R.id.tv_name_gamer_o))
-                        .setText(mCurrentGameScore.getString(NAME_O));
-                ((TextView) findViewById(R.id.tv_wins_x))
-                        .setText(":   " + mCurrentGameScore.getInt(WINS_X));
-
-                ((TextView) findViewById(R.id.tv_rounds))
-                        .setText(String.format(getString(R.string.txt_round_count),
-                                Integer.valueOf(mCurrentGameScore.getInt(GAME_ROUND))));
-                ((TextView) findViewById(R.id.tv_wins_o))
-                        .setText(":   " + mCurrentGameScore.getInt(WINS_O));
+                showCurrentGameScore();
             }
         }
     }
 
+    private void showCurrentGameScore() {
+        findViewById(R.id.current_game).setVisibility(View.VISIBLE);
+
+        ((TextView) findViewById(R.id.tv_name_gamer_x))
+                .setText(mCurrentGameScore.getString(NAME_X));
+        ((TextView) findViewById(R.id.tv_name_gamer_o))
+                .setText(mCurrentGameScore.getString(NAME_O));
+        ((TextView) findViewById(R.id.tv_wins_x))
+                .setText(":   " + mCurrentGameScore.getInt(WINS_X));
+
+        ((TextView) findViewById(R.id.tv_rounds))
+                .setText(String.format(getString(R.string.txt_round_count),
+                        Integer.valueOf(mCurrentGameScore.getInt(GAME_ROUND))));
+        ((TextView) findViewById(R.id.tv_wins_o))
+                .setText(":   " + mCurrentGameScore.getInt(WINS_O));
+    }
+
     @Override
     public boolean onKeyDown(int keyCode, KeyEvent event) {
         if (keyCode == KeyEvent.KEYCODE_BACK
@@ -4,30 +4,38 @@ import android.app.Activity;
 import android.app.AlertDialog;
 import android.content.DialogInterface;
 import android.content.Intent;
-import android.graphics.Color;
 import android.os.Bundle;
+import android.support.v4.content.ContextCompat;
 import android.view.Gravity;
 import android.view.KeyEvent;
 import android.view.View;
-import android.widget.ImageButton;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import com.neopoly.tictactoe.gamelogic.FieldFlag;
 import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.Match;
+import com.neopoly.tictactoe.gamelogic.MoveJournal;
 import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
 
-public class PlayingFieldActivity extends Activity {
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class PlayingFieldActivity extends Activity
+        implements BoardController.BoardView, PlayingFieldView.OnFieldSelectedListener {
 
     private static final String X = "X";
     private static final String O = "O";
+    private static final String MOVE_JOURNAL_FILE = "moves.journal";
 
     private TicTacToeGameLogic mGameLogic;
+    private MoveJournal mMoveJournal;
+    private ExecutorService mMoveJournalExecutor;
     private GameState mGameState;
     private boolean mRoundStarted;
     private int mGameRound;
 
-    private FieldFlag mNextTurn;
     private boolean mFirstX;
 
     private String mNameGamerX;
@@ -36,7 +44,19 @@ public class PlayingFieldActivity extends Activity {
     private int mWinsX;
     private int mWinsO;
 
-    private ImageButton[] mButtonPlayingField;
+    private PlayingFieldView mPlayingField;
+    private View mDisplayGamerX;
+    private View mDisplayGamerO;
+    private View mStartField;
+    private TextView mStartTextX;
+    private TextView mStartTextO;
+    private TextView mScoreX;
+    private TextView mScoreO;
+    private int mColorOnTurn;
+    private int mColorWaiting;
+
+    private BoardUiState mBoardUiState;
+    private BoardController mBoardController;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -44,7 +64,29 @@ public class PlayingFieldActivity extends Activity {
 
         setContentView(R.layout.activity_playing_field);
 
+        // Look all views and colors up once - each selection only updates the changed views
+        mPlayingField = (PlayingFieldView) findViewById(R.id.playing_field);
+        mPlayingField.setOnFieldSelectedListener(this);
+        mDisplayGamerX = findViewById(R.id.display_gamer_x);
+        mDisplayGamerO = findViewById(R.id.display_gamer_o);
+        mStartField = findViewById(R.id.start);
+        mStartTextX = (TextView) findViewById(R.id.tv_start_x);
+        mStartTextO = (TextView) findViewById(R.id.tv_start_o);
+        mScoreX = (TextView) findViewById(R.id.tv_score_x);
+        mScoreO = (TextView) findViewById(R.id.tv_score_o);
+        mColorOnTurn = ContextCompat.getColor(this, R.color.colorPaper);
+        mColorWaiting = ContextCompat.getColor(this, R.color.colorBackground);
+
         mGameLogic = new TicTacToeGameLogic();
+        mBoardUiState = new BoardUiState();
+        mBoardController = new BoardController(mBoardUiState, this);
+        mGameLogic.setGameLogicListener(mBoardUiState);
+
+        // The journal is opened, mapped and forced in the background, so selections only write
+        // into memory - the game continues without history if the journal reports an error
+        mMoveJournalExecutor = Executors.newSingleThreadExecutor();
+        mMoveJournal = new MoveJournal(new File(getFilesDir(), MOVE_JOURNAL_FILE),
+                mMoveJournalExecutor);
 
         final Bundle extras = getIntent().getExtras();
         if (extras != null) {
@@ -60,38 +102,25 @@ public class PlayingFieldActivity extends Activity {
 
         updateDisplayedScores();
 
-        mButtonPlayingField = new ImageButton[9];
-        mButtonPlayingField[0] = (ImageButton) findViewById(R.id.ib_field0);
-        mButtonPlayingField[1] = (ImageButton) findViewById(R.id.ib_field1);
-        mButtonPlayingField[2] = (ImageButton) findViewById(R.id.ib_field2);
-        mButtonPlayingField[3] = (ImageButton) findViewById(R.id.ib_field3);
-        mButtonPlayingField[4] = (ImageButton) findViewById(R.id.ib_field4);
-        mButtonPlayingField[5] = (ImageButton) findViewById(R.id.ib_field5);
-        mButtonPlayingField[6] = (ImageButton) findViewById(R.id.ib_field6);
-        mButtonPlayingField[7] = (ImageButton) findViewById(R.id.ib_field7);
-        mButtonPlayingField[8] = (ImageButton) findViewById(R.id.ib_field8);
-
         clearPlayingField();
     }
 
     private void clearPlayingField() {
-        for (ImageButton field : mButtonPlayingField) {
-            field.setClickable(true);
-            field.setElevation(20);
-            field.setImageResource(R.drawable.ic_empty);
-        }
         mGameRound++;
         mRoundStarted = false;
         determineFirstGamer();
 
+        // The new game is reported to the board model - only the flagged fields are reset
+        mBoardUiState.setFirstX(mFirstX);
         mGameLogic.startNewGame();
         mGameState = GameState.OPEN;
 
         String startText = String.format(getString(R.string.txt_start_round), mGameRound);
-        ((TextView) findViewById(R.id.tv_start_x)).setText(startText);
-        ((TextView) findViewById(R.id.tv_start_o)).setText(startText);
+        mStartTextX.setText(startText);
+        mStartTextO.setText(startText);
 
         showStartRoundField();
+        mBoardController.render();
     }
 
     private boolean determineFirstGamer() {
@@ -101,27 +130,21 @@ public class PlayingFieldActivity extends Activity {
             } else {
                 mFirstX = mWinsX < mWinsO;
             }
-            mNextTurn = FieldFlag.FIRST_GAMERS_FLAG;
         }
         return mFirstX;
     }
 
-    private void deactivateAllFields() {
-        for (ImageButton field : mButtonPlayingField) {
-            field.setClickable(false);
-        }
-    }
-
     private void updateDisplayedScores() {
-        ((TextView) findViewById(R.id.tv_score_x)).setText(mWinsX + " : " + mWinsO);
-        ((TextView) findViewById(R.id.tv_score_o)).setText(mWinsO + " : " + mWinsX);
+        mScoreX.setText(mWinsX + " : " + mWinsO);
+        mScoreO.setText(mWinsO + " : " + mWinsX);
     }
 
     private void checkGameState() {
 
         if (mRoundStarted && !mGameState.equals(GameState.OPEN)) {
 
-            deactivateAllFields();
+            journalRoundResult();
+            MainActivity.getMatchStore(this).saveRoundResult(mGameRound, mGameState);
 
             String winnersName;
             Toast toast = Toast.makeText(this, "", Toast.LENGTH_LONG);
@@ -184,100 +207,92 @@ public class PlayingFieldActivity extends Activity {
             }
 
             clearPlayingField();
+            MainActivity.getMatchStore(this).saveMatch(getMatch());
         }
     }
 
-    public void onFieldClick(View view) {
+    private Match getMatch() {
+        return new Match(mNameGamerX, mNameGamerO, mWinsX, mWinsO,
+                mRoundStarted ? mGameRound : (mGameRound - 1), mFirstX);
+    }
+
+    @Override
+    public void onFieldSelected(int field) {
 
         if (mGameState.equals(GameState.OPEN)) {
 
             mRoundStarted = true;
+            selectField(field);
+            checkGameState();
 
-            ImageButton clickedField = (ImageButton) view;
-            switch (mNextTurn) {
-                case FIRST_GAMERS_FLAG:
-                    if  (mFirstX) {
-                        clickedField.setImageResource(R.drawable.ic_flag_x);
-                        findViewById(R.id.display_gamer_x).setBackgroundColor(Color.parseColor("#4e342e"));
-                        findViewById(R.id.display_gamer_o).setBackgroundColor(Color.parseColor("#ffcc80"));
-                    } else {
-                        clickedField.setImageResource(R.drawable.ic_flag_o);
-                        findViewById(R.id.display_gamer_x).setBackgroundColor(Color.parseColor("#ffcc80"));
-                        findViewById(R.id.display_gamer_o).setBackgroundColor(Color.parseColor("#4e342e"));
-                    }
-                    mNextTurn = FieldFlag.SECOND_GAMERS_FLAG;
-                    break;
-                case SECOND_GAMERS_FLAG:
-                    if  (mFirstX) {
-                        clickedField.setImageResource(R.drawable.ic_flag_o);
-                        findViewById(R.id.display_gamer_x).setBackgroundColor(Color.parseColor("#ffcc80"));
-                        findViewById(R.id.display_gamer_o).setBackgroundColor(Color.parseColor("#4e342e"));
-                    } else {
-                        clickedField.setImageResource(R.drawable.ic_flag_x);
-                        findViewById(R.id.display_gamer_x).setBackgroundColor(Color.parseColor("#4e342e"));
-                        findViewById(R.id.display_gamer_o).setBackgroundColor(Color.parseColor("#ffcc80"));
-                    }
-                    mNextTurn = FieldFlag.FIRST_GAMERS_FLAG;
-            }
+            // Show only the views changed by the selection - or by the start of a new round
+            mBoardController.render();
+        }
+    }
 
-            clickedField.setElevation(50);
-            clickedField.setClickable(false);
+    @Override
+    public void showFieldSymbol(int field, int symbol) {
+        mPlayingField.setFieldSymbol(field, symbol);
+    }
 
-            switch (view.getId()) {
-                case R.id.ib_field0:
-                    mGameState = mGameLogic.setFlagToField(0);
-                    break;
-                case R.id.ib_field1:
-                    mGameState = mGameLogic.setFlagToField(1);
-                    break;
-                case R.id.ib_field2:
-                    mGameState = mGameLogic.setFlagToField(2);
-                    break;
-                case R.id.ib_field3:
-                    mGameState = mGameLogic.setFlagToField(3);
-                    break;
-                case R.id.ib_field4:
-                    mGameState = mGameLogic.setFlagToField(4);
-                    break;
-                case R.id.ib_field5:
-                    mGameState = mGameLogic.setFlagToField(5);
-                    break;
-                case R.id.ib_field6:
-                    mGameState = mGameLogic.setFlagToField(6);
-                    break;
-                case R.id.ib_field7:
-                    mGameState = mGameLogic.setFlagToField(7);
-                    break;
-                case R.id.ib_field8:
-                    mGameState = mGameLogic.setFlagToField(8);
+    @Override
+    public void setFieldSelectable(int field, boolean selectable) {
+        mPlayingField.setFieldSelectable(field, selectable);
+    }
+
+    @Override
+    public void showGamerOnTurn(boolean xOnTurn) {
+        mDisplayGamerX.setBackgroundColor(xOnTurn ? mColorOnTurn : mColorWaiting);
+        mDisplayGamerO.setBackgroundColor(xOnTurn ? mColorWaiting : mColorOnTurn);
+    }
+
+    private void selectField(int field) {
+        mGameState = mGameLogic.setFlagToField(field);
+        if (mMoveJournal != null) {
+            try {
+                mMoveJournal.appendMove(mGameRound, field, mGameState);
+            } catch (IOException e) {
+                closeMoveJournal();
             }
+        }
+    }
 
-            checkGameState();
+    private void journalRoundResult() {
+        if (mMoveJournal != null) {
+            try {
+                mMoveJournal.appendRoundResult(mGameRound, mGameState);
+            } catch (IOException e) {
+                closeMoveJournal();
+            }
         }
     }
 
-    private void showStartRoundField() {
-        findViewById(R.id.start).setVisibility(View.VISIBLE);
-        if (mFirstX) {
-            findViewById(R.id.tv_start_x).setVisibility(View.VISIBLE);
-            findViewById(R.id.tv_start_o).setVisibility(View.INVISIBLE);
-            findViewById(R.id.display_gamer_x).setBackgroundColor(Color.parseColor("#ffcc80"));
-            findViewById(R.id.display_gamer_o).setBackgroundColor(Color.parseColor("#4e342e"));
-        } else {
-            findViewById(R.id.tv_start_x).setVisibility(View.INVISIBLE);
-            findViewById(R.id.tv_start_o).setVisibility(View.VISIBLE);
-            findViewById(R.id.display_gamer_x).setBackgroundColor(Color.parseColor("#4e342e"));
-            findViewById(R.id.display_gamer_o).setBackgroundColor(Color.parseColor("#ffcc80"));
+    private void closeMoveJournal() {
+        if (mMoveJournal != null) {
+            try {
+                mMoveJournal.close();
+            } catch (IOException e) {
+                // Nothing left to save
+            }
+            mMoveJournal = null;
         }
     }
 
+    private void showStartRoundField() {
+        mStartField.setVisibility(View.VISIBLE);
+        mStartTextX.setVisibility(mFirstX ? View.VISIBLE : View.INVISIBLE);
+        mStartTextO.setVisibility(mFirstX ? View.INVISIBLE : View.VISIBLE);
+    }
+
     public void onStartClick(View view) {
 
-        findViewById(R.id.start).setVisibility(View.INVISIBLE);
+        mStartField.setVisibility(View.INVISIBLE);
     }
 
     private void endGame() {
 
+        MainActivity.getMatchStore(this).saveMatch(getMatch());
+
         Intent resultIntent = new Intent();
         resultIntent.putExtra(MainActivity.NAME_X, mNameGamerX);
         resultIntent.putExtra(MainActivity.NAME_O, mNameGamerO);
@@ -289,6 +304,13 @@ public class PlayingFieldActivity extends Activity {
         finish();
     }
 
+    @Override
+    protected void onDestroy() {
+        closeMoveJournal();
+        mMoveJournalExecutor.shutdown();
+        super.onDestroy();
+    }
+
     @Override
     public boolean onKeyDown(int keyCode, KeyEvent event) {
 
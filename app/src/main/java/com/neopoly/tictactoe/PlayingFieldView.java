@@ -0,0 +1,283 @@
+package com.neopoly.tictactoe;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.drawable.Drawable;
+import android.support.v4.content.ContextCompat;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+
+/**
+ * This view draws the whole playing field - the grid and the flags of all nine fields - on one
+ * canvas and maps touches to the fields itself. The flags are rendered from their vector drawables
+ * into bitmaps once per size, so a selection only copies one bitmap into the invalidated field.
+ *
+ * The playing field is a square of 16 units: a grid bar of 1 unit around and between the three
+ * fields of each row and column, which are 4 units wide - 18dp bars and 72dp fields at 288dp.
+ */
+public class PlayingFieldView extends View {
+
+    /** The listener notified about the selection of a selectable field. */
+    public interface OnFieldSelectedListener {
+
+        /**
+         * @param field the selected field index from [0-8].
+         */
+        void onFieldSelected(int field);
+    }
+
+    /** The count of fields in a row or a column. */
+    private static final int FIELDS_PER_LINE = 3;
+    /** The width of the playing field in units. */
+    private static final int BOARD_UNITS = 16;
+    /** The width of a grid bar in units. */
+    private static final int BAR_UNITS = 1;
+    /** The width of a field in units. */
+    private static final int FIELD_UNITS = 4;
+    /** The distance between the starts of two neighbouring fields in units. */
+    private static final int STEP_UNITS = BAR_UNITS + FIELD_UNITS;
+
+    /** The symbol shown by each field - 'BoardUiState.SYMBOL_EMPTY', 'SYMBOL_X' or 'SYMBOL_O'. */
+    private final int[] mFieldSymbols = new int[TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT];
+    /** Marks whether each field can be selected. */
+    private final boolean[] mFieldSelectable =
+            new boolean[TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT];
+
+    /** The paint of the grid and the flagged fields. */
+    private final Paint mGridPaint = new Paint();
+    /** The paint of the empty fields, which lie below the grid. */
+    private final Paint mEmptyFieldPaint = new Paint();
+    /** The paint copying the flag bitmaps. */
+    private final Paint mBitmapPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+    /** The flag of the gamer 'X' rendered in the size of a field or 'null' before the layout. */
+    private Bitmap mBitmapX;
+    /** The flag of the gamer 'O' rendered in the size of a field or 'null' before the layout. */
+    private Bitmap mBitmapO;
+
+    /** The left edge of the playing field in pixels. */
+    private float mBoardLeft;
+    /** The top edge of the playing field in pixels. */
+    private float mBoardTop;
+    /** The size of one unit in pixels. */
+    private float mUnit;
+
+    /** The field touched by the pending gesture or '-1'. */
+    private int mPressedField = -1;
+    /** The listener notified about selections or 'null'. */
+    private OnFieldSelectedListener mOnFieldSelectedListener;
+
+    public PlayingFieldView(Context context) {
+        this(context, null);
+    }
+
+    public PlayingFieldView(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public PlayingFieldView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        mGridPaint.setColor(ContextCompat.getColor(context, R.color.colorMain));
+        mEmptyFieldPaint.setColor(ContextCompat.getColor(context, R.color.colorFieldEmpty));
+    }
+
+    /**
+     * @param listener the listener notified about the selection of a selectable field or 'null'.
+     */
+    public void setOnFieldSelectedListener(OnFieldSelectedListener listener) {
+        mOnFieldSelectedListener = listener;
+    }
+
+    /**
+     * This method shows the symbol in the field and redraws only this field if it changed.
+     *
+     * @param field the field index from [0-8].
+     * @param symbol the symbol to show - 'BoardUiState.SYMBOL_EMPTY', 'SYMBOL_X' or 'SYMBOL_O'.
+     */
+    public void setFieldSymbol(int field, int symbol) {
+        if (mFieldSymbols[field] != symbol) {
+            mFieldSymbols[field] = symbol;
+            invalidateField(field);
+        }
+    }
+
+    /**
+     * @param field the field index from [0-8].
+     * @return the symbol shown in the field.
+     */
+    public int getFieldSymbol(int field) {
+        return mFieldSymbols[field];
+    }
+
+    /**
+     * @param field the field index from [0-8].
+     * @param selectable 'true' if touching the field selects it.
+     */
+    public void setFieldSelectable(int field, boolean selectable) {
+        mFieldSelectable[field] = selectable;
+    }
+
+    /**
+     * @param field the field index from [0-8].
+     * @return 'true' if touching the field selects it.
+     */
+    public boolean isFieldSelectable(int field) {
+        return mFieldSelectable[field];
+    }
+
+    /**
+     * This method maps a position of this view to a field. The grid bars don't belong to any
+     * field, so touches between two fields don't select one of them.
+     *
+     * @param x the horizontal position in pixels relative to this view.
+     * @param y the vertical position in pixels relative to this view.
+     * @return the field index from [0-8] or '-1' if the position lies on the grid or outside.
+     */
+    public int getFieldAt(float x, float y) {
+        if (mUnit <= 0) {
+            return -1;
+        }
+        int column = getFieldLine((x - mBoardLeft) / mUnit);
+        int row = getFieldLine((y - mBoardTop) / mUnit);
+        return column < 0 || row < 0 ? -1 : row * FIELDS_PER_LINE + column;
+    }
+
+    /**
+     * This helper method maps a position along one axis to the row or column of a field.
+     *
+     * @param units the position in units relative to the playing field.
+     * @return the row or column from [0-2] or '-1' if the position lies on the grid or outside.
+     */
+    private static int getFieldLine(float units) {
+        if (units < BAR_UNITS || units >= BOARD_UNITS - BAR_UNITS) {
+            return -1;
+        }
+        float position = units - BAR_UNITS;
+        int line = (int) (position / STEP_UNITS);
+        return position - line * STEP_UNITS < FIELD_UNITS ? line : -1;
+    }
+
+    @Override
+    protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight) {
+        super.onSizeChanged(width, height, oldWidth, oldHeight);
+
+        float boardSize = Math.min(width, height);
+        mUnit = boardSize / BOARD_UNITS;
+        mBoardLeft = (width - boardSize) / 2;
+        mBoardTop = (height - boardSize) / 2;
+
+        // The flags are rendered only once per size - drawing a field just copies the bitmap
+        int fieldSize = Math.round(mUnit * FIELD_UNITS);
+        mBitmapX = renderFlag(R.drawable.ic_flag_x, fieldSize);
+        mBitmapO = renderFlag(R.drawable.ic_flag_o, fieldSize);
+    }
+
+    /**
+     * This helper method renders a drawable into a new square bitmap.
+     *
+     * @return the bitmap or 'null' if the size is empty.
+     */
+    private Bitmap renderFlag(int drawableId, int size) {
+        if (size <= 0) {
+            return null;
+        }
+        Drawable drawable = ContextCompat.getDrawable(getContext(), drawableId);
+        Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+        drawable.setBounds(0, 0, size, size);
+        drawable.draw(new Canvas(bitmap));
+        return bitmap;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+
+        float boardSize = mUnit * BOARD_UNITS;
+        canvas.drawRect(mBoardLeft, mBoardTop, mBoardLeft + boardSize, mBoardTop + boardSize,
+                mGridPaint);
+
+        for (int field = 0; field < mFieldSymbols.length; field++) {
+            float left = getFieldLeft(field);
+            float top = getFieldTop(field);
+            switch (mFieldSymbols[field]) {
+                case BoardUiState.SYMBOL_X:
+                    drawFlag(canvas, mBitmapX, left, top);
+                    break;
+                case BoardUiState.SYMBOL_O:
+                    drawFlag(canvas, mBitmapO, left, top);
+                    break;
+                default:
+                    float fieldSize = mUnit * FIELD_UNITS;
+                    canvas.drawRect(left, top, left + fieldSize, top + fieldSize,
+                            mEmptyFieldPaint);
+            }
+        }
+    }
+
+    /**
+     * This helper method copies a flag bitmap into a field on the grid.
+     */
+    private void drawFlag(Canvas canvas, Bitmap flag, float left, float top) {
+        if (flag != null) {
+            canvas.drawBitmap(flag, left, top, mBitmapPaint);
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+
+        if (!isEnabled()) {
+            return false;
+        }
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                mPressedField = getFieldAt(event.getX(), event.getY());
+                return true;
+            case MotionEvent.ACTION_UP:
+                int field = getFieldAt(event.getX(), event.getY());
+                boolean selected = field >= 0 && field == mPressedField;
+                mPressedField = -1;
+                if (selected) {
+                    performClick();
+                    if (mFieldSelectable[field] && mOnFieldSelectedListener != null) {
+                        mOnFieldSelectedListener.onFieldSelected(field);
+                    }
+                }
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                mPressedField = -1;
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * This helper method redraws only the area of one field.
+     */
+    private void invalidateField(int field) {
+        float left = getFieldLeft(field);
+        float top = getFieldTop(field);
+        float fieldSize = mUnit * FIELD_UNITS;
+        invalidate((int) left, (int) top, (int) Math.ceil(left + fieldSize),
+                (int) Math.ceil(top + fieldSize));
+    }
+
+    /**
+     * @return the left edge of the field in pixels relative to this view.
+     */
+    private float getFieldLeft(int field) {
+        return mBoardLeft + mUnit * (BAR_UNITS + (field % FIELDS_PER_LINE) * STEP_UNITS);
+    }
+
+    /**
+     * @return the top edge of the field in pixels relative to this view.
+     */
+    private float getFieldTop(int field) {
+        return mBoardTop + mUnit * (BAR_UNITS + (field / FIELDS_PER_LINE) * STEP_UNITS);
+    }
+}
@@ -0,0 +1,145 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the BoardController and its BoardUiState off-device against a recording board view.
+ */
+public class BoardControllerUnitTest {
+
+    @Test
+    /**
+     * Test that a whole round passes only the changed views to the board view - one symbol, one
+     * selectable field and the gamer on turn per selection - and that a new round only resets the
+     * flagged fields:
+     *
+     *  X | O | X
+     * ---|---|---
+     *  □ | O | □
+     * ---|---|---
+     *  □ | X | □
+     */
+    public void render_wholeRound_passesOnlyChanges() throws Exception {
+
+        TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+        BoardUiState uiState = new BoardUiState();
+        RecordingBoardView boardView = new RecordingBoardView();
+        BoardController controller = new BoardController(uiState, boardView);
+        gameLogic.setGameLogicListener(uiState);
+
+        // The first rendering shows all views
+        uiState.setFirstX(true);
+        gameLogic.startNewGame();
+        assertEquals(9 + 9 + 1, controller.render());
+        boardView.assertShows(uiState);
+        assertTrue(boardView.mXOnTurn);
+        assertEquals(0, controller.render());
+
+        int[] sequence = new int[] {0, 1, 2, 4, 7};
+        boolean xOnTurn = true;
+        for (int field : sequence) {
+            gameLogic.setFlagToField(field);
+            assertEquals(3, controller.render());
+            boardView.assertShows(uiState);
+            assertEquals(xOnTurn ? BoardUiState.SYMBOL_X : BoardUiState.SYMBOL_O,
+                    boardView.mSymbols[field]);
+            xOnTurn = !xOnTurn;
+            assertEquals(xOnTurn, boardView.mXOnTurn);
+        }
+
+        // The game is open, so a selected field can't be selected again
+        assertEquals(GameState.OPEN, uiState.getGameState());
+        gameLogic.setFlagToField(0);
+        assertEquals(0, controller.render());
+
+        // A new round with 'O' as first gamer resets only the five flagged fields - 'O' has
+        // already been on turn
+        uiState.setFirstX(false);
+        gameLogic.startNewGame();
+        assertEquals(5 + 5, controller.render());
+        boardView.assertShows(uiState);
+        assertFalse(boardView.mXOnTurn);
+
+        gameLogic.setFlagToField(4);
+        controller.render();
+        assertEquals(BoardUiState.SYMBOL_O, boardView.mSymbols[4]);
+    }
+
+    @Test
+    /**
+     * Test that a finished game makes all fields unselectable and reports the 'win lines':
+     *
+     *  X | X | X
+     * ---|---|---
+     *  O | O | □
+     * ---|---|---
+     *  □ | □ | □
+     */
+    public void render_finishedGame_noFieldSelectable() throws Exception {
+
+        TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+        BoardUiState uiState = new BoardUiState();
+        RecordingBoardView boardView = new RecordingBoardView();
+        BoardController controller = new BoardController(uiState, boardView);
+        gameLogic.setGameLogicListener(uiState);
+        uiState.setFirstX(true);
+        gameLogic.startNewGame();
+        controller.render();
+
+        for (int field : new int[] {0, 3, 1, 4, 2}) {
+            gameLogic.setFlagToField(field);
+        }
+        controller.render();
+        boardView.assertShows(uiState);
+        assertEquals(GameState.WINNER_FIRST, uiState.getGameState());
+        assertEquals(1, uiState.getWinLines());                     // 'GameLine.ROW_HEAD'
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            assertFalse(boardView.mSelectable[field]);
+        }
+
+        // After an invalidation all views are shown again
+        controller.invalidate();
+        assertEquals(9 + 9 + 1, controller.render());
+    }
+
+    /**
+     * This board view records what the views would show.
+     */
+    private static class RecordingBoardView implements BoardController.BoardView {
+
+        private final int[] mSymbols = new int[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+        private final boolean[] mSelectable = new boolean[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+        private boolean mXOnTurn;
+
+        @Override
+        public void showFieldSymbol(int field, int symbol) {
+            mSymbols[field] = symbol;
+        }
+
+        @Override
+        public void setFieldSelectable(int field, boolean selectable) {
+            mSelectable[field] = selectable;
+        }
+
+        @Override
+        public void showGamerOnTurn(boolean xOnTurn) {
+            mXOnTurn = xOnTurn;
+        }
+
+        /**
+         * This helper method compares the recorded views with the model.
+         */
+        void assertShows(BoardUiState uiState) {
+            for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+                assertEquals(uiState.getFieldSymbol(field), mSymbols[field]);
+                assertEquals(uiState.isFieldSelectable(field), mSelectable[field]);
+            }
+            assertEquals(uiState.isXOnTurn(), mXOnTurn);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.neopoly.tictactoe;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the hit-testing, the touch handling and the state of the PlayingFieldView under Robolectric.
+ * The view is laid out as a square of 288 pixels, so a grid bar is 18 and a field 72 pixels wide.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 21)
+public class PlayingFieldViewUnitTest {
+
+    /** The laid out size of the tested view. */
+    private static final int SIZE = 288;
+
+    private PlayingFieldView mView;
+    private List<Integer> mSelectedFields;
+
+    @Before
+    public void setUp() throws Exception {
+        mView = new PlayingFieldView(RuntimeEnvironment.application);
+        mView.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        mView.layout(0, 0, SIZE, SIZE);
+
+        mSelectedFields = new ArrayList<>();
+        mView.setOnFieldSelectedListener(new PlayingFieldView.OnFieldSelectedListener() {
+            @Override
+            public void onFieldSelected(int field) {
+                mSelectedFields.add(field);
+            }
+        });
+    }
+
+    @Test
+    /**
+     * Test that the corners and the center of each field map to the field, while the grid bars
+     * and the positions outside the view map to no field:
+     *
+     *  0 | 1 | 2
+     * ---|---|---
+     *  3 | 4 | 5
+     * ---|---|---
+     *  6 | 7 | 8
+     */
+    public void getFieldAt_fieldsAndGrid_isCorrect() throws Exception {
+
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            float left = 18 + (field % 3) * 90;
+            float top = 18 + (field / 3) * 90;
+            assertEquals(field, mView.getFieldAt(left, top));
+            assertEquals(field, mView.getFieldAt(left + 36, top + 36));
+            assertEquals(field, mView.getFieldAt(left + 71.5f, top + 71.5f));
+        }
+
+        // The grid bars around and between the fields
+        for (float position : new float[] {0, 17.5f, 90, 107.5f, 180, 197.5f, 270, 287.5f}) {
+            assertEquals(-1, mView.getFieldAt(position, 144));
+            assertEquals(-1, mView.getFieldAt(144, position));
+        }
+        assertEquals(-1, mView.getFieldAt(-1, 144));
+        assertEquals(-1, mView.getFieldAt(144, SIZE));
+    }
+
+    @Test
+    /**
+     * Test that a touch selects a field only if it starts and ends on the same selectable field.
+     */
+    public void onTouchEvent_selectableFields_areReported() throws Exception {
+
+        // Nothing is selectable before the first rendering
+        touch(144, 144, 144, 144);
+        assertTrue(mSelectedFields.isEmpty());
+
+        mView.setFieldSelectable(4, true);
+        mView.setFieldSelectable(8, true);
+        touch(144, 144, 144, 144);
+        touch(250, 250, 250, 250);
+        touch(54, 54, 54, 54);                  // The field '0' isn't selectable
+        touch(144, 144, 250, 250);              // The touch moved to another field
+        touch(144, 144, 98, 144);               // The touch ended on the grid
+        assertEquals(2, mSelectedFields.size());
+        assertEquals(4, (int) mSelectedFields.get(0));
+        assertEquals(8, (int) mSelectedFields.get(1));
+
+        mView.setEnabled(false);
+        touch(144, 144, 144, 144);
+        assertEquals(2, mSelectedFields.size());
+    }
+
+    @Test
+    /**
+     * Test that a whole round played by touches through the 'BoardController' shows the flags of
+     * both gamers and finally makes no field selectable anymore:
+     *
+     *  X | O | □
+     * ---|---|---
+     *  □ | X | O
+     * ---|---|---
+     *  □ | □ | X
+     */
+    public void onTouchEvent_wholeRound_showsFlags() throws Exception {
+
+        final TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+        BoardUiState uiState = new BoardUiState();
+        final BoardController controller = new BoardController(uiState, new ViewBoardView());
+        gameLogic.setGameLogicListener(uiState);
+        uiState.setFirstX(true);
+        gameLogic.startNewGame();
+        controller.render();
+        mView.setOnFieldSelectedListener(new PlayingFieldView.OnFieldSelectedListener() {
+            @Override
+            public void onFieldSelected(int field) {
+                gameLogic.setFlagToField(field);
+                controller.render();
+            }
+        });
+
+        for (int field : new int[] {0, 1, 4, 5, 8}) {
+            assertTrue(mView.isFieldSelectable(field));
+            float x = 54 + (field % 3) * 90;
+            float y = 54 + (field / 3) * 90;
+            touch(x, y, x, y);
+        }
+
+        assertEquals(GameState.WINNER_FIRST, uiState.getGameState());
+        int[] expectedSymbols = new int[] {
+                BoardUiState.SYMBOL_X, BoardUiState.SYMBOL_O, BoardUiState.SYMBOL_EMPTY,
+                BoardUiState.SYMBOL_EMPTY, BoardUiState.SYMBOL_X, BoardUiState.SYMBOL_O,
+                BoardUiState.SYMBOL_EMPTY, BoardUiState.SYMBOL_EMPTY, BoardUiState.SYMBOL_X};
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            assertEquals(expectedSymbols[field], mView.getFieldSymbol(field));
+            assertFalse(mView.isFieldSelectable(field));
+        }
+    }
+
+    /**
+     * This helper method sends a gesture from the first to the second position to the view.
+     */
+    private void touch(float downX, float downY, float upX, float upY) {
+        MotionEvent down = MotionEvent.obtain(0, 0, MotionEvent.ACTION_DOWN, downX, downY, 0);
+        MotionEvent up = MotionEvent.obtain(0, 10, MotionEvent.ACTION_UP, upX, upY, 0);
+        mView.dispatchTouchEvent(down);
+        mView.dispatchTouchEvent(up);
+        down.recycle();
+        up.recycle();
+    }
+
+    /**
+     * This board view passes the fields to the tested view like the 'PlayingFieldActivity'.
+     */
+    private class ViewBoardView implements BoardController.BoardView {
+
+        @Override
+        public void showFieldSymbol(int field, int symbol) {
+            mView.setFieldSymbol(field, symbol);
+        }
+
+        @Override
+        public void setFieldSelectable(int field, boolean selectable) {
+            mView.setFieldSelectable(field, selectable);
+        }
+
+        @Override
+        public void showGamerOnTurn(boolean xOnTurn) {
+            // The gamer on turn is shown outside of the playing field
+        }
+    }
+}
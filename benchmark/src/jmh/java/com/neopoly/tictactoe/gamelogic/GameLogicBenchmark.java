@@ -0,0 +1,124 @@
+package com.neopoly.tictactoe.gamelogic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This benchmark measures the hot paths of the game logic implementations with realistic move
+ * sequences. Each benchmark runs once per combination of game logic and move sequence, so
+ * regressions of the throughput or the allocation rate show up for each kind of game separately.
+ */
+@State(Scope.Thread)
+public class GameLogicBenchmark {
+
+    /**
+     * This enum type bundles the benchmarked move sequences, each of them a complete game
+     * from the first selection to the selection which ends the game.
+     */
+    public enum MoveSequence {
+        EARLY_WIN(new int[] {8, 0, 6, 2, 7}),                       // WINNER_FIRST in round five
+        WINNER_SECOND(new int[] {6, 2, 0, 3, 4, 8, 7, 5}),          // WINNER_SECOND in round eight
+        DOUBLE_WIN(new int[] {0, 1, 2, 5, 8, 7, 6, 3, 4}),          // DOUBLE_WIN_FIRST, full field
+        DEAD_END(new int[] {4, 0, 6, 2, 1, 7, 5, 3}),               // GAME_OVER with one empty field
+        FULL_DRAW(new int[] {0, 4, 8, 1, 7, 6, 2, 5, 3});           // GAME_OVER with full field
+
+        private final int[] mMoves;
+
+        MoveSequence(int[] pMoves) {
+            mMoves = pMoves;
+        }
+    }
+
+    @Param({"TicTacToeGameLogic", "BitboardTicTacToeGameLogic"})
+    public String engine;
+
+    @Param
+    public MoveSequence sequence;
+
+    /** The game logic used to play the whole move sequence in each benchmark call. */
+    private TicTacToeGameLogicInterface mGameLogic;
+    /** A game logic holding the finished game of the move sequence. */
+    private TicTacToeGameLogicInterface mFinishedGameLogic;
+    /** The playing field state of the move sequence before its last selection. */
+    private FieldFlag[] mOpenPlayingFieldState;
+    /** The moves of the benchmarked sequence. */
+    private int[] mMoves;
+    /** The reused builder receiving the printable playing field state. */
+    private final StringBuilder mPrintableBuilder = new StringBuilder();
+
+    @Setup
+    public void setUp() throws Exception {
+
+        mMoves = sequence.mMoves;
+        mGameLogic = createGameLogic();
+
+        mFinishedGameLogic = createGameLogic();
+        for (int turn = 0; turn < mMoves.length - 1; turn++) {
+            mFinishedGameLogic.setFlagToField(mMoves[turn]);
+        }
+        mOpenPlayingFieldState = mFinishedGameLogic.getPlayingFieldState();
+        if (mFinishedGameLogic.setFlagToField(mMoves[mMoves.length - 1]) == GameState.OPEN) {
+            throw new IllegalStateException(sequence + " does not end the game");
+        }
+    }
+
+    private TicTacToeGameLogicInterface createGameLogic() {
+        switch (engine) {
+            case "TicTacToeGameLogic":
+                return new TicTacToeGameLogic();
+            case "BitboardTicTacToeGameLogic":
+                return new BitboardTicTacToeGameLogic();
+            default:
+                throw new IllegalArgumentException(engine);
+        }
+    }
+
+    @Benchmark
+    public GameState setFlagToField() {
+
+        mGameLogic.startNewGame();
+        GameState gameState = GameState.OPEN;
+        for (int move : mMoves) {
+            gameState = mGameLogic.setFlagToField(move);
+        }
+        return gameState;
+    }
+
+    @Benchmark
+    public void startNewGame(Blackhole blackhole) {
+        mGameLogic.startNewGame();
+        blackhole.consume(mGameLogic);
+    }
+
+    @Benchmark
+    public FieldFlag initPlayingFieldState() throws Exception {
+        return mGameLogic.initPlayingFieldState(mOpenPlayingFieldState);
+    }
+
+    @Benchmark
+    public GameLine[] getWinLines() {
+        return mFinishedGameLogic.getWinLines();
+    }
+
+    @Benchmark
+    public FieldFlag[] getPlayingFieldState() {
+        return mFinishedGameLogic.getPlayingFieldState();
+    }
+
+    @Benchmark
+    public String getPrintablePlayingFieldState() {
+        return mFinishedGameLogic.getPrintablePlayingFieldState();
+    }
+
+    @Benchmark
+    public StringBuilder appendPrintablePlayingFieldState() {
+        mPrintableBuilder.setLength(0);
+        mFinishedGameLogic.appendPrintablePlayingFieldState(mPrintableBuilder,
+                TicTacToeGameLogicInterface.CHAR_GAMER_X, TicTacToeGameLogicInterface.CHAR_GAMER_O);
+        return mPrintableBuilder;
+    }
+}
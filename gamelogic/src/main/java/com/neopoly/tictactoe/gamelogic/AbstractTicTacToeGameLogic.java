@@ -0,0 +1,254 @@
+package com.neopoly.tictactoe.gamelogic;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * This abstract game logic class for TicTacToe-games implements some comfort methods which can be
+ * performed independent from any inner representations and computation steps of explicit game logic
+ * classes. In detail this is validation and following loading of playing field states, as well as
+ * the construction of a printable game state representation.
+ */
+public abstract class AbstractTicTacToeGameLogic implements TicTacToeGameLogicInterface {
+
+    /** The optional cache of printable playing fields or null. */
+    private PrintablePlayingField.Cache mPrintableCache;
+    /** The registered listener or null. */
+    private GameLogicListener mGameLogicListener;
+
+    @Override
+    public int getFieldCount() {
+        return TOTAL_FIELD_COUNT;
+    }
+
+    @Override
+    public String getPrintablePlayingFieldState() {
+        return getPrintablePlayingFieldState(CHAR_GAMER_X, CHAR_GAMER_O);
+    }
+
+    @Override
+    public String getPrintablePlayingFieldState(char firstGamerChar, char secondGamerChar) {
+
+        // The printable game state looks like this:
+        //
+        //  O | X | O
+        // ---|---|---
+        //    | X |
+        // ---|---|---
+        //  X | O | X
+        //
+        PrintablePlayingField.Cache printableCache = mPrintableCache;
+        if (printableCache != null) {
+            return printableCache.get(
+                    getPackedPlayingFieldState(), firstGamerChar, secondGamerChar);
+        }
+        return PrintablePlayingField.toString(
+                getPackedPlayingFieldState(), firstGamerChar, secondGamerChar);
+    }
+
+    @Override
+    public void appendPrintablePlayingFieldState(StringBuilder out, char firstGamerChar,
+                                                 char secondGamerChar) {
+        PrintablePlayingField.append(
+                getPackedPlayingFieldState(), firstGamerChar, secondGamerChar, out);
+    }
+
+    @Override
+    public void appendPrintablePlayingFieldState(CharBuffer out, char firstGamerChar,
+                                                 char secondGamerChar) {
+        PrintablePlayingField.append(
+                getPackedPlayingFieldState(), firstGamerChar, secondGamerChar, out);
+    }
+
+    @Override
+    public void appendPrintablePlayingFieldState(Appendable out, char firstGamerChar,
+                                                 char secondGamerChar) throws IOException {
+        PrintablePlayingField.append(
+                getPackedPlayingFieldState(), firstGamerChar, secondGamerChar, out);
+    }
+
+    /**
+     * This method lets 'getPrintablePlayingFieldState()' return the strings of the given cache,
+     * so printing a recently printed playing field returns the same string without rendering it.
+     * Several game logics may share one cache.
+     *
+     * @param printableCache the cache of printable playing fields or null to render each string.
+     */
+    public void setPrintableCache(PrintablePlayingField.Cache printableCache) {
+        mPrintableCache = printableCache;
+    }
+
+    @Override
+    public void setGameLogicListener(GameLogicListener listener) {
+        mGameLogicListener = listener;
+    }
+
+    /**
+     * Getter for the registered listener - game logic classes check it before they compute any
+     * deltas of a selection.
+     *
+     * @return the registered listener or null.
+     */
+    protected final GameLogicListener getGameLogicListener() {
+        return mGameLogicListener;
+    }
+
+    /**
+     * This helper method reports the new or loaded playing field state to the registered listener.
+     */
+    protected final void dispatchPlayingFieldLoaded() {
+
+        GameLogicListener listener = mGameLogicListener;
+        if (listener != null) {
+            listener.onPlayingFieldLoaded(getPackedPlayingFieldState());
+        }
+    }
+
+    /**
+     * This helper method reports the deltas of a valid selection to the registered listener.
+     *
+     * @param field the flagged field index from [0-8].
+     * @param unwinableLines the mask of the lines which contain flags of both gamers since the
+     *                       selection.
+     * @param previousGameState the 'GameState' before the selection.
+     * @param gameState the 'GameState' after the selection.
+     */
+    protected final void dispatchMove(int field, int unwinableLines, GameState previousGameState,
+                                      GameState gameState) {
+
+        GameLogicListener listener = mGameLogicListener;
+        if (listener == null) {
+            return;
+        }
+        listener.onFieldFlagged(field, getFieldFlag(field));
+        if (unwinableLines != 0) {
+            listener.onLinesUnwinable(unwinableLines);
+        }
+        int winLines = getWinLinesMask();
+        if (winLines != 0) {
+            listener.onWinLinesReached(winLines);
+        }
+        if (!gameState.equals(previousGameState)) {
+            listener.onGameStateChanged(previousGameState, gameState);
+        }
+    }
+
+    @Override
+    public FieldFlag initPlayingFieldState(FieldFlag[] playingFieldState)
+            throws NoInitialStateException{
+
+        // Check number of fields
+        if (playingFieldState != null && playingFieldState.length == TOTAL_FIELD_COUNT) {
+
+            // Collect the fields flagged by the first or the second gamer as masks
+            int firstGamersFields = 0;
+            int secondGamersFields = 0;
+            for (int fieldIndex = 0; fieldIndex < TOTAL_FIELD_COUNT; fieldIndex++) {
+                switch (playingFieldState[fieldIndex]) {
+                    case FIRST_GAMERS_FLAG:
+                        firstGamersFields |= 1 << fieldIndex;
+                        break;
+                    case SECOND_GAMERS_FLAG:
+                        secondGamersFields |= 1 << fieldIndex;
+                }
+            }
+            return loadPlayingFieldState(firstGamersFields, secondGamersFields);
+
+        } else {
+            startNewGame();
+            throw new NoInitialStateException();
+        }
+    }
+
+    @Override
+    public FieldFlag initPlayingFieldState(int packedPlayingField) throws NoInitialStateException {
+
+        // Check that no field holds the invalid two bit value '3'
+        if (!PackedPlayingField.isValid(packedPlayingField)) {
+            startNewGame();
+            throw new NoInitialStateException();
+        }
+
+        // The packed gamer on turn has to match the loaded game
+        int firstGamersFields = PackedPlayingField.getFirstGamersFields(packedPlayingField);
+        int secondGamersFields = PackedPlayingField.getSecondGamersFields(packedPlayingField);
+        FieldFlag nextGamer = Integer.bitCount(firstGamersFields)
+                == Integer.bitCount(secondGamersFields)
+                ? FieldFlag.FIRST_GAMERS_FLAG : FieldFlag.SECOND_GAMERS_FLAG;
+        if (!PackedPlayingField.getNextGamer(packedPlayingField).equals(nextGamer)) {
+            startNewGame();
+            throw new NoInitialStateException();
+        }
+        return loadPlayingFieldState(firstGamersFields, secondGamersFields);
+    }
+
+    /**
+     * This helper method loads the fields of both gamers and reports the loaded playing field
+     * state - or the new game started after an invalid state - to the registered listener.
+     */
+    private FieldFlag loadPlayingFieldState(int firstGamersFields, int secondGamersFields)
+            throws NoInitialStateException {
+
+        FieldFlag nextGamer;
+        try {
+            nextGamer = initPlayingFieldState(firstGamersFields, secondGamersFields);
+        } catch (NoInitialStateException e) {
+            startNewGame();
+            throw e;
+        }
+        dispatchPlayingFieldLoaded();
+        return nextGamer;
+    }
+
+    /**
+     * This helper method loads the fields of both gamers given as masks into a new game by
+     * replaying them in alternating order. Game logic classes should override it with a direct
+     * load of their inner representation which follows the same rules: the first gamer owns as
+     * many fields as the second gamer or one more, no line is owned completely by one gamer and
+     * at least one line can still be won. The caller reports the loaded state to the registered
+     * listener, so overriding methods must not report it - this replay reports its selections.
+     *
+     * @param firstGamersFields the mask with the bit 'n' set for each field 'n' of the first gamer.
+     * @param secondGamersFields the mask with the bit 'n' set for each field 'n' of the second one.
+     * @return the 'FieldFlag' of the gamer having the next field selection.
+     * @throws NoInitialStateException if the playing field state is not valid or game is not open.
+     */
+    protected FieldFlag initPlayingFieldState(int firstGamersFields, int secondGamersFields)
+            throws NoInitialStateException {
+
+        FieldFlag nextGamer = FieldFlag.FIRST_GAMERS_FLAG;
+        startNewGame();
+
+        int countFirstsFlags = Integer.bitCount(firstGamersFields);
+        int countSecondsFlags = Integer.bitCount(secondGamersFields);
+
+        // Check if the number of flagged fields is either equal or the first gamer has one more
+        if (countFirstsFlags == countSecondsFlags
+                || countFirstsFlags == (countSecondsFlags + 1)) {
+
+            // Insert all flags into the new game - order is irrelevant for finally state
+            GameState currentGameState = GameState.OPEN;
+            for (int round = 0;
+                 currentGameState.equals(GameState.OPEN)
+                    && round < countSecondsFlags; round++) {
+
+                setFlagToField(Integer.numberOfTrailingZeros(firstGamersFields));
+                firstGamersFields &= firstGamersFields - 1;
+                currentGameState = setFlagToField(
+                        Integer.numberOfTrailingZeros(secondGamersFields));
+                secondGamersFields &= secondGamersFields - 1;
+            }
+            if (countFirstsFlags > countSecondsFlags) {
+                nextGamer = FieldFlag.SECOND_GAMERS_FLAG;
+                currentGameState = setFlagToField(
+                        Integer.numberOfTrailingZeros(firstGamersFields));
+            }
+
+            if (!currentGameState.equals(GameState.OPEN)) {
+                throw new NoInitialStateException();
+            }
+        } else throw new NoInitialStateException();
+
+        return nextGamer;
+    }
+}
@@ -0,0 +1,253 @@
+package com.neopoly.tictactoe.gamelogic;
+
+/**
+ * This game logic class manages a TicTacToe-game with the same rules and results as the
+ * 'TicTacToeGameLogic', but keeps the whole playing field in two 9-bit occupancy masks - one per
+ * gamer, bit 'n' set for an owned field 'n'. The 'win lines' are detected by comparing these masks
+ * with the precomputed location masks of the 'GameLine's which pass the selected field, so a turn
+ * neither allocates any objects nor walks lines which are not influenced by the selection.
+ * The complete state of one game fits into a few integer values.
+ */
+public class BitboardTicTacToeGameLogic extends AbstractTicTacToeGameLogic {
+
+    /** All 'GameLine's in the order of their ordinals - cached to avoid the 'values()'-copy. */
+    private static final GameLine[] GAME_LINES = GameLine.values();
+    /** The location masks of all 'GameLine's indexed by their ordinals. */
+    private static final int[] LINE_MASKS = new int[GameLine.GAME_LINES_COUNT];
+    /** Masks of the line ordinals passing a field - bit 'n' is set if line 'n' contains the field. */
+    private static final int[] FIELD_LINES = new int[TOTAL_FIELD_COUNT];
+    /** The mask with bits set for all eight 'GameLine's. */
+    private static final int ALL_LINES = (1 << GameLine.GAME_LINES_COUNT) - 1;
+
+    static {
+        for (GameLine line : GAME_LINES) {
+            LINE_MASKS[line.ordinal()] = line.getLocationMask();
+            for (int field = 0; field < TOTAL_FIELD_COUNT; field++) {
+                if (line.getIndexForField(field) != -1) {
+                    FIELD_LINES[field] |= 1 << line.ordinal();
+                }
+            }
+        }
+    }
+
+    /** The occupancy mask of all fields flagged by the first gamer. */
+    private int mFirstGamersFields;
+    /** The occupancy mask of all fields flagged by the second gamer. */
+    private int mSecondGamersFields;
+    /**
+     * The mask of the 'win lines' - one or two in number - reached in the last turn by the winner,
+     * bit 'n' is set for the 'GameLine' with the ordinal 'n'.
+     */
+    private int mWinLines;
+    /**
+     * The mask of the lines which contain mixed flags of both gamers and so could not be won by
+     * anyone of them anymore. The game is over as soon as all eight bits are set.
+     */
+    private int mUnwinableLines;
+    /** State of the current game round as returned by the last 'setFlagToField(field)'-call. */
+    private GameState mGameState;
+
+    public BitboardTicTacToeGameLogic() {
+
+        // Start a new game and let initialize the game state
+        // while creating a new object of this TicTacToe-game.
+        startNewGame();
+    }
+
+    @Override
+    public void startNewGame() {
+        resetGame();
+        dispatchPlayingFieldLoaded();
+    }
+
+    /**
+     * This helper method starts a new game without reporting it to the registered listener.
+     */
+    private void resetGame() {
+
+        // Reset all masks to start a new game - there is nothing to allocate.
+        mFirstGamersFields = 0;
+        mSecondGamersFields = 0;
+        mWinLines = 0;
+        mUnwinableLines = 0;
+        mGameState = GameState.OPEN;
+    }
+
+    /**
+     * This method loads the fields of both gamers directly into the occupancy masks and derives
+     * the 'unwinable lines' by one comparison per line - no selection is replayed.
+     */
+    @Override
+    protected FieldFlag initPlayingFieldState(int firstGamersFields, int secondGamersFields)
+            throws NoInitialStateException {
+
+        resetGame();
+        int countFirstsFlags = Integer.bitCount(firstGamersFields);
+        int countSecondsFlags = Integer.bitCount(secondGamersFields);
+
+        // Check if the number of flagged fields is either equal or the first gamer has one more
+        if (countFirstsFlags != countSecondsFlags
+                && countFirstsFlags != (countSecondsFlags + 1)) {
+            throw new NoInitialStateException();
+        }
+
+        int unwinableLines = 0;
+        for (int line = 0; line < GameLine.GAME_LINES_COUNT; line++) {
+            int lineMask = LINE_MASKS[line];
+            if ((firstGamersFields & lineMask) == lineMask
+                    || (secondGamersFields & lineMask) == lineMask) {
+                throw new NoInitialStateException();        // The game would be already won
+            } else if ((firstGamersFields & lineMask) != 0
+                    && (secondGamersFields & lineMask) != 0) {
+                unwinableLines |= 1 << line;                // The line contains mixed flags
+            }
+        }
+        if (unwinableLines == ALL_LINES) {
+            throw new NoInitialStateException();
+        }
+
+        mFirstGamersFields = firstGamersFields;
+        mSecondGamersFields = secondGamersFields;
+        mUnwinableLines = unwinableLines;
+        return countFirstsFlags > countSecondsFlags
+                ? FieldFlag.SECOND_GAMERS_FLAG : FieldFlag.FIRST_GAMERS_FLAG;
+    }
+
+    @Override
+    public GameState setFlagToField(int field) {
+
+        // Only set the flag to the field if...
+        if (mGameState == GameState.OPEN                                  // ...the game is open
+                && field >= 0 && field < TOTAL_FIELD_COUNT                // ...the index is valid
+                && ((mFirstGamersFields | mSecondGamersFields)            // ...and field is empty.
+                        & (1 << field)) == 0) {
+
+            GameState previousGameState = mGameState;
+            int previousUnwinableLines = mUnwinableLines;
+
+            // The first gamer is on turn as long as both gamers own the same number of fields.
+            boolean firstGamersTurn =
+                    Integer.bitCount(mFirstGamersFields) == Integer.bitCount(mSecondGamersFields);
+            int ownFields;
+            int opponentsFields;
+            if (firstGamersTurn) {
+                mFirstGamersFields |= 1 << field;
+                ownFields = mFirstGamersFields;
+                opponentsFields = mSecondGamersFields;
+            } else {
+                mSecondGamersFields |= 1 << field;
+                ownFields = mSecondGamersFields;
+                opponentsFields = mFirstGamersFields;
+            }
+
+            // Check only the lines passing the selected field.
+            int influencedLines = FIELD_LINES[field];
+            while (influencedLines != 0) {
+                int line = Integer.numberOfTrailingZeros(influencedLines);
+                influencedLines &= influencedLines - 1;
+
+                int lineMask = LINE_MASKS[line];
+                if ((ownFields & lineMask) == lineMask) {
+                    mWinLines |= 1 << line;                   // The gamer owns the whole line
+                } else if ((opponentsFields & lineMask) != 0) {
+                    mUnwinableLines |= 1 << line;             // The line contains mixed flags
+                }
+            }
+
+            if (mWinLines != 0) {
+                if (!firstGamersTurn) {
+                    mGameState = GameState.WINNER_SECOND;
+                } else if (Integer.bitCount(mWinLines) == 2) {
+                    mGameState = GameState.DOUBLE_WIN_FIRST;
+                } else {
+                    mGameState = GameState.WINNER_FIRST;
+                }
+            } else if (mUnwinableLines == ALL_LINES) {
+                mGameState = GameState.GAME_OVER;
+            }
+
+            if (getGameLogicListener() != null) {
+                dispatchMove(field, mUnwinableLines & ~previousUnwinableLines,
+                        previousGameState, mGameState);
+            }
+        }
+
+        return mGameState;
+    }
+
+    @Override
+    public GameLine[] getWinLines() {
+
+        GameLine[] winLines = null;
+
+        // Only if there is still a winner of the current game...
+        if (mWinLines != 0) {
+            winLines = new GameLine[Integer.bitCount(mWinLines)];
+            int indexInResultArray = 0;
+            // ...collect the 'GameLine's which are 'win lines' in the order of their ordinals.
+            int remainingLines = mWinLines;
+            while (remainingLines != 0) {
+                winLines[indexInResultArray] =
+                        GAME_LINES[Integer.numberOfTrailingZeros(remainingLines)];
+                remainingLines &= remainingLines - 1;
+                indexInResultArray++;
+            }
+        }
+
+        return winLines;
+    }
+
+    @Override
+    public FieldFlag[] getPlayingFieldState() {
+
+        FieldFlag[] playingField = new FieldFlag[TOTAL_FIELD_COUNT];
+        for (int field = 0; field < TOTAL_FIELD_COUNT; field++) {
+            if ((mFirstGamersFields & (1 << field)) != 0) {
+                playingField[field] = FieldFlag.FIRST_GAMERS_FLAG;
+            } else if ((mSecondGamersFields & (1 << field)) != 0) {
+                playingField[field] = FieldFlag.SECOND_GAMERS_FLAG;
+            } else {
+                playingField[field] = FieldFlag.EMPTY_FIELD;
+            }
+        }
+        return playingField;
+    }
+
+    @Override
+    public int getWinLinesMask() {
+        return mWinLines;
+    }
+
+    @Override
+    public FieldFlag getFieldFlag(int field) {
+
+        if ((mFirstGamersFields & (1 << field)) != 0) {
+            return FieldFlag.FIRST_GAMERS_FLAG;
+        } else if ((mSecondGamersFields & (1 << field)) != 0) {
+            return FieldFlag.SECOND_GAMERS_FLAG;
+        }
+        return FieldFlag.EMPTY_FIELD;
+    }
+
+    @Override
+    public int getFirstGamersFields() {
+        return mFirstGamersFields;
+    }
+
+    @Override
+    public int getSecondGamersFields() {
+        return mSecondGamersFields;
+    }
+
+    @Override
+    public int getPackedPlayingFieldState() {
+
+        FieldFlag nextGamer = FieldFlag.EMPTY_FIELD;
+        if (mGameState == GameState.OPEN) {
+            nextGamer = Integer.bitCount(mFirstGamersFields)
+                    == Integer.bitCount(mSecondGamersFields)
+                    ? FieldFlag.FIRST_GAMERS_FLAG : FieldFlag.SECOND_GAMERS_FLAG;
+        }
+        return PackedPlayingField.pack(mFirstGamersFields, mSecondGamersFields, nextGamer);
+    }
+}
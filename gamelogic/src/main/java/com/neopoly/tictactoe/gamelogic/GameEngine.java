@@ -0,0 +1,35 @@
+package com.neopoly.tictactoe.gamelogic;
+
+/**
+ * This interface specifies the minimal contract of a game logic for client classes which only play
+ * games - like searching computer gamers - independent from the size of the playing field. Both
+ * the 3x3-game logics of the 'TicTacToeGameLogicInterface' and the 'MnkGameLogic' fulfill it, so
+ * such clients run on any playing field. The empty fields are the legal selections of the gamer
+ * on turn as long as the game is open.
+ */
+public interface GameEngine {
+
+    /**
+     * @return the count of all fields of the playing field - the valid field indices are
+     * [0 - count-1], line by line from left to right and up to down.
+     */
+    int getFieldCount();
+
+    /** This method clears all fields, initialize the game state and so starts a new game. */
+    void startNewGame();
+
+    /**
+     * This method lets the gamer on turn select an empty field. A selection of an invalid or
+     * already flagged field or a selection after the end of the game is ignored.
+     *
+     * @param field selected field index, line by line from left to right and up to down.
+     * @return returns a 'GameState' declaring the current state of this game
+     */
+    GameState setFlagToField(int field);
+
+    /**
+     * @param field the index of a field.
+     * @return the 'FieldFlag' of the field - 'FieldFlag.EMPTY_FIELD' for a legal selection.
+     */
+    FieldFlag getFieldFlag(int field);
+}
@@ -42,12 +42,36 @@ public enum GameLine {
     public static final int GAME_LINES_COUNT = 8;
 
     private final int[] mLocation;      // The location in the playing field marked by indices 0, 1, 2
+    private final int mLocationMask;    // The same location as bit mask - bit 'n' is set for field 'n'
 
     GameLine(int[] pLocation) {
         mLocation = pLocation;
+
+        int locationMask = 0;
+        for (int field = 0; field < pLocation.length; field++) {
+            if (pLocation[field] != -1) {
+                locationMask |= 1 << field;
+            }
+        }
+        mLocationMask = locationMask;
     }
 
-    int getIndexForField(int pFieldIndex) {
+    /**
+     * Getter for the position of a field inside this line.
+     *
+     * @param pFieldIndex the index [0-8] of a field in the playing field.
+     * @return the index [0-2] of the field inside this line or '-1' if the line doesn't pass it.
+     */
+    public int getIndexForField(int pFieldIndex) {
         return mLocation[pFieldIndex];
     }
+
+    /**
+     * Getter for the location of this line in the playing field as bit mask.
+     *
+     * @return a mask with the bit 'n' set for each field 'n' which is passed by this line.
+     */
+    public int getLocationMask() {
+        return mLocationMask;
+    }
 }
@@ -0,0 +1,80 @@
+package com.neopoly.tictactoe.gamelogic;
+
+/**
+ * This immutable class holds the score of a match between two gamers over several game rounds -
+ * their names, their wins and which of them has been the first gamer of the last game round.
+ */
+public class Match {
+
+    /** The name of the gamer flagging with 'X'. */
+    private final String mNameX;
+    /** The name of the gamer flagging with 'O'. */
+    private final String mNameO;
+    /** The wins of the gamer 'X' - a 'double win' counts as two wins. */
+    private final int mWinsX;
+    /** The wins of the gamer 'O' - a 'double win' counts as two wins. */
+    private final int mWinsO;
+    /** The count of played game rounds. */
+    private final int mGameRound;
+    /** Marks whether the gamer 'X' has been the first gamer of the last game round. */
+    private final boolean mFirstX;
+
+    public Match(String nameX, String nameO, int winsX, int winsO, int gameRound,
+                 boolean firstX) {
+        mNameX = nameX != null ? nameX : "";
+        mNameO = nameO != null ? nameO : "";
+        mWinsX = winsX;
+        mWinsO = winsO;
+        mGameRound = gameRound;
+        mFirstX = firstX;
+    }
+
+    public String getNameX() {
+        return mNameX;
+    }
+
+    public String getNameO() {
+        return mNameO;
+    }
+
+    public int getWinsX() {
+        return mWinsX;
+    }
+
+    public int getWinsO() {
+        return mWinsO;
+    }
+
+    public int getGameRound() {
+        return mGameRound;
+    }
+
+    public boolean isFirstX() {
+        return mFirstX;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+
+        if (!(other instanceof Match)) {
+            return false;
+        }
+        Match match = (Match) other;
+        return mNameX.equals(match.mNameX) && mNameO.equals(match.mNameO)
+                && mWinsX == match.mWinsX && mWinsO == match.mWinsO
+                && mGameRound == match.mGameRound && mFirstX == match.mFirstX;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = mNameX.hashCode() * 31 + mNameO.hashCode();
+        hash = (hash * 31 + mWinsX) * 31 + mWinsO;
+        return (hash * 31 + mGameRound) * 2 + (mFirstX ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return mNameX + " " + mWinsX + " : " + mWinsO + " " + mNameO + " after " + mGameRound
+                + " rounds";
+    }
+}
@@ -0,0 +1,375 @@
+package com.neopoly.tictactoe.gamelogic;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class stores the current 'Match' and the results of all played game rounds in a directory,
+ * so a match survives the end of the process. The calling thread never waits for the storage: each
+ * save-method only queues its data and the queued data is written in batches on a background
+ * executor - the latest of all queued matches replaces the stored match once and all queued round
+ * results are appended with one write. Loading runs on the same executor after all queued writes
+ * and reports its result to a listener on the executor's thread.
+ *
+ * The directory holds the files 'MATCH_FILE' - replaced atomically on each write - and
+ * 'ROUNDS_FILE' with one record per round result: the time in milliseconds since 1970 (8 bytes),
+ * the round number (4 bytes) and the ordinal of the final 'GameState' (1 byte).
+ */
+public class MatchStore {
+
+    /** The name of the file holding the latest match. */
+    public static final String MATCH_FILE = "match.dat";
+    /** The name of the file holding the results of all game rounds. */
+    public static final String ROUNDS_FILE = "rounds.dat";
+
+    /** The version of the file layouts. */
+    private static final int VERSION = 1;
+    /** The queued match marking that the stored match has to be discarded. */
+    private static final Match DISCARDED_MATCH = new Match(null, null, 0, 0, 0, false);
+    /** All 'GameState's in the order of their ordinals - cached to avoid the 'values()'-copy. */
+    private static final GameState[] GAME_STATES = GameState.values();
+
+    /** This listener receives the latest match on the executor's thread. */
+    public interface OnMatchLoadedListener {
+
+        /**
+         * @param match the latest match or null if no match has been stored.
+         */
+        void onMatchLoaded(Match match);
+    }
+
+    /** This listener receives all stored round results on the executor's thread. */
+    public interface OnRoundResultsLoadedListener {
+
+        /**
+         * @param gameRounds the round numbers in the order of their results.
+         * @param gameStates the final 'GameState' of each round.
+         */
+        void onRoundResultsLoaded(int[] gameRounds, GameState[] gameStates);
+    }
+
+    /** The directory of the stored files. */
+    private final File mDirectory;
+    /** The executor performing all reads and writes. */
+    private final ExecutorService mExecutor;
+    /** Marks whether the executor has been created by this store and has to be shut down. */
+    private final boolean mOwnExecutor;
+
+    /** The latest queued match, 'DISCARDED_MATCH' or null if no match is queued. */
+    private final AtomicReference<Match> mQueuedMatch = new AtomicReference<Match>();
+    /** The queued round results. */
+    private final ConcurrentLinkedQueue<RoundResult> mQueuedRoundResults =
+            new ConcurrentLinkedQueue<RoundResult>();
+    /** Marks whether a write of the queued data is already scheduled. */
+    private final AtomicBoolean mWriteScheduled = new AtomicBoolean();
+    /** The last failure of a background write or null. */
+    private volatile IOException mLastWriteError;
+
+    /**
+     * Creates a store with its own background thread.
+     *
+     * @param directory the directory of the stored files - created if it doesn't exist.
+     */
+    public MatchStore(File directory) {
+        this(directory, Executors.newSingleThreadExecutor(), true);
+    }
+
+    /**
+     * Creates a store using the given executor which must run the tasks one after another.
+     *
+     * @param directory the directory of the stored files - created if it doesn't exist.
+     * @param executor a single threaded executor.
+     */
+    public MatchStore(File directory, ExecutorService executor) {
+        this(directory, executor, false);
+    }
+
+    private MatchStore(File directory, ExecutorService executor, boolean ownExecutor) {
+        mDirectory = directory;
+        mExecutor = executor;
+        mOwnExecutor = ownExecutor;
+    }
+
+    /**
+     * This method queues the given match to replace the stored match.
+     */
+    public void saveMatch(Match match) {
+        mQueuedMatch.set(match);
+        scheduleWrite();
+    }
+
+    /**
+     * This method queues the removal of the stored match - the round results are kept.
+     */
+    public void discardMatch() {
+        mQueuedMatch.set(DISCARDED_MATCH);
+        scheduleWrite();
+    }
+
+    /**
+     * This method queues the result of a finished game round.
+     *
+     * @param gameRound the number of the game round.
+     * @param gameState the final 'GameState' of the round.
+     */
+    public void saveRoundResult(int gameRound, GameState gameState) {
+        mQueuedRoundResults.add(new RoundResult(System.currentTimeMillis(), gameRound, gameState));
+        scheduleWrite();
+    }
+
+    /**
+     * This method loads the latest match after all queued writes.
+     *
+     * @param listener receives the loaded match on the executor's thread.
+     */
+    public void loadLatestMatch(final OnMatchLoadedListener listener) {
+
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                writeQueuedData();
+                listener.onMatchLoaded(readMatch());
+            }
+        });
+    }
+
+    /**
+     * This method loads all round results after all queued writes.
+     *
+     * @param listener receives the loaded round results on the executor's thread.
+     */
+    public void loadRoundResults(final OnRoundResultsLoadedListener listener) {
+
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                writeQueuedData();
+                readRoundResults(listener);
+            }
+        });
+    }
+
+    /**
+     * This method writes all queued data on the executor.
+     *
+     * @return a future which is done after all data queued before this call has been written.
+     */
+    public Future<IOException> flush() {
+
+        return mExecutor.submit(new Callable<IOException>() {
+            @Override
+            public IOException call() {
+                writeQueuedData();
+                return mLastWriteError;
+            }
+        });
+    }
+
+    /**
+     * This method writes all queued data and stops the store's own background thread. No data
+     * should be saved afterwards.
+     */
+    public void close() {
+
+        flush();
+        if (mOwnExecutor) {
+            mExecutor.shutdown();
+        }
+    }
+
+    /**
+     * @return the last failure of a background write or null.
+     */
+    public IOException getLastWriteError() {
+        return mLastWriteError;
+    }
+
+    /**
+     * This helper method schedules one write for all data queued until it runs.
+     */
+    private void scheduleWrite() {
+
+        if (mWriteScheduled.compareAndSet(false, true)) {
+            mExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    writeQueuedData();
+                }
+            });
+        }
+    }
+
+    /**
+     * This helper method writes the latest queued match and all queued round results - only called
+     * on the executor.
+     */
+    private void writeQueuedData() {
+
+        // Data queued from now on needs a new write
+        mWriteScheduled.set(false);
+        Match match = mQueuedMatch.getAndSet(null);
+        List<RoundResult> roundResults = new ArrayList<RoundResult>();
+        for (RoundResult roundResult = mQueuedRoundResults.poll(); roundResult != null;
+             roundResult = mQueuedRoundResults.poll()) {
+            roundResults.add(roundResult);
+        }
+        if (match == null && roundResults.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (!mDirectory.isDirectory() && !mDirectory.mkdirs()) {
+                throw new IOException("The directory " + mDirectory + " can't be created.");
+            }
+            if (match == DISCARDED_MATCH) {
+                File matchFile = new File(mDirectory, MATCH_FILE);
+                if (matchFile.exists() && !matchFile.delete()) {
+                    throw new IOException("The file " + matchFile + " can't be deleted.");
+                }
+            } else if (match != null) {
+                writeMatch(match);
+            }
+            if (!roundResults.isEmpty()) {
+                writeRoundResults(roundResults);
+            }
+        } catch (IOException e) {
+            mLastWriteError = e;
+        }
+    }
+
+    /**
+     * This helper method writes the match into a temporary file and replaces the match file by it.
+     */
+    private void writeMatch(Match match) throws IOException {
+
+        File temporaryFile = new File(mDirectory, MATCH_FILE + ".tmp");
+        FileOutputStream fileOutput = new FileOutputStream(temporaryFile);
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(fileOutput));
+        try {
+            output.writeInt(VERSION);
+            output.writeUTF(match.getNameX());
+            output.writeUTF(match.getNameO());
+            output.writeInt(match.getWinsX());
+            output.writeInt(match.getWinsO());
+            output.writeInt(match.getGameRound());
+            output.writeBoolean(match.isFirstX());
+
+            // Sync the temporary file before the rename - else a power loss may leave an empty
+            // match file behind, because the rename can reach the disk before the content
+            output.flush();
+            fileOutput.getFD().sync();
+        } finally {
+            output.close();
+        }
+        if (!temporaryFile.renameTo(new File(mDirectory, MATCH_FILE))) {
+            throw new IOException("The file " + temporaryFile + " can't be renamed.");
+        }
+    }
+
+    /**
+     * This helper method appends the round results to the rounds file with one write.
+     */
+    private void writeRoundResults(List<RoundResult> roundResults) throws IOException {
+
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(new File(mDirectory, ROUNDS_FILE), true)));
+        try {
+            for (RoundResult roundResult : roundResults) {
+                output.writeLong(roundResult.mTimeMillis);
+                output.writeInt(roundResult.mGameRound);
+                output.writeByte(roundResult.mGameState.ordinal());
+            }
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * This helper method reads the stored match.
+     *
+     * @return the stored match or null if there is none or it can't be read.
+     */
+    private Match readMatch() {
+
+        try {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(
+                    new FileInputStream(new File(mDirectory, MATCH_FILE))));
+            try {
+                if (input.readInt() != VERSION) {
+                    return null;
+                }
+                return new Match(input.readUTF(), input.readUTF(), input.readInt(),
+                        input.readInt(), input.readInt(), input.readBoolean());
+            } finally {
+                input.close();
+            }
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * This helper method reads all stored round results - a truncated last record is ignored.
+     */
+    private void readRoundResults(OnRoundResultsLoadedListener listener) {
+
+        List<RoundResult> roundResults = new ArrayList<RoundResult>();
+        try {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(
+                    new FileInputStream(new File(mDirectory, ROUNDS_FILE))));
+            try {
+                while (true) {
+                    roundResults.add(new RoundResult(input.readLong(), input.readInt(),
+                            GAME_STATES[input.readByte()]));
+                }
+            } catch (EOFException e) {
+                // All complete records have been read
+            } finally {
+                input.close();
+            }
+        } catch (IOException e) {
+            // No round results have been stored yet
+        }
+
+        int[] gameRounds = new int[roundResults.size()];
+        GameState[] gameStates = new GameState[roundResults.size()];
+        for (int index = 0; index < gameRounds.length; index++) {
+            gameRounds[index] = roundResults.get(index).mGameRound;
+            gameStates[index] = roundResults.get(index).mGameState;
+        }
+        listener.onRoundResultsLoaded(gameRounds, gameStates);
+    }
+
+    /** The queued result of a game round. */
+    private static class RoundResult {
+
+        private final long mTimeMillis;
+        private final int mGameRound;
+        private final GameState mGameState;
+
+        RoundResult(long timeMillis, int gameRound, GameState gameState) {
+            mTimeMillis = timeMillis;
+            mGameRound = gameRound;
+            mGameState = gameState;
+        }
+    }
+}
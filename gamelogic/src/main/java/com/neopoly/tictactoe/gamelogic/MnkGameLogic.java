@@ -0,0 +1,287 @@
+package com.neopoly.tictactoe.gamelogic;
+
+/**
+ * This game logic class manages a generalized TicTacToe-game - an m,n,k-game - on a playing field
+ * of any width and height in which the gamers have to flag 'winLength' fields in a row, column or
+ * diagonal, for example five in a row on a 15x15-field. Like the 'TicTacToeGameLogic' it divides
+ * the playing field into all possible 'win lines' - each window of 'winLength' consecutive fields -
+ * and keeps the sum of the field values and the count of filled fields per line as well as the
+ * count of still 'winable lines'. A precomputed index of the lines passing each field limits the
+ * work of a selection to these lines, independent from the size of the playing field.
+ *
+ * The rules equal the ones of the 'TicTacToeGameLogic', which is the 3,3,3-game: the game is over
+ * as soon as no line can be won anymore, and the first gamer reaches a 'double win' if he completes
+ * lines in more than one direction with his last selection - the overlapping windows of a line
+ * longer than 'winLength' count as one win. Fields are indexed line by line from the upper left
+ * corner, from left to right and up to down.
+ */
+public class MnkGameLogic implements GameEngine {
+
+    /** The algebraic sign to declare the first gamer as field owner or game winner. */
+    private static final int FIRST_GAMER = -1;
+    /** The algebraic sign to declare the second gamer as field owner or game winner. */
+    private static final int SECOND_GAMER = 1;
+
+    /** All 'FieldFlag's in the order of their ordinals - cached to avoid the 'values()'-copy. */
+    private static final FieldFlag[] FIELD_FLAGS = FieldFlag.values();
+
+    /** The count of fields in each row of the playing field. */
+    private final int mWidth;
+    /** The count of fields in each column of the playing field. */
+    private final int mHeight;
+    /** The count of fields a gamer has to flag in one line to win the game. */
+    private final int mWinLength;
+
+    /** The fields of each line ordered from its first to its last field. */
+    private final int[][] mLineFields;
+    /** The indices of all lines passing each field - the precomputed field to lines index. */
+    private final int[][] mFieldLines;
+    /** The direction of each line - rows, columns, increasing or decreasing diagonals [0-3]. */
+    private final byte[] mLineDirections;
+
+    /** The sum of the field values of each line - '-1' per first and '1' per second gamer's flag. */
+    private final int[] mLineSums;
+    /** The count of already filled fields of each line. */
+    private final int[] mLineFilledCounts;
+    /** Marks the lines which contain no mixed flags of both gamers and so could still be won. */
+    private final boolean[] mWinableLines;
+    /** The count of indices marked with 'true' in the array 'mWinableLines'. */
+    private int mWinableLinesCount;
+
+    /** The indices of the 'win lines' reached in the last turn by the winner. */
+    private final int[] mWinLines;
+    /** The count of valid entries in the array 'mWinLines'. */
+    private int mWinLinesCount;
+
+    /** The flag of each field as 'FieldFlag' ordinal. */
+    private final byte[] mPlayingField;
+    /** The gamer having the next field selection - 'FIRST_GAMER' or 'SECOND_GAMER'. */
+    private int mNextGamer;
+    /** State of the current game as returned by the last 'setFlagToField(field)'-call. */
+    private GameState mGameState;
+
+    /**
+     * Creates a new m,n,k-game and starts it.
+     *
+     * @param width the count of fields in each row.
+     * @param height the count of fields in each column.
+     * @param winLength the count of fields in one line to win the game - at least two.
+     */
+    public MnkGameLogic(int width, int height, int winLength) {
+
+        if (width < 1 || height < 1 || winLength < 2
+                || (winLength > width && winLength > height)) {
+            throw new IllegalArgumentException("No line of " + winLength
+                    + " fields fits into a " + width + "x" + height + " playing field.");
+        }
+        mWidth = width;
+        mHeight = height;
+        mWinLength = winLength;
+
+        // Collect all windows of 'winLength' fields in the four directions in the same order as
+        // the 'GameLine's: rows, columns, increasing diagonals and decreasing diagonals.
+        int[][] directions = new int[][] {{0, 1}, {1, 0}, {1, -1}, {1, 1}};
+        int linesCount = 0;
+        int[][] lineFields = new int[4 * width * height][];
+        byte[] lineDirections = new byte[4 * width * height];
+        int[] fieldLinesCounts = new int[width * height];
+        for (int directionIndex = 0; directionIndex < directions.length; directionIndex++) {
+            int[] direction = directions[directionIndex];
+            for (int row = 0; row < height; row++) {
+                for (int column = 0; column < width; column++) {
+                    int lastRow = row + (winLength - 1) * direction[0];
+                    int lastColumn = column + (winLength - 1) * direction[1];
+                    if (lastRow < height && lastColumn >= 0 && lastColumn < width) {
+                        int[] fields = new int[winLength];
+                        for (int index = 0; index < winLength; index++) {
+                            fields[index] = (row + index * direction[0]) * width
+                                    + column + index * direction[1];
+                            fieldLinesCounts[fields[index]]++;
+                        }
+                        lineFields[linesCount] = fields;
+                        lineDirections[linesCount] = (byte) directionIndex;
+                        linesCount++;
+                    }
+                }
+            }
+        }
+
+        mLineFields = new int[linesCount][];
+        System.arraycopy(lineFields, 0, mLineFields, 0, linesCount);
+        mLineDirections = new byte[linesCount];
+        System.arraycopy(lineDirections, 0, mLineDirections, 0, linesCount);
+
+        mFieldLines = new int[width * height][];
+        for (int field = 0; field < mFieldLines.length; field++) {
+            mFieldLines[field] = new int[fieldLinesCounts[field]];
+            fieldLinesCounts[field] = 0;
+        }
+        for (int line = 0; line < linesCount; line++) {
+            for (int field : mLineFields[line]) {
+                mFieldLines[field][fieldLinesCounts[field]] = line;
+                fieldLinesCounts[field]++;
+            }
+        }
+
+        mLineSums = new int[linesCount];
+        mLineFilledCounts = new int[linesCount];
+        mWinableLines = new boolean[linesCount];
+        mWinLines = new int[linesCount];
+        mPlayingField = new byte[width * height];
+
+        startNewGame();
+    }
+
+    @Override
+    public int getFieldCount() {
+        return mPlayingField.length;
+    }
+
+    /** This method clears all fields, initialize the game state and so starts a new game. */
+    @Override
+    public void startNewGame() {
+
+        // Reset the state without reallocating the arrays.
+        for (int line = 0; line < mLineFields.length; line++) {
+            mLineSums[line] = 0;
+            mLineFilledCounts[line] = 0;
+            mWinableLines[line] = true;
+        }
+        mWinableLinesCount = mLineFields.length;
+        mWinLinesCount = 0;
+        for (int field = 0; field < mPlayingField.length; field++) {
+            mPlayingField[field] = (byte) FieldFlag.EMPTY_FIELD.ordinal();
+        }
+        mNextGamer = FIRST_GAMER;
+        mGameState = GameState.OPEN;
+    }
+
+    /**
+     * This method is the central way for the two gamers to select empty fields in an alternating
+     * sequence of selections until the returned value notifies that the game is over.
+     *
+     * @param field selected field index, line by line from left to right and up to down.
+     * @return returns a 'GameState' declaring the current state of this game
+     */
+    @Override
+    public GameState setFlagToField(int field) {
+
+        // Only set the flag to the field if...
+        if (mGameState.equals(GameState.OPEN)                             // ...the game is open
+                && field >= 0 && field < mPlayingField.length             // ...the index is valid
+                && mPlayingField[field] == FieldFlag.EMPTY_FIELD.ordinal()) {  // ...and empty.
+
+            mPlayingField[field] = (byte) (mNextGamer == FIRST_GAMER
+                    ? FieldFlag.FIRST_GAMERS_FLAG.ordinal()
+                    : FieldFlag.SECOND_GAMERS_FLAG.ordinal());
+
+            // Update only the lines passing the selected field.
+            int winDirections = 0;
+            for (int line : mFieldLines[field]) {
+                mLineSums[line] += mNextGamer;
+                mLineFilledCounts[line]++;
+
+                if (mWinableLines[line]) {
+                    if (mLineSums[line] == mNextGamer * mWinLength) {
+                        // The gamer owns the whole line
+                        mWinLines[mWinLinesCount] = line;
+                        mWinLinesCount++;
+                        winDirections |= 1 << mLineDirections[line];
+                    } else if (Math.abs(mLineSums[line]) != mLineFilledCounts[line]) {
+                        // The line contains mixed flags
+                        mWinableLines[line] = false;
+                        mWinableLinesCount--;
+                    }
+                }
+            }
+
+            if (mWinLinesCount > 0) {
+                if (mNextGamer == SECOND_GAMER) {
+                    mGameState = GameState.WINNER_SECOND;
+                } else if (Integer.bitCount(winDirections) > 1) {
+                    mGameState = GameState.DOUBLE_WIN_FIRST;
+                } else {
+                    mGameState = GameState.WINNER_FIRST;
+                }
+            } else if (mWinableLinesCount == 0) {
+                mGameState = GameState.GAME_OVER;
+            } else {
+                // The variable 'mNextGamer' is only shifted if there is a next game round.
+                mNextGamer = -mNextGamer;
+            }
+        }
+
+        return mGameState;
+    }
+
+    /**
+     * @return the 'GameState' of the current game.
+     */
+    public GameState getGameState() {
+        return mGameState;
+    }
+
+    /**
+     * Getter for the 'win lines' reached by the winner with his last selection.
+     *
+     * @return the indices of the 'win lines' or null if there is no winner yet.
+     */
+    public int[] getWinLines() {
+
+        int[] winLines = null;
+        if (mWinLinesCount > 0) {
+            winLines = new int[mWinLinesCount];
+            System.arraycopy(mWinLines, 0, winLines, 0, mWinLinesCount);
+        }
+        return winLines;
+    }
+
+    /**
+     * @param line the index of a line.
+     * @return a copy of the field indices of the line ordered from its first to its last field.
+     */
+    public int[] getLineFields(int line) {
+        return mLineFields[line].clone();
+    }
+
+    /**
+     * @param field the index of a field.
+     * @return the 'FieldFlag' of the field.
+     */
+    @Override
+    public FieldFlag getFieldFlag(int field) {
+        return FIELD_FLAGS[mPlayingField[field]];
+    }
+
+    /**
+     * @return array of 'FieldFlag's ordered line by line from the left upper corner to the right
+     * bottom corner of the playing field.
+     */
+    public FieldFlag[] getPlayingFieldState() {
+
+        FieldFlag[] playingField = new FieldFlag[mPlayingField.length];
+        for (int field = 0; field < mPlayingField.length; field++) {
+            playingField[field] = FIELD_FLAGS[mPlayingField[field]];
+        }
+        return playingField;
+    }
+
+    public int getWidth() {
+        return mWidth;
+    }
+
+    public int getHeight() {
+        return mHeight;
+    }
+
+    public int getWinLength() {
+        return mWinLength;
+    }
+
+    /**
+     * @return the count of all lines in which a gamer could win the game.
+     */
+    public int getLinesCount() {
+        return mLineFields.length;
+    }
+}
@@ -0,0 +1,513 @@
+package com.neopoly.tictactoe.gamelogic;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Executor;
+
+/**
+ * This class appends the history of played game rounds to a binary journal file - each field
+ * selection and each round result as one record of 'RECORD_SIZE' bytes. The file is mapped into
+ * memory region by region, so appending a record is a plain memory write. The written regions are
+ * forced to the storage device periodically - after 'FORCE_INTERVAL_RECORDS' records or
+ * 'FORCE_INTERVAL_MILLIS' milliseconds - and on 'flush()' or 'close()' instead of after each
+ * record. Opening the file, mapping the regions, forcing and closing can run on a background
+ * executor, so the thread appending the records - like the main thread of the app - never waits
+ * for the storage device. Unused space of the last region is zero-filled, so the first record of
+ * type '0' marks the end of the journal. The journal can be read again by a 'MoveJournal.Reader'.
+ *
+ * The file starts with a header record holding 'MAGIC' and 'VERSION', each further record has the
+ * following layout:
+ *
+ *  | type (1 byte) | field (1 byte) | game state (1 byte) | unused (1 byte) | round (4 bytes) |
+ *  | time in milliseconds since 1970 (8 bytes) |
+ *
+ * An instance is not thread-safe - all methods must be called by the same thread.
+ */
+public class MoveJournal implements Closeable {
+
+    /** The size of each record in bytes. */
+    public static final int RECORD_SIZE = 16;
+    /** The record type of a field selection - the game state is the returned one. */
+    public static final byte TYPE_MOVE = 1;
+    /** The record type of a round result - the field is unused. */
+    public static final byte TYPE_ROUND_RESULT = 2;
+
+    /** The first four bytes of each journal file - 'TTTJ'. */
+    static final int MAGIC = 0x5454544a;
+    /** The version of the record layout. */
+    static final int VERSION = 1;
+    /** The size of each mapped region in bytes - a multiple of 'RECORD_SIZE'. */
+    static final int REGION_SIZE = 64 * 1024;
+    /** The count of records after which the written records are forced to the storage device. */
+    static final int FORCE_INTERVAL_RECORDS = 256;
+    /** The time after which the written records are forced to the storage device. */
+    static final long FORCE_INTERVAL_MILLIS = 5000;
+    /** The count of records kept in memory while the next region is being mapped. */
+    static final int PENDING_CAPACITY_RECORDS = 1024;
+
+    /** The offset of the field within a record - the type is at offset '0'. */
+    private static final int OFFSET_FIELD = 1;
+    /** The offset of the 'GameState' ordinal within a record. */
+    private static final int OFFSET_GAME_STATE = 2;
+    /** The offset of the round number within a record. */
+    private static final int OFFSET_ROUND = 4;
+    /** The offset of the time in milliseconds within a record. */
+    private static final int OFFSET_TIME = 8;
+
+    /** All 'GameState's in the order of their ordinals - cached to avoid the 'values()'-copy. */
+    private static final GameState[] GAME_STATES = GameState.values();
+
+    /** Runs the tasks of a journal without background executor on the calling thread. */
+    private static final Executor CALLING_THREAD = new Executor() {
+        @Override
+        public void execute(Runnable task) {
+            task.run();
+        }
+    };
+
+    /** The journal file. */
+    private final File mJournalFile;
+    /** Runs the opening, mapping, forcing and closing of the file in the order of submission. */
+    private final Executor mExecutor;
+    /** The records appended while no region is mapped - in the layout of the journal file. */
+    private final ByteBuffer mPendingRecords =
+            ByteBuffer.allocate(PENDING_CAPACITY_RECORDS * RECORD_SIZE);
+
+    /** The opened journal file - only used by the tasks of the executor. */
+    private RandomAccessFile mFile;
+    /** The channel of the journal file which maps the regions - only used by the executor. */
+    private FileChannel mChannel;
+    /** Marks whether the executor is closing the journal, so it maps further regions itself. */
+    private boolean mClosing;
+
+    /** The currently mapped region of the journal file or 'null' while it is being mapped. */
+    private MappedByteBuffer mRegion;
+    /** The offset of the mapped region within the journal file. */
+    private long mRegionStart;
+    /** The offset of the next record within the mapped region. */
+    private int mRegionPosition;
+    /** The count of records which haven't been forced to the storage device yet. */
+    private int mUnforcedRecords;
+    /** The time of the last force of the written records. */
+    private long mLastForceMillis;
+
+    /** The region mapped by the executor which hasn't been taken by the appending thread yet. */
+    private volatile MappedByteBuffer mMappedRegion;
+    /** The offset of 'mMappedRegion' within the journal file - published together with it. */
+    private long mMappedRegionStart;
+    /** The offset of the next record within 'mMappedRegion' - published together with it. */
+    private int mMappedRegionPosition;
+    /** The first failure of the executor's tasks or 'null' if there is none. */
+    private volatile IOException mError;
+
+    /**
+     * Opens the given journal file to append further records or creates it if it doesn't exist.
+     * All file operations run on the calling thread.
+     *
+     * @param file the journal file.
+     * @throws IOException if the file can't be opened or is no journal file.
+     */
+    public MoveJournal(File file) throws IOException {
+
+        this(file, CALLING_THREAD);
+        if (mError != null) {
+            throw mError;
+        }
+    }
+
+    /**
+     * Starts opening the given journal file to append further records or creating it if it doesn't
+     * exist. The file is opened, mapped, forced and closed by tasks of the given executor, so the
+     * appending thread only writes into mapped memory. Records appended before a region has been
+     * mapped are kept in memory until it is. A failure of the executor's tasks is thrown by the
+     * next append.
+     *
+     * @param file the journal file.
+     * @param executor runs the tasks of the journal one after another in the order of submission
+     *                 - for example a single thread executor.
+     */
+    public MoveJournal(File file, Executor executor) {
+
+        mJournalFile = file;
+        mExecutor = executor;
+        mLastForceMillis = System.currentTimeMillis();
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                open();
+            }
+        });
+    }
+
+    /**
+     * This method appends a field selection and its result.
+     *
+     * @param round the number of the game round.
+     * @param field the selected field index from [0-8].
+     * @param gameState the 'GameState' returned by 'setFlagToField(field)'.
+     * @throws IOException if the journal file can't be opened or extended.
+     */
+    public void appendMove(int round, int field, GameState gameState) throws IOException {
+        append(TYPE_MOVE, field, gameState, round);
+    }
+
+    /**
+     * This method appends the result of a finished game round.
+     *
+     * @param round the number of the game round.
+     * @param gameState the final 'GameState' of the round.
+     * @throws IOException if the journal file can't be opened or extended.
+     */
+    public void appendRoundResult(int round, GameState gameState) throws IOException {
+        append(TYPE_ROUND_RESULT, 0, gameState, round);
+    }
+
+    /**
+     * This helper method writes one record into the mapped region - or keeps it in memory while
+     * no region is mapped - and starts mapping the next region if the current one is full.
+     */
+    private void append(byte type, int field, GameState gameState, int round) throws IOException {
+
+        IOException error = mError;
+        if (error != null) {
+            throw error;
+        }
+        if (mRegion == null) {
+            takeMappedRegion();
+        }
+
+        long now = System.currentTimeMillis();
+        if (mRegion != null) {
+            putRecord(mRegion, mRegionPosition, type, field, gameState, round, now);
+            mRegionPosition += RECORD_SIZE;
+            if (mRegionPosition == REGION_SIZE) {
+                rollOver();
+                return;
+            }
+        } else if (mPendingRecords.hasRemaining()) {
+            putRecord(mPendingRecords, mPendingRecords.position(), type, field, gameState, round,
+                    now);
+            mPendingRecords.position(mPendingRecords.position() + RECORD_SIZE);
+        } else {
+            throw new IOException("The journal file hasn't been mapped in time.");
+        }
+
+        mUnforcedRecords++;
+        if (mUnforcedRecords >= FORCE_INTERVAL_RECORDS
+                || now - mLastForceMillis >= FORCE_INTERVAL_MILLIS) {
+            flush();
+        }
+    }
+
+    /**
+     * This helper method writes the values of a record - the type last, so a record is only
+     * visible after all its values.
+     */
+    private static void putRecord(ByteBuffer buffer, int position, byte type, int field,
+                                  GameState gameState, int round, long timeMillis) {
+
+        buffer.put(position + OFFSET_FIELD, (byte) field);
+        buffer.put(position + OFFSET_GAME_STATE, (byte) gameState.ordinal());
+        buffer.putInt(position + OFFSET_ROUND, round);
+        buffer.putLong(position + OFFSET_TIME, timeMillis);
+        buffer.put(position, type);
+    }
+
+    /**
+     * This helper method takes the region mapped by the executor - if there is one - and moves
+     * the records appended in the meantime into it.
+     */
+    private void takeMappedRegion() {
+
+        MappedByteBuffer region = mMappedRegion;
+        if (region == null) {
+            return;
+        }
+        mMappedRegion = null;
+        mRegion = region;
+        mRegionStart = mMappedRegionStart;
+        mRegionPosition = mMappedRegionPosition;
+
+        // Records which don't fit into the region anymore wait for the next one
+        int pendingEnd = mPendingRecords.position();
+        int moved = 0;
+        for (; moved < pendingEnd && mRegionPosition < REGION_SIZE; moved += RECORD_SIZE) {
+            for (int offset = RECORD_SIZE - 1; offset >= 0; offset--) {     // the type last
+                mRegion.put(mRegionPosition + offset, mPendingRecords.get(moved + offset));
+            }
+            mRegionPosition += RECORD_SIZE;
+        }
+        mPendingRecords.limit(pendingEnd);
+        mPendingRecords.position(moved);
+        mPendingRecords.compact();
+
+        if (mRegionPosition == REGION_SIZE) {
+            rollOver();
+        }
+    }
+
+    /**
+     * This helper method hands the full region over to the executor, which forces it and maps
+     * the next region.
+     */
+    private void rollOver() {
+
+        final MappedByteBuffer fullRegion = mRegion;
+        final long regionStart = mRegionStart + REGION_SIZE;
+        mRegion = null;
+        mUnforcedRecords = 0;
+        mLastForceMillis = System.currentTimeMillis();
+
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                if (mError == null) {
+                    fullRegion.force();
+                    try {
+                        publishRegion(mapRegion(regionStart), regionStart, 0);
+                    } catch (IOException e) {
+                        fail(e);
+                    }
+                }
+            }
+        };
+        if (mClosing) {
+            task.run();                     // The executor is closing the journal on this thread
+        } else {
+            mExecutor.execute(task);
+        }
+    }
+
+    /**
+     * This method forces all records written into the mapped region to the storage device - in
+     * the background if the journal has an executor. Records kept in memory while a region is
+     * being mapped follow with the region.
+     */
+    public void flush() {
+
+        final MappedByteBuffer region = mRegion;
+        if (region != null) {
+            mExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (mError == null) {
+                        region.force();
+                    }
+                }
+            });
+        }
+        mUnforcedRecords = 0;
+        mLastForceMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * This method closes the journal - in the background if the journal has an executor, after
+     * all records have been written and forced. The journal must not be used anymore afterwards.
+     *
+     * @throws IOException if a task of the executor has failed before.
+     */
+    @Override
+    public void close() throws IOException {
+
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                finish();
+            }
+        });
+        IOException error = mError;
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * This helper method opens the journal file and maps its last region - run by the executor.
+     */
+    private void open() {
+
+        try {
+            mFile = new RandomAccessFile(mJournalFile, "rw");
+            mChannel = mFile.getChannel();
+            long fileSize = mChannel.size();
+            if (fileSize == 0) {
+                MappedByteBuffer region = mapRegion(0);
+                region.putInt(0, MAGIC);
+                region.putInt(4, VERSION);
+                publishRegion(region, 0, RECORD_SIZE);
+            } else {
+                checkHeader(mChannel);
+
+                // Find the end of the records within the last region
+                long regionStart = (fileSize - 1) / REGION_SIZE * REGION_SIZE;
+                MappedByteBuffer region = mapRegion(regionStart);
+                int position = regionStart == 0 ? RECORD_SIZE : 0;
+                while (position < REGION_SIZE && region.get(position) != 0) {
+                    position += RECORD_SIZE;
+                }
+                publishRegion(region, regionStart, position);
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * This helper method writes the records still kept in memory, forces the last region and
+     * closes the file - run by the executor after all other tasks of the journal.
+     */
+    private void finish() {
+
+        // All mapping tasks have run, so the regions are mapped on this thread from now on
+        mClosing = true;
+        while (mError == null) {
+            takeMappedRegion();
+            if (mPendingRecords.position() == 0) {
+                break;
+            }
+        }
+        if (mError == null && mRegion != null) {
+            mRegion.force();
+        }
+        fail(null);
+    }
+
+    /**
+     * This helper method keeps the first failure of the executor's tasks and closes the file.
+     */
+    private void fail(IOException error) {
+
+        if (mError == null && error != null) {
+            mError = error;
+        }
+        if (mFile != null) {
+            try {
+                mFile.close();
+            } catch (IOException e) {
+                // Nothing left to release
+            }
+            mFile = null;
+        }
+    }
+
+    /**
+     * This helper method maps the region at the given offset - extending the file if necessary.
+     */
+    private MappedByteBuffer mapRegion(long regionStart) throws IOException {
+        return mChannel.map(FileChannel.MapMode.READ_WRITE, regionStart, REGION_SIZE);
+    }
+
+    /**
+     * This helper method hands a mapped region over to the appending thread.
+     */
+    private void publishRegion(MappedByteBuffer region, long regionStart, int position) {
+        mMappedRegionStart = regionStart;
+        mMappedRegionPosition = position;
+        mMappedRegion = region;                 // Written last, so all values are visible with it
+    }
+
+    /**
+     * This helper method checks the header record of an existing journal file.
+     */
+    private static void checkHeader(FileChannel channel) throws IOException {
+
+        ByteBuffer header = ByteBuffer.allocate(8);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // Read until the header is complete or the file ends
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("The file is no move journal.");
+        }
+    }
+
+    /**
+     * This class streams all records of a journal file from the first to the last one. The file is
+     * mapped once while opening and each 'next()'-call moves to the next record without allocating
+     * any objects, so the values of the current record are read by the getter-methods.
+     */
+    public static class Reader implements Closeable {
+
+        /** The opened journal file. */
+        private final RandomAccessFile mFile;
+        /** The mapped journal file. */
+        private final MappedByteBuffer mRecords;
+        /** The offset of the current record or '0' before the first 'next()'-call. */
+        private int mPosition;
+
+        /**
+         * Opens the given journal file to read its records.
+         *
+         * @param file the journal file.
+         * @throws IOException if the file can't be opened or is no journal file.
+         */
+        public Reader(File file) throws IOException {
+
+            mFile = new RandomAccessFile(file, "r");
+            try {
+                FileChannel channel = mFile.getChannel();
+                checkHeader(channel);
+                mRecords = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException e) {
+                mFile.close();
+                throw e;
+            }
+        }
+
+        /**
+         * This method moves to the next record.
+         *
+         * @return 'true' if there is a next record or 'false' if the end of the journal is reached.
+         */
+        public boolean next() {
+
+            int position = mPosition + RECORD_SIZE;
+            if (position + RECORD_SIZE > mRecords.limit() || mRecords.get(position) == 0) {
+                return false;
+            }
+            mPosition = position;
+            return true;
+        }
+
+        /**
+         * @return 'TYPE_MOVE' or 'TYPE_ROUND_RESULT'.
+         */
+        public byte getType() {
+            return mRecords.get(mPosition);
+        }
+
+        /**
+         * @return the selected field index from [0-8] of a 'TYPE_MOVE'-record.
+         */
+        public int getField() {
+            return mRecords.get(mPosition + OFFSET_FIELD);
+        }
+
+        /**
+         * @return the returned 'GameState' of a move or the final 'GameState' of a round.
+         */
+        public GameState getGameState() {
+            return GAME_STATES[mRecords.get(mPosition + OFFSET_GAME_STATE)];
+        }
+
+        public int getRound() {
+            return mRecords.getInt(mPosition + OFFSET_ROUND);
+        }
+
+        /**
+         * @return the time of the record in milliseconds since 1970.
+         */
+        public long getTimeMillis() {
+            return mRecords.getLong(mPosition + OFFSET_TIME);
+        }
+
+        @Override
+        public void close() throws IOException {
+            mFile.close();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.neopoly.tictactoe.gamelogic;
+
+/**
+ * This class packs a playing field state and the gamer on turn into one single integer value,
+ * so it can be stored, sent and cached without an array of 'FieldFlag's. Each field takes two
+ * bits holding the ordinal of its 'FieldFlag' - field 'n' at the bits '2n' and '2n+1' - and the
+ * two bits above the fields hold the ordinal of the 'FieldFlag' of the gamer on turn, which is
+ * 'FieldFlag.EMPTY_FIELD' for finished games. Two bits per field keep packing and unpacking to
+ * plain shifts - the base-3 encoding of the 'PositionOutcomeTable' is denser, but needs divisions.
+ * All methods are static and allocate no objects.
+ */
+public final class PackedPlayingField {
+
+    /** The count of bits per field. */
+    private static final int BITS_PER_FIELD = 2;
+    /** The mask of the bits of a single field. */
+    private static final int FIELD_MASK = (1 << BITS_PER_FIELD) - 1;
+    /** The position of the bits holding the gamer on turn. */
+    private static final int SHIFT_NEXT_GAMER =
+            BITS_PER_FIELD * TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT;
+    /** The mask of the low bits of all fields - '01' per field. */
+    private static final int LOW_BITS = 0x15555;
+    /** The mask of the low bits of all fields and of the gamer on turn. */
+    private static final int ALL_LOW_BITS = LOW_BITS | 1 << SHIFT_NEXT_GAMER;
+
+    /** All 'FieldFlag's in the order of their ordinals - cached to avoid the 'values()'-copy. */
+    private static final FieldFlag[] FIELD_FLAGS = FieldFlag.values();
+
+    /** The count of used bits of a packed playing field. */
+    public static final int PACKED_BITS = SHIFT_NEXT_GAMER + BITS_PER_FIELD;
+    /** The packed empty playing field with the first gamer on turn. */
+    public static final int EMPTY = FieldFlag.FIRST_GAMERS_FLAG.ordinal() << SHIFT_NEXT_GAMER;
+
+    private PackedPlayingField() {}
+
+    /**
+     * This method packs the given playing field state with the gamer on turn derived from the
+     * count of flags of both gamers - the first gamer if both have the same count, otherwise the
+     * second gamer.
+     *
+     * @param playingFieldState an array of nine 'FieldFlags'.
+     * @return the packed playing field.
+     */
+    public static int pack(FieldFlag[] playingFieldState) {
+
+        int packedPlayingField = pack(playingFieldState, FieldFlag.EMPTY_FIELD);
+        int nextGamer = Integer.bitCount(getFirstGamersFields(packedPlayingField))
+                == Integer.bitCount(getSecondGamersFields(packedPlayingField))
+                ? FieldFlag.FIRST_GAMERS_FLAG.ordinal() : FieldFlag.SECOND_GAMERS_FLAG.ordinal();
+        return packedPlayingField | nextGamer << SHIFT_NEXT_GAMER;
+    }
+
+    /**
+     * @param playingFieldState an array of nine 'FieldFlags'.
+     * @param nextGamer the 'FieldFlag' of the gamer on turn or 'FieldFlag.EMPTY_FIELD' for
+     *                  finished games.
+     * @return the packed playing field.
+     */
+    public static int pack(FieldFlag[] playingFieldState, FieldFlag nextGamer) {
+
+        int packedPlayingField = nextGamer.ordinal() << SHIFT_NEXT_GAMER;
+        for (int field = 0; field < TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT; field++) {
+            packedPlayingField |= playingFieldState[field].ordinal() << (BITS_PER_FIELD * field);
+        }
+        return packedPlayingField;
+    }
+
+    /**
+     * @param firstGamersFields the mask with the bit 'n' set for each field 'n' of the first gamer.
+     * @param secondGamersFields the mask with the bit 'n' set for each field 'n' of the second one.
+     * @param nextGamer the 'FieldFlag' of the gamer on turn or 'FieldFlag.EMPTY_FIELD' for
+     *                  finished games.
+     * @return the packed playing field.
+     */
+    public static int pack(int firstGamersFields, int secondGamersFields, FieldFlag nextGamer) {
+        return spread(firstGamersFields) * FieldFlag.FIRST_GAMERS_FLAG.ordinal()
+                | spread(secondGamersFields) * FieldFlag.SECOND_GAMERS_FLAG.ordinal()
+                | nextGamer.ordinal() << SHIFT_NEXT_GAMER;
+    }
+
+    /**
+     * This method unpacks the fields of the packed playing field into the given array.
+     *
+     * @param packedPlayingField a valid packed playing field.
+     * @param playingFieldState the array of at least nine 'FieldFlags' to fill.
+     * @return the given array.
+     */
+    public static FieldFlag[] unpack(int packedPlayingField, FieldFlag[] playingFieldState) {
+
+        for (int field = 0; field < TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT; field++) {
+            playingFieldState[field] = getFieldFlag(packedPlayingField, field);
+        }
+        return playingFieldState;
+    }
+
+    /**
+     * @param packedPlayingField a valid packed playing field.
+     * @param field the index [0-8] of a field.
+     * @return the 'FieldFlag' of the field.
+     */
+    public static FieldFlag getFieldFlag(int packedPlayingField, int field) {
+        return FIELD_FLAGS[packedPlayingField >>> (BITS_PER_FIELD * field) & FIELD_MASK];
+    }
+
+    /**
+     * @param packedPlayingField a valid packed playing field.
+     * @return the 'FieldFlag' of the gamer on turn or 'FieldFlag.EMPTY_FIELD' for finished games.
+     */
+    public static FieldFlag getNextGamer(int packedPlayingField) {
+        return FIELD_FLAGS[packedPlayingField >>> SHIFT_NEXT_GAMER & FIELD_MASK];
+    }
+
+    /**
+     * @param packedPlayingField a packed playing field.
+     * @param nextGamer the 'FieldFlag' of the gamer on turn or 'FieldFlag.EMPTY_FIELD'.
+     * @return the packed playing field with the given gamer on turn.
+     */
+    public static int setNextGamer(int packedPlayingField, FieldFlag nextGamer) {
+        return packedPlayingField & ~(FIELD_MASK << SHIFT_NEXT_GAMER)
+                | nextGamer.ordinal() << SHIFT_NEXT_GAMER;
+    }
+
+    /**
+     * @param packedPlayingField a packed playing field.
+     * @return the mask with the bit 'n' set for each field 'n' of the first gamer.
+     */
+    public static int getFirstGamersFields(int packedPlayingField) {
+        return gather(packedPlayingField & ~(packedPlayingField >>> 1) & LOW_BITS);
+    }
+
+    /**
+     * @param packedPlayingField a packed playing field.
+     * @return the mask with the bit 'n' set for each field 'n' of the second gamer.
+     */
+    public static int getSecondGamersFields(int packedPlayingField) {
+        return gather(~packedPlayingField & (packedPlayingField >>> 1) & LOW_BITS);
+    }
+
+    /**
+     * This method checks that the value holds no unused bits and no field or gamer on turn with
+     * the undefined two bit value '3'. It doesn't check if the playing field could be reached.
+     *
+     * @param packedPlayingField any integer value.
+     * @return 'true' if the value can be unpacked.
+     */
+    public static boolean isValid(int packedPlayingField) {
+        return packedPlayingField >>> PACKED_BITS == 0
+                && (packedPlayingField & (packedPlayingField >>> 1) & ALL_LOW_BITS) == 0;
+    }
+
+    /**
+     * This helper method moves the bit 'n' of the given mask to the bit '2n'.
+     */
+    private static int spread(int fields) {
+
+        int spread = 0;
+        while (fields != 0) {
+            int field = Integer.numberOfTrailingZeros(fields);
+            fields &= fields - 1;
+            spread |= 1 << (BITS_PER_FIELD * field);
+        }
+        return spread;
+    }
+
+    /**
+     * This helper method moves the bit '2n' of the given value to the bit 'n'.
+     */
+    private static int gather(int lowBits) {
+
+        int fields = 0;
+        while (lowBits != 0) {
+            int bit = Integer.numberOfTrailingZeros(lowBits);
+            lowBits &= lowBits - 1;
+            fields |= 1 << (bit / BITS_PER_FIELD);
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,218 @@
+package com.neopoly.tictactoe.gamelogic;
+
+/**
+ * This class represents a computer gamer which plays perfectly according to the rules of the
+ * 'TicTacToeGameLogic' - including the early 'GameState.GAME_OVER' as soon as no line can be won
+ * anymore and the 'double win' which counts as two wins. The field selection is found by a negamax
+ * search with alpha-beta pruning on the game logic's 'makeMove(field)'/'unmakeMove()'-methods.
+ * All searched positions are memorized in a table indexed by the base-3 encoding of the playing
+ * field, so after the first search - already performed while constructing the gamer - each further
+ * selection is found in a fraction of a millisecond. An instance is not thread-safe and should
+ * be reused for all games of one client to benefit from its memorized positions.
+ */
+public class PerfectComputerGamer {
+
+    /** The score of a single win, always higher than the bonus for the count of empty fields. */
+    public static final int SCORE_WIN = 10;
+    /** The score of a 'double win' which counts as two wins. */
+    public static final int SCORE_DOUBLE_WIN = 2 * SCORE_WIN;
+    /** The score of a game which is over without any winner. */
+    public static final int SCORE_GAME_OVER = 0;
+
+    /** The order of searched fields - center, corners and edges for an early pruning. */
+    private static final int[] FIELD_ORDER = new int[] {4, 0, 2, 6, 8, 1, 3, 5, 7};
+
+    /** The memorized score is exact. */
+    private static final int BOUND_EXACT = 1;
+    /** The memorized score is a lower bound of the exact score. */
+    private static final int BOUND_LOWER = 2;
+    /** The memorized score is an upper bound of the exact score. */
+    private static final int BOUND_UPPER = 3;
+    /** The offset to store negative scores in the memo table - '0' marks unknown positions. */
+    private static final int SCORE_OFFSET = 64;
+
+    /**
+     * The memo table of already searched positions indexed by their base-3 encoding. Each entry
+     * holds the score shifted by 'SCORE_OFFSET' in the upper bits and one of the 'BOUND_'-values
+     * in the two lowest bits, or '0' if the position hasn't been searched yet.
+     */
+    private final short[] mMemorizedScores;
+    /** The game logic used to load playing field states for 'selectField(playingFieldState)'. */
+    private final TicTacToeGameLogic mGameLogic;
+
+    public PerfectComputerGamer() {
+
+        mMemorizedScores = new short[PositionOutcomeTable.POSITIONS_COUNT];
+        mGameLogic = new TicTacToeGameLogic();
+
+        // Search the empty playing field once to fill the memo table before the first selection.
+        selectField(mGameLogic);
+    }
+
+    /**
+     * This method selects the best field for the gamer on turn in the given playing field state.
+     *
+     * @param playingFieldState an array of nine 'FieldFlags' representing a valid and open game.
+     * @return the index [0-8] of the best field for the gamer on turn.
+     * @throws TicTacToeGameLogicInterface.NoInitialStateException if the playing field state is
+     * not valid or the game is not open.
+     */
+    public int selectField(FieldFlag[] playingFieldState)
+            throws TicTacToeGameLogicInterface.NoInitialStateException {
+
+        mGameLogic.initPlayingFieldState(playingFieldState);
+        return selectField(mGameLogic);
+    }
+
+    /**
+     * This method selects the best field for the gamer on turn in the current game of the given
+     * game logic. The game logic is used for the search, but reaches its current state again.
+     *
+     * @param gameLogic the game logic holding the current game.
+     * @return the index [0-8] of the best field for the gamer on turn or '-1' if the game is over.
+     */
+    public int selectField(TicTacToeGameLogic gameLogic) {
+
+        int bestField = -1;
+        int bestScore = Integer.MIN_VALUE;
+        int legalMoves = gameLogic.getLegalMoves();
+        int position = encodePosition(gameLogic);
+        int emptyFields = Integer.bitCount(legalMoves);
+        int gamersFlag = emptyFields % 2 == 1 ? 1 : 2;  // the first gamer is on turn at odd counts
+
+        for (int field : FIELD_ORDER) {
+            if ((legalMoves & (1 << field)) != 0) {
+                gameLogic.makeMove(field);
+                int score = scoreAfterMove(gameLogic,
+                        position + gamersFlag * PositionOutcomeTable.getFieldWeight(field),
+                        3 - gamersFlag,
+                        emptyFields - 1, -Integer.MAX_VALUE, Integer.MAX_VALUE);
+                gameLogic.unmakeMove();
+
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestField = field;
+                }
+            }
+        }
+
+        return bestField;
+    }
+
+    /**
+     * This method computes the score of the current game for the gamer on turn, assuming that
+     * both gamers play perfectly. Wins are scored higher the earlier they are reached.
+     *
+     * @param gameLogic the game logic holding the current game.
+     * @return the score of the gamer on turn - positive if he wins, negative if he loses.
+     */
+    public int evaluate(TicTacToeGameLogic gameLogic) {
+
+        int legalMoves = gameLogic.getLegalMoves();
+        if (legalMoves == 0) {
+            throw new IllegalStateException("The game is not open.");
+        }
+        int emptyFields = Integer.bitCount(legalMoves);
+        return negamax(gameLogic, encodePosition(gameLogic), emptyFields % 2 == 1 ? 1 : 2,
+                emptyFields, -Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * This helper method computes the score of the gamer who has performed the last move.
+     */
+    private int scoreAfterMove(TicTacToeGameLogic gameLogic, int position, int gamersFlag,
+                               int emptyFields, int alpha, int beta) {
+
+        switch (gameLogic.getGameState()) {
+            case WINNER_FIRST: case WINNER_SECOND:
+                return SCORE_WIN + emptyFields;
+            case DOUBLE_WIN_FIRST:
+                return SCORE_DOUBLE_WIN + emptyFields;
+            case GAME_OVER:
+                return SCORE_GAME_OVER;
+            default:
+                return -negamax(gameLogic, position, gamersFlag, emptyFields, -beta, -alpha);
+        }
+    }
+
+    /**
+     * This helper method performs the negamax search with alpha-beta pruning for the gamer on turn
+     * in an open game and memorizes the result for the position.
+     *
+     * @param position the base-3 encoding of the current playing field.
+     * @param gamersFlag the flag value of the gamer on turn - '1' for first and '2' for second.
+     * @param emptyFields the count of empty fields in the current playing field.
+     */
+    private int negamax(TicTacToeGameLogic gameLogic, int position, int gamersFlag,
+                        int emptyFields, int alpha, int beta) {
+
+        // Use or narrow the search window by the memorized score of this position
+        int memorized = mMemorizedScores[position];
+        if (memorized != 0) {
+            int memorizedScore = (memorized >> 2) - SCORE_OFFSET;
+            switch (memorized & 3) {
+                case BOUND_EXACT:
+                    return memorizedScore;
+                case BOUND_LOWER:
+                    alpha = Math.max(alpha, memorizedScore);
+                    break;
+                case BOUND_UPPER:
+                    beta = Math.min(beta, memorizedScore);
+            }
+            if (alpha >= beta) {
+                return memorizedScore;
+            }
+        }
+
+        int originalAlpha = alpha;
+        int bestScore = -Integer.MAX_VALUE;
+        int legalMoves = gameLogic.getLegalMoves();
+
+        for (int field : FIELD_ORDER) {
+            if ((legalMoves & (1 << field)) != 0) {
+                gameLogic.makeMove(field);
+                int score = scoreAfterMove(gameLogic,
+                        position + gamersFlag * PositionOutcomeTable.getFieldWeight(field),
+                        3 - gamersFlag,
+                        emptyFields - 1, alpha, beta);
+                gameLogic.unmakeMove();
+
+                if (score > bestScore) {
+                    bestScore = score;
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        int bound;
+        if (bestScore <= originalAlpha) {
+            bound = BOUND_UPPER;
+        } else if (bestScore >= beta) {
+            bound = BOUND_LOWER;
+        } else {
+            bound = BOUND_EXACT;
+        }
+        mMemorizedScores[position] = (short) (((bestScore + SCORE_OFFSET) << 2) | bound);
+
+        return bestScore;
+    }
+
+    /**
+     * This helper method computes the base-3 encoding of the current playing field as used by the
+     * 'PositionOutcomeTable' - without building the table itself.
+     */
+    private static int encodePosition(TicTacToeGameLogic gameLogic) {
+
+        int position = 0;
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            position += gameLogic.getFieldFlag(field).ordinal()
+                    * PositionOutcomeTable.getFieldWeight(field);
+        }
+        return position;
+    }
+}
@@ -0,0 +1,257 @@
+package com.neopoly.tictactoe.gamelogic;
+
+/**
+ * This class maps playing field states to a canonical form which is equal for all states that only
+ * differ by a rotation or a reflection of the 3x3-matrix. Each of the eight symmetry transforms is
+ * addressed by an index [0-7], transforms fields and 'GameLine's from the real game to the
+ * canonical space and back, so results computed for a canonical state can be applied to all of
+ * its equivalent states. Caches and tables keyed on canonical states shrink by almost eight times.
+ * Playing field states are handled in the base-3 encoding of the 'PositionOutcomeTable'.
+ */
+public final class PlayingFieldSymmetry {
+
+    /** The count of symmetry transforms of the 3x3-matrix including the identity. */
+    public static final int TRANSFORMS_COUNT = 8;
+    /** The index of the identity transform. */
+    public static final int IDENTITY = 0;
+
+    /**
+     * The target field of each field per transform - the transforms are defined by the mapping of
+     * the row 'r' and column 'c' of a field:
+     *
+     *  0: identity                   (r, c)          4: reflection left/right      (r, 2-c)
+     *  1: rotation by 90° clockwise  (c, 2-r)        5: reflection up/down         (2-r, c)
+     *  2: rotation by 180°           (2-r, 2-c)      6: reflection main diagonal   (c, r)
+     *  3: rotation by 270° clockwise (2-c, r)        7: reflection anti-diagonal   (2-c, 2-r)
+     */
+    private static final int[][] FIELD_MAP = new int[TRANSFORMS_COUNT][];
+    /** The inverse transform of each transform. */
+    private static final int[] INVERSE = new int[TRANSFORMS_COUNT];
+    /** The target 'GameLine' of each 'GameLine' per transform. */
+    private static final GameLine[][] LINE_MAP =
+            new GameLine[TRANSFORMS_COUNT][GameLine.GAME_LINES_COUNT];
+
+    static {
+        for (int transform = 0; transform < TRANSFORMS_COUNT; transform++) {
+            FIELD_MAP[transform] = new int[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+            for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+                int r = field / 3;
+                int c = field % 3;
+                int targetRow;
+                int targetColumn;
+                switch (transform) {
+                    case 1:  targetRow = c;     targetColumn = 2 - r; break;
+                    case 2:  targetRow = 2 - r; targetColumn = 2 - c; break;
+                    case 3:  targetRow = 2 - c; targetColumn = r;     break;
+                    case 4:  targetRow = r;     targetColumn = 2 - c; break;
+                    case 5:  targetRow = 2 - r; targetColumn = c;     break;
+                    case 6:  targetRow = c;     targetColumn = r;     break;
+                    case 7:  targetRow = 2 - c; targetColumn = 2 - r; break;
+                    default: targetRow = r;     targetColumn = c;
+                }
+                FIELD_MAP[transform][field] = targetRow * 3 + targetColumn;
+            }
+        }
+
+        for (int transform = 0; transform < TRANSFORMS_COUNT; transform++) {
+            // The inverse transform maps the target of field '1' back to '1' - unique for all eight
+            for (int inverse = 0; inverse < TRANSFORMS_COUNT; inverse++) {
+                if (FIELD_MAP[inverse][FIELD_MAP[transform][1]] == 1
+                        && FIELD_MAP[inverse][FIELD_MAP[transform][0]] == 0) {
+                    INVERSE[transform] = inverse;
+                }
+            }
+            // The target line has the location of the transformed fields
+            for (GameLine line : GameLine.values()) {
+                int targetMask = transformMask(line.getLocationMask(), transform);
+                for (GameLine targetLine : GameLine.values()) {
+                    if (targetLine.getLocationMask() == targetMask) {
+                        LINE_MAP[transform][line.ordinal()] = targetLine;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The holder of the canonical form of all 3^9 encodings, built lazily on the first lookup.
+     * Each entry holds the canonical encoding in the lower 16 bits and the transform above.
+     */
+    private static class CanonicalHolder {
+        static final int[] CANONICAL_FORMS = buildCanonicalForms();
+    }
+
+    private PlayingFieldSymmetry() {}
+
+    /**
+     * Getter for the transform which maps the given playing field state to its canonical form -
+     * the smallest base-3 encoding of all its equivalent states.
+     *
+     * @param position the base-3 encoding of a playing field state.
+     * @return the index [0-7] of the transform to the canonical form.
+     */
+    public static int getCanonicalTransform(int position) {
+        return CanonicalHolder.CANONICAL_FORMS[position] >>> 16;
+    }
+
+    /**
+     * @param playingFieldState an array of nine 'FieldFlags' representing any playing field.
+     * @return the index [0-7] of the transform to the canonical form.
+     */
+    public static int getCanonicalTransform(FieldFlag[] playingFieldState) {
+        return getCanonicalTransform(PositionOutcomeTable.encode(playingFieldState));
+    }
+
+    /**
+     * @param position the base-3 encoding of a playing field state.
+     * @return the base-3 encoding of the canonical form of the playing field state.
+     */
+    public static int getCanonicalPosition(int position) {
+        return CanonicalHolder.CANONICAL_FORMS[position] & 0xFFFF;
+    }
+
+    /**
+     * This method writes the canonical form of a playing field state into the given target array.
+     *
+     * @param playingFieldState an array of nine 'FieldFlags' representing any playing field.
+     * @param canonicalState an array of nine 'FieldFlags' receiving the canonical form.
+     * @return the index [0-7] of the transform to the canonical form.
+     */
+    public static int canonicalize(FieldFlag[] playingFieldState, FieldFlag[] canonicalState) {
+
+        int transform = getCanonicalTransform(playingFieldState);
+        transformPlayingField(playingFieldState, transform, canonicalState);
+        return transform;
+    }
+
+    /**
+     * This method transforms a whole playing field state.
+     *
+     * @param playingFieldState an array of nine 'FieldFlags' representing any playing field.
+     * @param transform the index [0-7] of the transform.
+     * @param transformedState an array of nine 'FieldFlags' - must not be the source array.
+     */
+    public static void transformPlayingField(FieldFlag[] playingFieldState, int transform,
+                                             FieldFlag[] transformedState) {
+
+        int[] fieldMap = FIELD_MAP[transform];
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            transformedState[fieldMap[field]] = playingFieldState[field];
+        }
+    }
+
+    /**
+     * @param position the base-3 encoding of a playing field state.
+     * @param transform the index [0-7] of the transform.
+     * @return the base-3 encoding of the transformed playing field state.
+     */
+    public static int transformPosition(int position, int transform) {
+
+        int transformedPosition = 0;
+        int[] fieldMap = FIELD_MAP[transform];
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            transformedPosition +=
+                    (position % 3) * PositionOutcomeTable.getFieldWeight(fieldMap[field]);
+            position /= 3;
+        }
+        return transformedPosition;
+    }
+
+    /**
+     * @param field a field index [0-8] in the real game.
+     * @param transform the index [0-7] of the transform to the canonical space.
+     * @return the index [0-8] of the same field in the canonical space.
+     */
+    public static int transformField(int field, int transform) {
+        return FIELD_MAP[transform][field];
+    }
+
+    /**
+     * @param canonicalField a field index [0-8] in the canonical space.
+     * @param transform the index [0-7] of the transform which has led to the canonical space.
+     * @return the index [0-8] of the same field in the real game.
+     */
+    public static int inverseTransformField(int canonicalField, int transform) {
+        return FIELD_MAP[INVERSE[transform]][canonicalField];
+    }
+
+    /**
+     * @param line a 'GameLine' in the real game.
+     * @param transform the index [0-7] of the transform to the canonical space.
+     * @return the same 'GameLine' in the canonical space.
+     */
+    public static GameLine transformLine(GameLine line, int transform) {
+        return LINE_MAP[transform][line.ordinal()];
+    }
+
+    /**
+     * @param canonicalLine a 'GameLine' in the canonical space.
+     * @param transform the index [0-7] of the transform which has led to the canonical space.
+     * @return the same 'GameLine' in the real game.
+     */
+    public static GameLine inverseTransformLine(GameLine canonicalLine, int transform) {
+        return LINE_MAP[INVERSE[transform]][canonicalLine.ordinal()];
+    }
+
+    /**
+     * @param fieldsMask a mask with the bit 'n' set for field 'n'.
+     * @param transform the index [0-7] of the transform.
+     * @return the mask of the transformed fields.
+     */
+    public static int transformMask(int fieldsMask, int transform) {
+
+        int transformedMask = 0;
+        int[] fieldMap = FIELD_MAP[transform];
+        while (fieldsMask != 0) {
+            transformedMask |= 1 << fieldMap[Integer.numberOfTrailingZeros(fieldsMask)];
+            fieldsMask &= fieldsMask - 1;
+        }
+        return transformedMask;
+    }
+
+    /**
+     * This method selects one field out of each group of fields which lead to equivalent playing
+     * field states if they are selected in the given state - for example one corner, one edge and
+     * the center in the empty playing field. Search algorithms can skip all other selections.
+     *
+     * @param position the base-3 encoding of a playing field state.
+     * @return the mask of the lowest field index of each group of equivalent fields.
+     */
+    public static int getDistinctFieldsMask(int position) {
+
+        int distinctFields = (1 << TicTacToeGameLogic.TOTAL_FIELD_COUNT) - 1;
+        for (int transform = 1; transform < TRANSFORMS_COUNT; transform++) {
+            // Only transforms which keep the state unchanged make selections equivalent
+            if (transformPosition(position, transform) == position) {
+                int[] fieldMap = FIELD_MAP[transform];
+                for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+                    if (fieldMap[field] < field) {
+                        distinctFields &= ~(1 << field);
+                    }
+                }
+            }
+        }
+        return distinctFields;
+    }
+
+    /**
+     * This helper method computes the canonical form and transform of all encodings.
+     */
+    private static int[] buildCanonicalForms() {
+
+        int[] canonicalForms = new int[PositionOutcomeTable.POSITIONS_COUNT];
+        for (int position = 0; position < PositionOutcomeTable.POSITIONS_COUNT; position++) {
+            int canonicalPosition = position;
+            int canonicalTransform = IDENTITY;
+            for (int transform = 1; transform < TRANSFORMS_COUNT; transform++) {
+                int transformedPosition = transformPosition(position, transform);
+                if (transformedPosition < canonicalPosition) {
+                    canonicalPosition = transformedPosition;
+                    canonicalTransform = transform;
+                }
+            }
+            canonicalForms[position] = canonicalPosition | canonicalTransform << 16;
+        }
+        return canonicalForms;
+    }
+}
@@ -0,0 +1,142 @@
+package com.neopoly.tictactoe.gamelogic;
+
+/**
+ * This class validates playing field states with the same rules as
+ * 'initPlayingFieldState(playingFieldState)' of the game logic classes, but reports the reason of
+ * a rejection as a code instead of throwing a 'NoInitialStateException' - filling the stack trace
+ * of an exception costs far more than the validation itself. A state is valid if its flags can be
+ * decoded, the first gamer owns as many fields as the second gamer or one more, no line is owned
+ * completely by one gamer and at least one line can still be won. All methods are static and
+ * allocate no objects, so millions of states can be validated in one batch.
+ */
+public final class PlayingFieldValidator {
+
+    /** The state can be loaded as an open game. */
+    public static final byte VALID = 0;
+    /**
+     * The state doesn't describe nine fields - an array of another length or a packed value with
+     * unused bits or the undefined two bit value '3'.
+     */
+    public static final byte BAD_LENGTH = 1;
+    /**
+     * The first gamer owns neither as many fields as the second gamer nor one more - or the packed
+     * gamer on turn doesn't fit the counts of both gamers' flags.
+     */
+    public static final byte COUNT_IMBALANCE = 2;
+    /** At least one line is owned completely by one gamer, so the game has already been won. */
+    public static final byte ALREADY_WON = 3;
+    /** Each line contains flags of both gamers, so the game has already been over. */
+    public static final byte ALREADY_DEAD = 4;
+
+    /** The location masks of all 'GameLine's indexed by their ordinals. */
+    private static final int[] LINE_MASKS = new int[GameLine.GAME_LINES_COUNT];
+
+    static {
+        for (GameLine line : GameLine.values()) {
+            LINE_MASKS[line.ordinal()] = line.getLocationMask();
+        }
+    }
+
+    private PlayingFieldValidator() {}
+
+    /**
+     * This method validates a batch of packed playing fields.
+     *
+     * @param packedPlayingFields the packed playing fields to validate.
+     * @param offset the index of the first packed playing field to validate.
+     * @param count the count of packed playing fields to validate.
+     * @param reasons receives the reason code of the packed playing field 'offset + n' at the
+     *                index 'n'.
+     * @return the count of valid packed playing fields.
+     */
+    public static int validate(int[] packedPlayingFields, int offset, int count, byte[] reasons) {
+
+        int validCount = 0;
+        for (int index = 0; index < count; index++) {
+            byte reason = validate(packedPlayingFields[offset + index]);
+            reasons[index] = reason;
+            if (reason == VALID) {
+                validCount++;
+            }
+        }
+        return validCount;
+    }
+
+    /**
+     * @param packedPlayingField any integer value.
+     * @return the reason code - 'VALID' if 'initPlayingFieldState(packedPlayingField)' accepts
+     *         the value.
+     */
+    public static byte validate(int packedPlayingField) {
+
+        if (!PackedPlayingField.isValid(packedPlayingField)) {
+            return BAD_LENGTH;
+        }
+        int firstGamersFields = PackedPlayingField.getFirstGamersFields(packedPlayingField);
+        int secondGamersFields = PackedPlayingField.getSecondGamersFields(packedPlayingField);
+        byte reason = validate(firstGamersFields, secondGamersFields);
+
+        // The packed gamer on turn has to fit the counts of both gamers' flags
+        FieldFlag nextGamer = Integer.bitCount(firstGamersFields)
+                == Integer.bitCount(secondGamersFields)
+                ? FieldFlag.FIRST_GAMERS_FLAG : FieldFlag.SECOND_GAMERS_FLAG;
+        if (reason == VALID
+                && !PackedPlayingField.getNextGamer(packedPlayingField).equals(nextGamer)) {
+            return COUNT_IMBALANCE;
+        }
+        return reason;
+    }
+
+    /**
+     * @param playingFieldState an array of 'FieldFlags' or null.
+     * @return the reason code - 'VALID' if 'initPlayingFieldState(playingFieldState)' accepts
+     *         the array.
+     */
+    public static byte validate(FieldFlag[] playingFieldState) {
+
+        if (playingFieldState == null
+                || playingFieldState.length != TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT) {
+            return BAD_LENGTH;
+        }
+        int firstGamersFields = 0;
+        int secondGamersFields = 0;
+        for (int field = 0; field < TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT; field++) {
+            switch (playingFieldState[field]) {
+                case FIRST_GAMERS_FLAG:
+                    firstGamersFields |= 1 << field;
+                    break;
+                case SECOND_GAMERS_FLAG:
+                    secondGamersFields |= 1 << field;
+            }
+        }
+        return validate(firstGamersFields, secondGamersFields);
+    }
+
+    /**
+     * @param firstGamersFields the mask with the bit 'n' set for each field 'n' of the first gamer.
+     * @param secondGamersFields the mask with the bit 'n' set for each field 'n' of the second one.
+     * @return the reason code - 'VALID' if the fields can be loaded as an open game.
+     */
+    public static byte validate(int firstGamersFields, int secondGamersFields) {
+
+        int countFirstsFlags = Integer.bitCount(firstGamersFields);
+        int countSecondsFlags = Integer.bitCount(secondGamersFields);
+        if (countFirstsFlags != countSecondsFlags
+                && countFirstsFlags != (countSecondsFlags + 1)) {
+            return COUNT_IMBALANCE;
+        }
+
+        boolean winableLine = false;
+        for (int lineMask : LINE_MASKS) {
+            int firstsFlags = firstGamersFields & lineMask;
+            int secondsFlags = secondGamersFields & lineMask;
+            if (firstsFlags == lineMask || secondsFlags == lineMask) {
+                return ALREADY_WON;
+            }
+            if (firstsFlags == 0 || secondsFlags == 0) {
+                winableLine = true;
+            }
+        }
+        return winableLine ? VALID : ALREADY_DEAD;
+    }
+}
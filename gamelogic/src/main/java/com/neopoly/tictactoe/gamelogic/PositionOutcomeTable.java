@@ -0,0 +1,185 @@
+package com.neopoly.tictactoe.gamelogic;
+
+/**
+ * This class provides the outcome of every playing field state which can be reached in a game of
+ * the 'TicTacToeGameLogic' - its 'GameState', 'win lines', the gamer on turn and the result of the
+ * game with perfect play of both gamers. All states are addressed by their base-3 encoding, which
+ * uses the digit '0' for empty fields, '1' for the first and '2' for the second gamer's fields and
+ * the weight '3^n' for field 'n'. The table is built only once on the first access by walking all
+ * games reachable through 'setFlagToField(field)', afterwards each lookup is a single array read.
+ */
+public final class PositionOutcomeTable {
+
+    /** The count of all possible playing field states in the base-3 encoding is '3^9'. */
+    public static final int POSITIONS_COUNT = 19683;
+
+    /** The powers of three used as weights of the fields in the base-3 encoding. */
+    private static final int[] FIELD_WEIGHTS = new int[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+    /** All 'GameState's in the order of their ordinals - cached to avoid the 'values()'-copy. */
+    private static final GameState[] GAME_STATES = GameState.values();
+    /** All 'FieldFlag's in the order of their ordinals - cached to avoid the 'values()'-copy. */
+    private static final FieldFlag[] FIELD_FLAGS = FieldFlag.values();
+
+    // The bit layout of the table entries - an entry of '0' marks an unreachable state:
+    //
+    //  | value+2 (3 bits) | next gamer (2 bits) | win lines (8 bits) | state (3 bits) | reachable |
+    //
+    private static final int REACHABLE = 1;
+    private static final int SHIFT_GAME_STATE = 1;
+    private static final int SHIFT_WIN_LINES = 4;
+    private static final int SHIFT_NEXT_GAMER = 12;
+    private static final int SHIFT_VALUE = 14;
+
+    static {
+        int weight = 1;
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            FIELD_WEIGHTS[field] = weight;
+            weight *= 3;
+        }
+    }
+
+    /**
+     * The holder of the table which is built while the holder class is initialized, so the
+     * table is built lazily, only once and thread-safe on the first lookup.
+     */
+    private static class TableHolder {
+        static final int[] ENTRIES = buildTable();
+    }
+
+    private PositionOutcomeTable() {}
+
+    /**
+     * This method computes the base-3 encoding of the given playing field state.
+     *
+     * @param playingFieldState an array of nine 'FieldFlags' representing any playing field.
+     * @return the base-3 encoding [0-19682] of the playing field state.
+     */
+    public static int encode(FieldFlag[] playingFieldState) {
+
+        int position = 0;
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            position += playingFieldState[field].ordinal() * FIELD_WEIGHTS[field];
+        }
+        return position;
+    }
+
+    /**
+     * Getter for the weight of a field in the base-3 encoding to update encodings incrementally.
+     *
+     * @param field the field index from [0-8].
+     * @return the weight '3^field' - multiplied by the 'FieldFlag' ordinal of the field's flag.
+     */
+    public static int getFieldWeight(int field) {
+        return FIELD_WEIGHTS[field];
+    }
+
+    /**
+     * @param position the base-3 encoding of a playing field state.
+     * @return 'true' if the playing field state can be reached in a game.
+     */
+    public static boolean isReachable(int position) {
+        return (TableHolder.ENTRIES[position] & REACHABLE) != 0;
+    }
+
+    /**
+     * @param position the base-3 encoding of a playing field state.
+     * @return the 'GameState' of the playing field state or null if it is not reachable.
+     */
+    public static GameState getGameState(int position) {
+        int entry = TableHolder.ENTRIES[position];
+        return entry != 0 ? GAME_STATES[(entry >>> SHIFT_GAME_STATE) & 7] : null;
+    }
+
+    /**
+     * @param position the base-3 encoding of a playing field state.
+     * @return the mask of the 'win lines' with bit 'n' set for the 'GameLine' with ordinal 'n'.
+     */
+    public static int getWinLinesMask(int position) {
+        return (TableHolder.ENTRIES[position] >>> SHIFT_WIN_LINES) & 0xFF;
+    }
+
+    /**
+     * @param position the base-3 encoding of a playing field state.
+     * @return the 'FieldFlag' of the gamer on turn in open games, otherwise 'EMPTY_FIELD'.
+     */
+    public static FieldFlag getNextGamer(int position) {
+        return FIELD_FLAGS[(TableHolder.ENTRIES[position] >>> SHIFT_NEXT_GAMER) & 3];
+    }
+
+    /**
+     * Getter for the result of the game from the first gamer's point of view, assuming that both
+     * gamers play perfectly from the given playing field state on. Finished games return their
+     * actual result.
+     *
+     * @param position the base-3 encoding of a reachable playing field state.
+     * @return '2' for a 'double win', '1' for a win and '-1' for a win of the second gamer, '0' if
+     * the game ends without any winner.
+     */
+    public static int getValue(int position) {
+        return ((TableHolder.ENTRIES[position] >>> SHIFT_VALUE) & 7) - 2;
+    }
+
+    /**
+     * This helper method builds the table by walking all reachable games.
+     */
+    private static int[] buildTable() {
+
+        int[] entries = new int[POSITIONS_COUNT];
+        walkGames(new TicTacToeGameLogic(), 0, entries);
+        return entries;
+    }
+
+    /**
+     * This helper method stores the entry of the current position - and recursively the entries
+     * of all positions reachable from it - if it hasn't been stored yet.
+     *
+     * @return the value of the current position from the first gamer's point of view.
+     */
+    private static int walkGames(TicTacToeGameLogic gameLogic, int position, int[] entries) {
+
+        if (entries[position] != 0) {
+            return ((entries[position] >>> SHIFT_VALUE) & 7) - 2;
+        }
+
+        GameState gameState = gameLogic.getGameState();
+        int winLines = 0;
+        FieldFlag nextGamer = FieldFlag.EMPTY_FIELD;
+        int value;
+
+        switch (gameState) {
+            case OPEN:
+                int legalMoves = gameLogic.getLegalMoves();
+                boolean firstGamersTurn = Integer.bitCount(legalMoves) % 2 == 1;
+                nextGamer = firstGamersTurn
+                        ? FieldFlag.FIRST_GAMERS_FLAG : FieldFlag.SECOND_GAMERS_FLAG;
+
+                // The first gamer maximizes and the second gamer minimizes the value.
+                value = firstGamersTurn ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+                for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+                    if ((legalMoves & (1 << field)) != 0) {
+                        gameLogic.setFlagToField(field);
+                        int childValue = walkGames(gameLogic,
+                                position + nextGamer.ordinal() * FIELD_WEIGHTS[field], entries);
+                        gameLogic.unmakeMove();
+                        value = firstGamersTurn
+                                ? Math.max(value, childValue) : Math.min(value, childValue);
+                    }
+                }
+                break;
+            case GAME_OVER:
+                value = 0;
+                break;
+            default:
+                winLines = gameLogic.getWinLinesMask();
+                value = gameState.equals(GameState.WINNER_SECOND) ? -1
+                        : gameState.equals(GameState.DOUBLE_WIN_FIRST) ? 2 : 1;
+        }
+
+        entries[position] = REACHABLE
+                | gameState.ordinal() << SHIFT_GAME_STATE
+                | winLines << SHIFT_WIN_LINES
+                | nextGamer.ordinal() << SHIFT_NEXT_GAMER
+                | (value + 2) << SHIFT_VALUE;
+        return value;
+    }
+}
@@ -0,0 +1,244 @@
+package com.neopoly.tictactoe.gamelogic;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * This class renders the printable representation of a packed playing field - as built by
+ * 'PackedPlayingField' - directly into a caller supplied 'StringBuilder', 'CharBuffer', 'Writer'
+ * or any other 'Appendable'. The representation is copied from a constant template in ten segments
+ * with the nine field characters between them, so rendering allocates no objects. Other
+ * 'Appendable's get the representation character by character, because their methods appending
+ * a segment may copy it into a new 'CharSequence' - like 'Writer' does. The nested 'Cache'
+ * additionally keeps the rendered strings of recently printed playing fields.
+ *
+ * The printable representation looks like this:
+ *
+ *  O | X | O
+ * ---|---|---
+ *    | X |
+ * ---|---|---
+ *  X | O | X
+ */
+public final class PrintablePlayingField {
+
+    /** The template of the printable representation - each '#' is replaced by a field. */
+    private static final char[] TEMPLATE = (" \n # | # | # \n"
+            + "---|---|---\n"
+            + " # | # | # \n"
+            + "---|---|---\n"
+            + " # | # | # \n").toCharArray();
+
+    /** The count of characters of each printable representation. */
+    public static final int LENGTH = TEMPLATE.length;
+
+    /** The positions of the fields [0-8] in the template. */
+    private static final int[] FIELD_POSITIONS =
+            new int[TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT];
+
+    static {
+        for (int field = 0, position = 0; field < FIELD_POSITIONS.length; position++) {
+            if (TEMPLATE[position] == '#') {
+                FIELD_POSITIONS[field++] = position;
+            }
+        }
+    }
+
+    private PrintablePlayingField() {}
+
+    /**
+     * This method appends the printable representation of the packed playing field.
+     *
+     * @param packedPlayingField a valid packed playing field.
+     * @param firstGamer the single character representing the first gamer.
+     * @param secondGamer the single character representing the second gamer.
+     * @param out the builder to append to.
+     * @return the given builder.
+     */
+    public static StringBuilder append(int packedPlayingField, char firstGamer, char secondGamer,
+                                       StringBuilder out) {
+
+        out.ensureCapacity(out.length() + LENGTH);
+        int segmentStart = 0;
+        for (int field = 0; field < FIELD_POSITIONS.length; field++) {
+            out.append(TEMPLATE, segmentStart, FIELD_POSITIONS[field] - segmentStart)
+                    .append(getFieldChar(packedPlayingField, field, firstGamer, secondGamer));
+            segmentStart = FIELD_POSITIONS[field] + 1;
+        }
+        return out.append(TEMPLATE, segmentStart, LENGTH - segmentStart);
+    }
+
+    /**
+     * This method puts the printable representation of the packed playing field at the current
+     * position of the buffer.
+     *
+     * @param packedPlayingField a valid packed playing field.
+     * @param firstGamer the single character representing the first gamer.
+     * @param secondGamer the single character representing the second gamer.
+     * @param out the buffer with at least 'LENGTH' remaining characters.
+     * @return the given buffer.
+     */
+    public static CharBuffer append(int packedPlayingField, char firstGamer, char secondGamer,
+                                    CharBuffer out) {
+
+        int segmentStart = 0;
+        for (int field = 0; field < FIELD_POSITIONS.length; field++) {
+            out.put(TEMPLATE, segmentStart, FIELD_POSITIONS[field] - segmentStart)
+                    .put(getFieldChar(packedPlayingField, field, firstGamer, secondGamer));
+            segmentStart = FIELD_POSITIONS[field] + 1;
+        }
+        return out.put(TEMPLATE, segmentStart, LENGTH - segmentStart);
+    }
+
+    /**
+     * This method writes the printable representation of the packed playing field - for example
+     * into the 'Writer' of a log.
+     *
+     * @param packedPlayingField a valid packed playing field.
+     * @param firstGamer the single character representing the first gamer.
+     * @param secondGamer the single character representing the second gamer.
+     * @param out the 'Writer' to write to.
+     * @return the given 'Writer'.
+     * @throws IOException if the 'Writer' fails.
+     */
+    public static Writer append(int packedPlayingField, char firstGamer, char secondGamer,
+                                Writer out) throws IOException {
+
+        int segmentStart = 0;
+        for (int field = 0; field < FIELD_POSITIONS.length; field++) {
+            out.write(TEMPLATE, segmentStart, FIELD_POSITIONS[field] - segmentStart);
+            out.write(getFieldChar(packedPlayingField, field, firstGamer, secondGamer));
+            segmentStart = FIELD_POSITIONS[field] + 1;
+        }
+        out.write(TEMPLATE, segmentStart, LENGTH - segmentStart);
+        return out;
+    }
+
+    /**
+     * This method appends the printable representation of the packed playing field to any
+     * 'Appendable' - 'StringBuilder's, 'CharBuffer's and 'Writer's are passed to the methods
+     * above, all others get the representation character by character.
+     *
+     * @param packedPlayingField a valid packed playing field.
+     * @param firstGamer the single character representing the first gamer.
+     * @param secondGamer the single character representing the second gamer.
+     * @param out the 'Appendable' to append to.
+     * @return the given 'Appendable'.
+     * @throws IOException if the 'Appendable' fails.
+     */
+    public static Appendable append(int packedPlayingField, char firstGamer, char secondGamer,
+                                    Appendable out) throws IOException {
+
+        if (out instanceof StringBuilder) {
+            return append(packedPlayingField, firstGamer, secondGamer, (StringBuilder) out);
+        } else if (out instanceof CharBuffer) {
+            return append(packedPlayingField, firstGamer, secondGamer, (CharBuffer) out);
+        } else if (out instanceof Writer) {
+            return append(packedPlayingField, firstGamer, secondGamer, (Writer) out);
+        }
+
+        for (int field = 0, position = 0; position < LENGTH; position++) {
+            if (field < FIELD_POSITIONS.length && position == FIELD_POSITIONS[field]) {
+                out.append(getFieldChar(packedPlayingField, field++, firstGamer, secondGamer));
+            } else {
+                out.append(TEMPLATE[position]);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * @param packedPlayingField a valid packed playing field.
+     * @param firstGamer the single character representing the first gamer.
+     * @param secondGamer the single character representing the second gamer.
+     * @return a new string holding the printable representation of the packed playing field.
+     */
+    public static String toString(int packedPlayingField, char firstGamer, char secondGamer) {
+
+        char[] printable = TEMPLATE.clone();
+        for (int field = 0; field < FIELD_POSITIONS.length; field++) {
+            printable[FIELD_POSITIONS[field]] =
+                    getFieldChar(packedPlayingField, field, firstGamer, secondGamer);
+        }
+        return new String(printable);
+    }
+
+    /**
+     * This helper method translates the 'FieldFlag' of a field into its printable character.
+     */
+    private static char getFieldChar(int packedPlayingField, int field, char firstGamer,
+                                     char secondGamer) {
+
+        switch (PackedPlayingField.getFieldFlag(packedPlayingField, field)) {
+            case FIRST_GAMERS_FLAG:
+                return firstGamer;
+            case SECOND_GAMERS_FLAG:
+                return secondGamer;
+            default:
+                return TicTacToeGameLogicInterface.CHAR_EMPTY_FIELD;
+        }
+    }
+
+    /**
+     * This cache keeps the rendered strings of recently printed playing fields, so printing a
+     * playing field again returns the same string without rendering it. Each entry is selected
+     * directly by the hash of its key - the packed fields and both gamer characters - and a new
+     * entry replaces the entry with the same hash. The cache may be shared by several threads:
+     * entries are immutable, so a thread either sees a complete entry or renders the string again.
+     */
+    public static class Cache {
+
+        /** The entries selected by the hash of their keys. */
+        private final Entry[] mEntries;
+        /** The mask of the bits of a hash selecting the entry. */
+        private final int mIndexMask;
+
+        /**
+         * @param capacity the count of entries - rounded up to a power of two.
+         */
+        public Cache(int capacity) {
+
+            int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+            mEntries = new Entry[size];
+            mIndexMask = size - 1;
+        }
+
+        /**
+         * This method returns the cached printable representation of the packed playing field or
+         * renders and caches it. The gamer on turn of the packed playing field is ignored.
+         *
+         * @param packedPlayingField a valid packed playing field.
+         * @param firstGamer the single character representing the first gamer.
+         * @param secondGamer the single character representing the second gamer.
+         * @return the printable representation of the packed playing field.
+         */
+        public String get(int packedPlayingField, char firstGamer, char secondGamer) {
+
+            int fields = PackedPlayingField.setNextGamer(packedPlayingField, FieldFlag.EMPTY_FIELD);
+            long key = (long) fields << 32 | (long) firstGamer << 16 | secondGamer;
+            int hash = (int) (key ^ key >>> 29) * 0x9E3779B9;
+            int index = (hash ^ hash >>> 16) & mIndexMask;
+
+            Entry entry = mEntries[index];
+            if (entry == null || entry.mKey != key) {
+                entry = new Entry(key, PrintablePlayingField.toString(
+                        packedPlayingField, firstGamer, secondGamer));
+                mEntries[index] = entry;
+            }
+            return entry.mPrintable;
+        }
+
+        /** An immutable cache entry. */
+        private static class Entry {
+
+            private final long mKey;
+            private final String mPrintable;
+
+            Entry(long key, String printable) {
+                mKey = key;
+                mPrintable = printable;
+            }
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package com.neopoly.tictactoe.gamelogic;
+
+/**
+ * This game logic class manages a TicTacToe-game by dividing the underlying 3x3-matrix into a set
+ * of eight 'win lines' in which a gamer could reach the goal of flagging a whole line. Each line
+ * additionally holds the sum of all its three fields and the count of filled fields for a faster
+ * detection of completed 'win lines' and no more 'winable lines' - neither first nor second gamer
+ * can win such a line because both have already flagged fields in it.
+ */
+public class TicTacToeGameLogic extends AbstractTicTacToeGameLogic {
+
+    /** The algebraic sign to declare the first gamer as field owner or game winner. */
+    private static final int FIRST_GAMER = -1;
+    /** The algebraic sign to declare the second gamer as field owner or game winner. */
+    private static final int SECOND_GAMER = 1;
+    /** The field value to describe an empty field. */
+    private static final int EMPTY_FIELD = 0;
+
+    /** The index of the internal integer array holding a line's sum of all its three fields. */
+    private static final int INDEX_SUM_OF_FIELD_VALUES = 3;
+    /** The index of the internal integer array holding a line's count of already filled fields. */
+    private static final int INDEX_COUNT_FILLED_FIELDS = 4;
+
+    /** All 'GameLine's in the order of their ordinals - cached to avoid the 'values()'-copy. */
+    private static final GameLine[] GAME_LINES = GameLine.values();
+
+    /**
+     * This two-dimensional integer array keeps one simple integer array entry per game line:
+     * int[lineIndex] = {firstFieldValue,       // 0
+     *                   secondFieldValue,      // 1
+     *                   thirdFieldValue,       // 2
+     *                   sumOfFlagValues,       // 3 [INDEX_SUM_OF_FIELD_VALUES]
+     *                   countOfFilledFields}   // 4 [INDEX_COUNT_FILLED_FIELDS]
+     * These eight integer arrays describe the whole state of the playing field. Each of them holds
+     * the values of three related fields of a possible 'win line' - redundant with crossing 'win
+     * lines' for a more simple analysis of the current game situation (open game, game winner and
+     * impossible to win detection). To save calculation processes it additionally holds two integer
+     * values as metadata - the first [at INDEX_SUM_OF_FIELD_VALUES] stores the sum of all three
+     * field values and the second [at INDEX_COUNT_FILLED_FIELDS] counts the number of selected
+     * fields of this line.
+     */
+    private final int[][] mGameLines = new int[GameLine.GAME_LINES_COUNT][];
+    /**
+     * This helper array is initialized with 'false' for all eight lines at each start of a new game
+     * and it marks the 'win lines' - one or two in number - reached in the last turn by the winner.
+     */
+    private final boolean[] mWinLines = new boolean[GameLine.GAME_LINES_COUNT];
+    /**
+     * This helper array marks the lines which contain no mixed flags of both gamers and so could
+     * be won of at least one of them. It is initialized with 'true' for all eight lines at start.
+     */
+    private final boolean[] mWinableLines = new boolean[GameLine.GAME_LINES_COUNT];
+    /** The count of indices marked with 'true' in the helper array 'mWinableLines'. */
+    private int mWinableLinesCount;
+    /** State of the current game round as returned by the last 'setFlagToField(field)'-call. */
+    private GameState mGameState;
+    /**
+     * Switching between the constant of the first [FIRST_GAMER] and second gamer [SECOND_GAMER],
+     * initialized with 'FIRST_GAMER', switching with a valid turn (to 'SECOND_GAMER' or back)
+     * and in this way the variable always describes the gamer having the next field selection.
+     */
+    private int mNextGamer;
+
+    /** A representation of the whole current playing field state using 'FieldFlag's. */
+    private final FieldFlag[] mPlayingField = new FieldFlag[TOTAL_FIELD_COUNT];
+    /** The mask of all flagged fields - bit 'n' is set if field 'n' is owned by any gamer. */
+    private int mFlaggedFields;
+    /** The mask of the fields flagged by the first gamer - a subset of 'mFlaggedFields'. */
+    private int mFirstGamersFields;
+
+    /** The fields flagged in this game in the order of their selection to undo them. */
+    private final int[] mMoveHistory = new int[TOTAL_FIELD_COUNT];
+    /** The count of valid entries in the 'mMoveHistory'-array. */
+    private int mMoveCount;
+
+    public TicTacToeGameLogic() {
+
+        for (GameLine line : GAME_LINES) {
+            mGameLines[line.ordinal()] = new int[INDEX_COUNT_FILLED_FIELDS + 1];
+        }
+
+        // Start a new game and let initialize the game state
+        // while creating a new object of this TicTacToe-game.
+        startNewGame();
+    }
+
+    @Override
+    public void startNewGame() {
+        resetGame();
+        dispatchPlayingFieldLoaded();
+    }
+
+    /**
+     * This helper method starts a new game without reporting it to the registered listener.
+     */
+    private void resetGame() {
+
+        // Initialize all member variables to start a new game - the arrays are reused, so starting
+        // a new game with the same instance allocates nothing.
+
+        for (GameLine line : GAME_LINES) {
+            int[] gameLine = mGameLines[line.ordinal()];
+            gameLine[0] = EMPTY_FIELD;
+            gameLine[1] = EMPTY_FIELD;
+            gameLine[2] = EMPTY_FIELD;
+            gameLine[INDEX_SUM_OF_FIELD_VALUES] = 0;
+            gameLine[INDEX_COUNT_FILLED_FIELDS] = 0;
+            mWinLines[line.ordinal()] = false;
+            mWinableLines[line.ordinal()] = true;
+        }
+        mWinableLinesCount = GameLine.GAME_LINES_COUNT;
+        mGameState = GameState.OPEN;
+        mNextGamer = FIRST_GAMER;
+
+        for (int field = 0; field < TOTAL_FIELD_COUNT; field++) {
+            mPlayingField[field] = FieldFlag.EMPTY_FIELD;
+        }
+        mFlaggedFields = 0;
+        mFirstGamersFields = 0;
+
+        mMoveCount = 0;
+    }
+
+    /**
+     * This method loads the fields of both gamers directly into the lines: one pass over the nine
+     * fields fills the lines passing each flagged field, one pass over the eight lines derives the
+     * 'winable lines' - no selection is replayed. The move history is filled in alternating order
+     * of the fields, so the loaded selections can be taken back by 'unmakeMove()'.
+     */
+    @Override
+    protected FieldFlag initPlayingFieldState(int firstGamersFields, int secondGamersFields)
+            throws NoInitialStateException {
+
+        resetGame();
+        int countFirstsFlags = Integer.bitCount(firstGamersFields);
+        int countSecondsFlags = Integer.bitCount(secondGamersFields);
+
+        // Check if the number of flagged fields is either equal or the first gamer has one more
+        if (countFirstsFlags != countSecondsFlags
+                && countFirstsFlags != (countSecondsFlags + 1)) {
+            throw new NoInitialStateException();
+        }
+
+        // Set the flags to the fields and to all lines passing them
+        for (int field = 0; field < TOTAL_FIELD_COUNT; field++) {
+            int fieldValue;
+            if ((firstGamersFields & (1 << field)) != 0) {
+                mPlayingField[field] = FieldFlag.FIRST_GAMERS_FLAG;
+                fieldValue = FIRST_GAMER;
+            } else if ((secondGamersFields & (1 << field)) != 0) {
+                mPlayingField[field] = FieldFlag.SECOND_GAMERS_FLAG;
+                fieldValue = SECOND_GAMER;
+            } else {
+                continue;
+            }
+            for (GameLine line : GAME_LINES) {
+                int indexInLine = line.getIndexForField(field);
+                if (indexInLine != -1) {
+                    int[] gameLine = mGameLines[line.ordinal()];
+                    gameLine[indexInLine] = fieldValue;
+                    gameLine[INDEX_SUM_OF_FIELD_VALUES] += fieldValue;
+                    gameLine[INDEX_COUNT_FILLED_FIELDS]++;
+                }
+            }
+        }
+        mFlaggedFields = firstGamersFields | secondGamersFields;
+        mFirstGamersFields = firstGamersFields;
+
+        // A line is 'winable' as long as all its flags belong to the same gamer, but no loaded
+        // line may be owned completely - that game would be already won.
+        boolean gameWon = false;
+        for (GameLine line : GAME_LINES) {
+            int[] gameLine = mGameLines[line.ordinal()];
+            int absoluteSum = Math.abs(gameLine[INDEX_SUM_OF_FIELD_VALUES]);
+            if (absoluteSum == 3) {
+                gameWon = true;
+            } else if (absoluteSum != gameLine[INDEX_COUNT_FILLED_FIELDS]) {
+                mWinableLines[line.ordinal()] = false;
+                mWinableLinesCount--;
+            }
+        }
+        if (gameWon || mWinableLinesCount == 0) {
+            resetGame();
+            throw new NoInitialStateException();
+        }
+
+        // Fill the move history in alternating order
+        while (firstGamersFields != 0) {
+            mMoveHistory[mMoveCount++] = Integer.numberOfTrailingZeros(firstGamersFields);
+            firstGamersFields &= firstGamersFields - 1;
+            if (secondGamersFields != 0) {
+                mMoveHistory[mMoveCount++] = Integer.numberOfTrailingZeros(secondGamersFields);
+                secondGamersFields &= secondGamersFields - 1;
+            }
+        }
+
+        if (countFirstsFlags > countSecondsFlags) {
+            mNextGamer = SECOND_GAMER;
+            return FieldFlag.SECOND_GAMERS_FLAG;
+        }
+        return FieldFlag.FIRST_GAMERS_FLAG;
+    }
+
+    @Override
+    public GameState setFlagToField(int field) {
+
+        if (getGameLogicListener() == null) {
+            makeMove(field);
+            return mGameState;
+        }
+
+        // Compare the lines and the state before and after the selection for the listener
+        GameState previousGameState = mGameState;
+        int unwinableLines = getUnwinableLines();
+        if (makeMove(field)) {
+            dispatchMove(field, getUnwinableLines() & ~unwinableLines, previousGameState,
+                    mGameState);
+        }
+        return mGameState;
+    }
+
+    /**
+     * This helper method collects the lines containing flags of both gamers as mask - these are
+     * the lines marked with 'false' in 'mWinableLines' without the 'win lines'.
+     */
+    private int getUnwinableLines() {
+
+        int unwinableLines = 0;
+        for (int line = 0; line < GameLine.GAME_LINES_COUNT; line++) {
+            if (!mWinableLines[line] && !mWinLines[line]) {
+                unwinableLines |= 1 << line;
+            }
+        }
+        return unwinableLines;
+    }
+
+    /**
+     * This method sets the flag of the gamer on turn to the given field exactly like the method
+     * 'setFlagToField(field)' and additionally reports whether the selection has been valid, so
+     * that search algorithms know if they have to take it back by 'unmakeMove()' afterwards.
+     *
+     * @param field selected field index from [0-8], line by line from left to right and up to down.
+     * @return 'true' if the flag has been set or 'false' if the selection has been ignored.
+     */
+    public boolean makeMove(int field) {
+
+        boolean validMove = false;
+
+        // Only set the flag to the field if...
+        if (mGameState.equals(GameState.OPEN)                             // ...the game is open
+                && field >= 0 && field < TOTAL_FIELD_COUNT                // ...the index is valid
+                && mPlayingField[field].equals(FieldFlag.EMPTY_FIELD)) {  // ...and field is empty.
+
+            validMove = true;
+            mFlaggedFields |= 1 << field;
+            mMoveHistory[mMoveCount] = field;
+            mMoveCount++;
+
+            // Set the flag of the current gamer to the indexed field of whole the playing field.
+            switch (mNextGamer) {
+                case FIRST_GAMER:
+                    mPlayingField[field] = FieldFlag.FIRST_GAMERS_FLAG;
+                    mFirstGamersFields |= 1 << field;
+                    break;
+                case SECOND_GAMER:
+                    mPlayingField[field] = FieldFlag.SECOND_GAMERS_FLAG;
+            }
+
+            // Find all influenced game lines and let set the flag to their related index.
+            int indexInLine;
+            for (GameLine line : GAME_LINES) {
+                indexInLine = line.getIndexForField(field);
+                if (indexInLine != -1) {
+                    setFlagToFieldInLine(line.ordinal(), indexInLine);
+                }
+            }
+
+            if (mGameState.equals(GameState.OPEN)) {
+                // The variable 'mNextGamer' is only shifted if there is a next game round.
+                mNextGamer = -(mNextGamer);
+            } // Otherwise 'mNextGamer' holds the winner or last manipulator of ended games.
+        }
+
+        return validMove;
+    }
+
+    /**
+     * This method takes the last valid selection of the current game back and restores the line
+     * sums, the filled fields counts, the 'winable lines' and the game state exactly as they have
+     * been before this selection - without replaying the game and without allocating any objects.
+     *
+     * @return the index of the cleared field or '-1' if there is no selection to take back.
+     */
+    public int unmakeMove() {
+
+        if (mMoveCount == 0) {
+            return -1;
+        }
+        mMoveCount--;
+        int field = mMoveHistory[mMoveCount];
+
+        // The owner of the field has been on turn before the selection - also in ended games.
+        mNextGamer = mPlayingField[field].equals(FieldFlag.FIRST_GAMERS_FLAG)
+                ? FIRST_GAMER : SECOND_GAMER;
+        mPlayingField[field] = FieldFlag.EMPTY_FIELD;
+        mFlaggedFields &= ~(1 << field);
+        mFirstGamersFields &= ~(1 << field);
+
+        // Remove the flag from all influenced game lines.
+        int indexInLine;
+        for (GameLine line : GAME_LINES) {
+            indexInLine = line.getIndexForField(field);
+            if (indexInLine != -1) {
+                int[] gameLine = mGameLines[line.ordinal()];
+                gameLine[indexInLine] = EMPTY_FIELD;
+                gameLine[INDEX_SUM_OF_FIELD_VALUES] -= mNextGamer;
+                gameLine[INDEX_COUNT_FILLED_FIELDS]--;
+
+                // Each 'win line' contains the last selected field.
+                mWinLines[line.ordinal()] = false;
+
+                // A line is 'winable' again if all remaining flags belong to the same gamer.
+                if (!mWinableLines[line.ordinal()]
+                        && Math.abs(gameLine[INDEX_SUM_OF_FIELD_VALUES])
+                            == gameLine[INDEX_COUNT_FILLED_FIELDS]) {
+                    mWinableLines[line.ordinal()] = true;
+                    mWinableLinesCount++;
+                }
+            }
+        }
+
+        // Selections are only valid in open games.
+        mGameState = GameState.OPEN;
+
+        return field;
+    }
+
+    /**
+     * Getter for all fields the gamer on turn could select without allocating any objects.
+     *
+     * @return a mask with the bit 'n' set for each empty field 'n' or '0' if the game is not open.
+     */
+    public int getLegalMoves() {
+        return mGameState.equals(GameState.OPEN)
+                ? ~mFlaggedFields & ((1 << TOTAL_FIELD_COUNT) - 1) : 0;
+    }
+
+    /**
+     * Getter for the state of the current game as returned by the last valid selection.
+     *
+     * @return the 'GameState' of the current game.
+     */
+    public GameState getGameState() {
+        return mGameState;
+    }
+
+    /**
+     * This helper method sets the flag of the current gamer to the received line at the declared
+     * index and updates the included metadata ('sum of field values' and 'filled fields count')
+     * as well as the 'win' possibilities associated with this current line.
+     *
+     * @param line the index of the influenced game line.
+     * @param fieldIndexInLine the index of the selected field in the game line.
+     */
+    private void setFlagToFieldInLine(int line, int fieldIndexInLine) {
+
+        // Pick the required line up
+        int[] gameLine = mGameLines[line];
+
+        // Flag the field in line and
+        // Update the 'sum of field values'
+        // as well as the 'filled fields count'
+        gameLine[fieldIndexInLine] = mNextGamer;
+        gameLine[INDEX_SUM_OF_FIELD_VALUES] += mNextGamer;
+        gameLine[INDEX_COUNT_FILLED_FIELDS]++;
+
+        // If the current line has been a possible 'win line' until now, this status must be updated:
+        if (mWinableLines[line]) {                                          //-----||-----|-----|-----||
+            if (gameLine[INDEX_SUM_OF_FIELD_VALUES] == (mNextGamer * 3)) {  //-----||  FILLED FIELDS  ||
+                mWinLines[line] = true;                                     //-----||-----|-----|-----||
+                if (mNextGamer == FIRST_GAMER) {                            // SUM ||  1  |  2  |  3  ||
+                    if (mGameState.equals(GameState.WINNER_FIRST)) {        //-----||-----|-----|-----||
+                        mGameState = GameState.DOUBLE_WIN_FIRST;            //  -3  |  X  |  X  | WIN ||
+                    } else {                                                //-----||-----|-----|-----||
+                        mGameState = GameState.WINNER_FIRST;                //  -2  |  X  | NOT |  X  ||
+                    }                                                       //-----||-----|-----|-----||
+                } else {                                                    //  -1  | NOT |  X  | MIX ||
+                    mGameState = GameState.WINNER_SECOND;                   //-----||-----|-----|-----||
+                }                                                           //   0  |  X  | MIX |  X  ||---------------------------------
+            } else if (gameLine[INDEX_COUNT_FILLED_FIELDS] == 3) {          //-----||-----|-----|-----||  legend:                       |
+                mWinableLines[line] = false;                                //  +1  | NOT |  X  | MIX ||---------------------------------
+                mWinableLinesCount--;                                       //-----||-----|-----|-----||   X  :: impossible combination |
+            } else if (gameLine[INDEX_COUNT_FILLED_FIELDS] == 2             //  +2  |  X  | NOT |  X  ||  MIX ::  mixed flags in line   |
+                    && gameLine[INDEX_SUM_OF_FIELD_VALUES] == 0) {          //-----||-----|-----|-----||  NOT ::  gamer could win line  |
+                mWinableLines[line] = false;                                //  +3  |  X  |  X  | WIN ||  WIN ::  gamer wins this line  |
+                mWinableLinesCount--;                                       //-----||-----|-----|-----||---------------------------------
+            }
+        }
+
+        if (mGameState.equals(GameState.OPEN) && mWinableLinesCount == 0) {
+            mGameState = GameState.GAME_OVER;
+        }
+    }
+
+    @Override
+    public GameLine[] getWinLines() {
+
+        GameLine[] winLines = null;
+        int numberOfWins = 0;
+
+        // Only if there is still a winner of the current game...
+        switch (mGameState) {
+            case DOUBLE_WIN_FIRST:                  // There are two 'GameLine's as 'win lines'
+                numberOfWins++;
+            case WINNER_FIRST: case WINNER_SECOND:  // There is one 'GameLine' as 'win line'
+                numberOfWins++;
+
+                winLines = new GameLine[numberOfWins];
+                int indexInResultArray = 0;
+                // ...collect the 'GameLine's which are 'win lines'.
+                for (GameLine line : GAME_LINES) {
+                    if (mWinLines[line.ordinal()]) {
+                        winLines[indexInResultArray] = line;
+                        indexInResultArray++;
+                    }
+                }
+        }
+
+        return winLines;
+    }
+
+    @Override
+    public int getWinLinesMask() {
+
+        int winLines = 0;
+        if (!mGameState.equals(GameState.OPEN)) {
+            for (int line = 0; line < GameLine.GAME_LINES_COUNT; line++) {
+                if (mWinLines[line]) {
+                    winLines |= 1 << line;
+                }
+            }
+        }
+        return winLines;
+    }
+
+    @Override
+    public FieldFlag[] getPlayingFieldState() {
+        return mPlayingField.clone();
+    }
+
+    @Override
+    public FieldFlag getFieldFlag(int field) {
+        return mPlayingField[field];
+    }
+
+    @Override
+    public int getFirstGamersFields() {
+        return mFirstGamersFields;
+    }
+
+    @Override
+    public int getSecondGamersFields() {
+        return mFlaggedFields & ~mFirstGamersFields;
+    }
+
+    @Override
+    public int getPackedPlayingFieldState() {
+
+        FieldFlag nextGamer = FieldFlag.EMPTY_FIELD;
+        if (mGameState.equals(GameState.OPEN)) {
+            nextGamer = mNextGamer == FIRST_GAMER
+                    ? FieldFlag.FIRST_GAMERS_FLAG : FieldFlag.SECOND_GAMERS_FLAG;
+        }
+        return PackedPlayingField.pack(mPlayingField, nextGamer);
+    }
+}
@@ -0,0 +1,231 @@
+package com.neopoly.tictactoe.gamelogic;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * This interface specifies all methods which each game logic class should provide to manage a
+ * TicTacToe-game and support communication with client classes. In a typical TicTacToe-game two
+ * gamers select in alternating sequence one empty field in a 3x3-matrix and flag it as their own.
+ * The goal is to fill a whole line - means all three fields of a row, column or diagonal - with
+ * the own flags before the opponent reaches this goal. In some rare cases the first gamer can
+ * reach this goal for two different lines with his last selection - a 'double win'. As soon as
+ * no one of the two gamers can win the current game anymore, the 'GameState.GAME_OVER' return
+ * value should report this dead-end state to the client classes, so they can start a new game.
+ */
+public interface TicTacToeGameLogicInterface extends GameEngine {
+
+    /** The count of all fields forming the 3x3-matrix of a TicTacToe playing field is '9'. */
+    int TOTAL_FIELD_COUNT = 9;
+
+    /** Constant for the character 'X' to customize the printable state of a game. */
+    char CHAR_GAMER_X = 'X';
+    /** Constant for the character 'O' to customize the printable state of a game. */
+    char CHAR_GAMER_O = 'O';
+    /** Constant describing the used character for empty fields in printable game states. */
+    char CHAR_EMPTY_FIELD = ' ';
+
+    /** This method clears all fields, initialize the game state and so starts a new game. */
+    void startNewGame();
+
+    /**
+     * This method loads the already flagged fields as specified in the given game state into the
+     * game logic. The state must be valid - means that the first gamer has the same number of
+     * selected fields as the second gamer or one more and there must be open lines in which one or
+     * both of the gamers can win the still open game.
+     *
+     * @param playingFieldState an array of nine 'FieldFlags' representing a valid and open game.
+     * @return  the 'FieldFlag' of the gamer having the next field selection.
+     * @throws NoInitialStateException if the playing field state is not valid or game is not open.
+     */
+    FieldFlag initPlayingFieldState(FieldFlag[] playingFieldState) throws NoInitialStateException;
+
+    /**
+     * This method loads the already flagged fields of the given packed playing field state - as
+     * built by 'PackedPlayingField' - into the game logic without unpacking them into an array.
+     * Beside the rules of 'initPlayingFieldState(playingFieldState)' the packed gamer on turn must
+     * match the loaded game.
+     *
+     * @param packedPlayingField a packed playing field state representing a valid and open game.
+     * @return  the 'FieldFlag' of the gamer having the next field selection.
+     * @throws NoInitialStateException if the playing field state is not valid or game is not open.
+     */
+    FieldFlag initPlayingFieldState(int packedPlayingField) throws NoInitialStateException;
+
+    /**
+     * This method is the central way for the two gamers to select empty fields in an alternating
+     * sequence of selections until the returned value notifies that the game is over because the
+     * last gamer win the game or there are no more open lines to win the game.
+     *
+     * @param field selected field index from [0-8], line by line from left to right and up to down.
+     * @return returns a 'GameState' declaring the current state of this game
+     */
+    GameState setFlagToField(int field);
+
+    /**
+     * Getter for the 'win lines' (null or length: 1 or 2) which point to 'GameLine'(s). A call of
+     * this method is only wise, if there is already a winner reached the goal of collect win lines.
+     *
+     * @return 1 or 2 'GameLine's representing the 'win lines' or null if there is no winner yet.
+     */
+    GameLine[] getWinLines();
+
+    /**
+     * Getter-method to extract the current state out of this game - represented by an array of
+     * 'FieldFlag's containing nine values. The inner order begins in the upper left corner of
+     * the underlying 3x3-matrix and continues line by line from left to right and up to down.
+     *
+     * @return array of nine 'FieldFlag's ordered line by line from the left upper corner to the
+     * right bottom corner of the underlying 3x3-matrix representing the whole playing field.
+     */
+    FieldFlag[] getPlayingFieldState();
+
+    /**
+     * Getter for the 'FieldFlag' of a single field without copying the playing field state, so it
+     * can be called in tight loops of renderers and evaluators.
+     *
+     * @param field the field index from [0-8], line by line from left to right and up to down.
+     * @return the 'FieldFlag' of the field.
+     */
+    FieldFlag getFieldFlag(int field);
+
+    /**
+     * Getter for the occupancy mask of the first gamer without allocating any objects.
+     *
+     * @return the mask with the bit 'n' set for each field 'n' flagged by the first gamer.
+     */
+    int getFirstGamersFields();
+
+    /**
+     * Getter for the occupancy mask of the second gamer without allocating any objects.
+     *
+     * @return the mask with the bit 'n' set for each field 'n' flagged by the second gamer.
+     */
+    int getSecondGamersFields();
+
+    /**
+     * Getter for the 'win lines' as returned by 'getWinLines()', but as mask without allocating
+     * any objects.
+     *
+     * @return the mask with the bit 'n' set for the 'GameLine' with the ordinal 'n' if it is a
+     * 'win line' or '0' if there is no winner yet.
+     */
+    int getWinLinesMask();
+
+    /**
+     * This getter-method constructs a printable representation of the current playing field state
+     * which contains 'X's to flag the fields owned by the first gamer and 'O's to flag the fields
+     * owned by the second gamer.
+     *
+     * @return the printable string representation of the current playing field state.
+     */
+    String getPrintablePlayingFieldState();
+
+    /**
+     * This getter-method constructs a printable representation of the current playing field state
+     * which contains the given characters to flag the fields owned by the first and second gamer.
+     *
+     * @param firstGamer the single character representing the first gamer in the returned string.
+     * @param secondGamer the single character representing the second gamer in the returned string.
+     * @return the customized printable string representation of the current playing field state.
+     */
+    String getPrintablePlayingFieldState(char firstGamer, char secondGamer);
+
+    /**
+     * Getter for the current playing field state packed into one integer value as built by
+     * 'PackedPlayingField' - without allocating any objects.
+     *
+     * @return the packed playing field state with the gamer on turn or 'FieldFlag.EMPTY_FIELD'
+     * as gamer on turn if the game is over.
+     */
+    int getPackedPlayingFieldState();
+
+    /**
+     * This method appends the printable representation of the current playing field state - as
+     * returned by 'getPrintablePlayingFieldState(firstGamer, secondGamer)' - to the given builder
+     * without allocating any objects.
+     *
+     * @param out the builder to append to.
+     * @param firstGamer the single character representing the first gamer.
+     * @param secondGamer the single character representing the second gamer.
+     */
+    void appendPrintablePlayingFieldState(StringBuilder out, char firstGamer, char secondGamer);
+
+    /**
+     * This method puts the printable representation of the current playing field state at the
+     * current position of the given buffer without allocating any objects.
+     *
+     * @param out the buffer with at least 'PrintablePlayingField.LENGTH' remaining characters.
+     * @param firstGamer the single character representing the first gamer.
+     * @param secondGamer the single character representing the second gamer.
+     */
+    void appendPrintablePlayingFieldState(CharBuffer out, char firstGamer, char secondGamer);
+
+    /**
+     * This method appends the printable representation of the current playing field state to
+     * any 'Appendable' - for example a 'Writer' of a log.
+     *
+     * @param out the 'Appendable' to append to.
+     * @param firstGamer the single character representing the first gamer.
+     * @param secondGamer the single character representing the second gamer.
+     * @throws IOException if the 'Appendable' fails.
+     */
+    void appendPrintablePlayingFieldState(Appendable out, char firstGamer, char secondGamer)
+            throws IOException;
+
+    /**
+     * This method registers the listener which receives each change of the game as a delta right
+     * after it happened - instead of polling and comparing the whole playing field after each
+     * selection. Without a registered listener no delta is computed at all.
+     *
+     * @param listener the listener receiving the changes or null to remove the listener.
+     */
+    void setGameLogicListener(GameLogicListener listener);
+
+    /**
+     * This listener receives the changes of a game on the thread changing the game. A valid
+     * selection is reported by 'onFieldFlagged(field, flag)', followed by the other deltas of the
+     * selection if there are any, in the order of the methods below. The values of all deltas are
+     * plain integers and enum constants, so no objects are allocated for them.
+     */
+    interface GameLogicListener {
+
+        /**
+         * A new game has been started or a playing field state has been loaded - the whole
+         * playing field may have changed.
+         *
+         * @param packedPlayingField the new playing field state as built by 'PackedPlayingField'.
+         */
+        void onPlayingFieldLoaded(int packedPlayingField);
+
+        /**
+         * @param field the flagged field index from [0-8].
+         * @param flag the 'FieldFlag' of the gamer who flagged the field.
+         */
+        void onFieldFlagged(int field, FieldFlag flag);
+
+        /**
+         * @param lines the mask with the bit 'n' set for each 'GameLine' with the ordinal 'n'
+         *              which contains flags of both gamers since the last selection.
+         */
+        void onLinesUnwinable(int lines);
+
+        /**
+         * @param winLines the mask with the bit 'n' set for each 'GameLine' with the ordinal 'n'
+         *                 which has been completed by the last selection.
+         */
+        void onWinLinesReached(int winLines);
+
+        /**
+         * @param previousGameState the 'GameState' before the last selection.
+         * @param gameState the 'GameState' after the last selection.
+         */
+        void onGameStateChanged(GameState previousGameState, GameState gameState);
+    }
+
+    /**
+     * This exception should be thrown if a client class try to init a game from an invalid playing
+     * field state which does't describes a possible, still open and thereby continuable state.
+     */
+    class NoInitialStateException extends Exception {}
+}
@@ -0,0 +1,117 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.BitboardTicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the BitboardTicTacToeGameLogic against the TicTacToeGameLogic as reference implementation.
+ */
+public class BitboardGameLogicUnitTest {
+
+    /**An abbreviated notation for 'FieldFlag.FIRST_GAMERS_FLAG'. */
+    private static final FieldFlag X = FieldFlag.FIRST_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.SECOND_GAMERS_FLAG'. */
+    private static final FieldFlag O = FieldFlag.SECOND_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.EMPTY_FIELD'. */
+    private static final FieldFlag E = FieldFlag.EMPTY_FIELD;
+
+    @Test
+    /**
+     * Test all possible game sequences - including invalid selections of already flagged fields
+     * and selections after the end of a game - and compare each returned 'GameState', playing
+     * field state and the 'win lines' of both game logic implementations.
+     */
+    public void setFlagToField_allSequences_equalToReference() throws Exception {
+
+        int[] sequence = new int[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+        assertEquals(255168, compareSequences(sequence, 0));    // count of all finished games
+    }
+
+    /**
+     * This helper method replays the given sequence on both game logics, compares them after each
+     * selection and recursively continues with all possible next selections of still open games.
+     *
+     * @return the count of compared sequences which have been continued from this one.
+     */
+    private int compareSequences(int[] sequence, int length) {
+
+        TicTacToeGameLogic reference = new TicTacToeGameLogic();
+        BitboardTicTacToeGameLogic bitboard = new BitboardTicTacToeGameLogic();
+        GameState state = GameState.OPEN;
+        for (int turn = 0; turn < length; turn++) {
+            state = reference.setFlagToField(sequence[turn]);
+            assertEquals(state, bitboard.setFlagToField(sequence[turn]));
+        }
+        assertArrayEquals(reference.getPlayingFieldState(), bitboard.getPlayingFieldState());
+        assertArrayEquals(reference.getWinLines(), bitboard.getWinLines());
+        assertEquals(reference.getWinLinesMask(), bitboard.getWinLinesMask());
+        assertEquals(reference.getFirstGamersFields(), bitboard.getFirstGamersFields());
+        assertEquals(reference.getSecondGamersFields(), bitboard.getSecondGamersFields());
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            assertEquals(reference.getFieldFlag(field), bitboard.getFieldFlag(field));
+        }
+        assertEquals(reference.getPrintablePlayingFieldState(),
+                bitboard.getPrintablePlayingFieldState());
+
+        // Invalid selections must not change anything
+        assertEquals(reference.setFlagToField(-1), bitboard.setFlagToField(-1));
+        assertEquals(reference.setFlagToField(9), bitboard.setFlagToField(9));
+        if (length > 0) {
+            assertEquals(reference.setFlagToField(sequence[0]),
+                    bitboard.setFlagToField(sequence[0]));
+        }
+        assertArrayEquals(reference.getPlayingFieldState(), bitboard.getPlayingFieldState());
+
+        int count = 0;
+        if (state.equals(GameState.OPEN)) {
+            for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+                boolean free = true;
+                for (int turn = 0; turn < length; turn++) {
+                    free &= sequence[turn] != field;
+                }
+                if (free) {
+                    sequence[length] = field;
+                    count += compareSequences(sequence, length + 1);
+                }
+            }
+        } else {
+            count = 1;
+        }
+        return count;
+    }
+
+    @Test
+    /**
+     * Test to load a playing field state and continue setting the double win field for first gamer:
+     *
+     *    | X | X       X | X | X
+     * ---|---|---     ---|---|---
+     *  X | O | O  -->  X | O | O
+     * ---|---|---     ---|---|---
+     *  X | O | O       X | O | O
+     *
+     * ...where 'X' is the first gamer and 'O' the second.
+     */
+    public void initPlayingFieldState_doubleWin_isCorrect() throws Exception {
+
+        BitboardTicTacToeGameLogic gameLogic = new BitboardTicTacToeGameLogic();
+        FieldFlag[] initialPlayingFieldState = new FieldFlag[] {E, X, X,
+                                                                X, O, O,
+                                                                X, O, O};
+        assertEquals(FieldFlag.FIRST_GAMERS_FLAG,
+                gameLogic.initPlayingFieldState(initialPlayingFieldState));
+        assertEquals(GameState.DOUBLE_WIN_FIRST, gameLogic.setFlagToField(0));
+        assertEquals(2, gameLogic.getWinLines().length);
+
+        gameLogic.startNewGame();
+        assertArrayEquals(new FieldFlag[] {E, E, E, E, E, E, E, E, E},
+                gameLogic.getPlayingFieldState());
+        assertNull(gameLogic.getWinLines());
+    }
+}
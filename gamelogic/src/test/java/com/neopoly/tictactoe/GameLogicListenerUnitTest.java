@@ -0,0 +1,221 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.BitboardTicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.GameLine;
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.PackedPlayingField;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the deltas reported to the 'GameLogicListener' by rebuilding each game from them.
+ */
+public class GameLogicListenerUnitTest {
+
+    /**An abbreviated notation for 'FieldFlag.FIRST_GAMERS_FLAG'. */
+    private static final FieldFlag X = FieldFlag.FIRST_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.SECOND_GAMERS_FLAG'. */
+    private static final FieldFlag O = FieldFlag.SECOND_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.EMPTY_FIELD'. */
+    private static final FieldFlag E = FieldFlag.EMPTY_FIELD;
+
+    @Test
+    /**
+     * Test all possible game sequences - including invalid selections - on both game logic
+     * implementations: the playing field, the 'unwinable lines', the 'win lines' and the game
+     * state rebuilt from the reported deltas must match the game logic after each selection.
+     */
+    public void setFlagToField_allSequences_deltasRebuildGame() throws Exception {
+
+        TicTacToeGameLogicInterface[] gameLogics = new TicTacToeGameLogicInterface[] {
+                new TicTacToeGameLogic(), new BitboardTicTacToeGameLogic()};
+        for (TicTacToeGameLogicInterface gameLogic : gameLogics) {
+            RebuildingListener listener = new RebuildingListener();
+            gameLogic.setGameLogicListener(listener);
+            int[] sequence = new int[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+            assertEquals(255168, compareSequences(gameLogic, listener, sequence, 0));
+        }
+    }
+
+    /**
+     * This helper method replays the sequence on a new game, compares the rebuilt game after each
+     * selection and recursively continues with all possible next selections of still open games.
+     *
+     * @return the count of finished games which have been reached from this sequence.
+     */
+    private int compareSequences(TicTacToeGameLogicInterface gameLogic,
+                                 RebuildingListener listener, int[] sequence, int length) {
+
+        gameLogic.startNewGame();
+        assertEquals(PackedPlayingField.EMPTY, listener.mPackedPlayingField);
+        GameState gameState = GameState.OPEN;
+        for (int turn = 0; turn < length; turn++) {
+            gameState = gameLogic.setFlagToField(sequence[turn]);
+            listener.assertRebuilt(gameLogic, gameState);
+        }
+
+        // Invalid selections are not reported
+        int eventCount = listener.mEventCount;
+        gameLogic.setFlagToField(-1);
+        if (length > 0) {
+            gameLogic.setFlagToField(sequence[0]);
+        }
+        assertEquals(eventCount, listener.mEventCount);
+
+        if (!gameState.equals(GameState.OPEN)) {
+            return 1;
+        }
+        int count = 0;
+        int legalMoves = ~(gameLogic.getFirstGamersFields() | gameLogic.getSecondGamersFields());
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            if ((legalMoves & (1 << field)) != 0) {
+                sequence[length] = field;
+                count += compareSequences(gameLogic, listener, sequence, length + 1);
+            }
+        }
+        return count;
+    }
+
+    @Test
+    /**
+     * Test that loading a playing field state reports the loaded state and that an invalid state
+     * reports the new game started instead:
+     *
+     * valid state:       invalid state:
+     *
+     *  X | O | □          X | X | X
+     * ---|---|---        ---|---|---
+     *  □ | X | □          O | O | □
+     * ---|---|---        ---|---|---
+     *  □ | □ | □          □ | □ | □
+     */
+    public void initPlayingFieldState_validAndInvalid_isReported() throws Exception {
+
+        FieldFlag[] validState = new FieldFlag[] {X, O, E, E, X, E, E, E, E};
+        FieldFlag[] invalidState = new FieldFlag[] {X, X, X, O, O, E, E, E, E};
+        TicTacToeGameLogicInterface[] gameLogics = new TicTacToeGameLogicInterface[] {
+                new TicTacToeGameLogic(), new BitboardTicTacToeGameLogic()};
+
+        for (TicTacToeGameLogicInterface gameLogic : gameLogics) {
+            RebuildingListener listener = new RebuildingListener();
+            gameLogic.setGameLogicListener(listener);
+
+            assertEquals(O, gameLogic.initPlayingFieldState(validState));
+            assertEquals(PackedPlayingField.pack(validState), listener.mPackedPlayingField);
+            assertEquals(1, listener.mEventCount);
+
+            // The next selection continues the loaded game
+            assertEquals(GameState.OPEN, gameLogic.setFlagToField(8));
+            listener.assertRebuilt(gameLogic, GameState.OPEN);
+
+            try {
+                gameLogic.initPlayingFieldState(invalidState);
+                fail();
+            } catch (TicTacToeGameLogicInterface.NoInitialStateException e) {
+                assertEquals(PackedPlayingField.EMPTY, listener.mPackedPlayingField);
+            }
+
+            // A removed listener receives nothing
+            gameLogic.setGameLogicListener(null);
+            int eventCount = listener.mEventCount;
+            gameLogic.setFlagToField(4);
+            gameLogic.startNewGame();
+            assertEquals(eventCount, listener.mEventCount);
+        }
+    }
+
+    /**
+     * This listener rebuilds the game only from the reported deltas.
+     */
+    private static class RebuildingListener
+            implements TicTacToeGameLogicInterface.GameLogicListener {
+
+        private int mPackedPlayingField;
+        private int mUnwinableLines;
+        private int mWinLines;
+        private GameState mGameState;
+        private int mEventCount;
+
+        @Override
+        public void onPlayingFieldLoaded(int packedPlayingField) {
+            mPackedPlayingField = packedPlayingField;
+            mUnwinableLines = getUnwinableLines(packedPlayingField);
+            mWinLines = 0;
+            mGameState = GameState.OPEN;
+            mEventCount++;
+        }
+
+        @Override
+        public void onFieldFlagged(int field, FieldFlag flag) {
+            assertEquals(E, PackedPlayingField.getFieldFlag(mPackedPlayingField, field));
+            assertEquals(PackedPlayingField.getNextGamer(mPackedPlayingField), flag);
+            int firstGamersFields = PackedPlayingField.getFirstGamersFields(mPackedPlayingField);
+            int secondGamersFields = PackedPlayingField.getSecondGamersFields(mPackedPlayingField);
+            if (flag.equals(X)) {
+                firstGamersFields |= 1 << field;
+            } else {
+                secondGamersFields |= 1 << field;
+            }
+            mPackedPlayingField = PackedPlayingField.pack(firstGamersFields, secondGamersFields,
+                    flag.equals(X) ? O : X);
+            mEventCount++;
+        }
+
+        @Override
+        public void onLinesUnwinable(int lines) {
+            assertNotEquals(0, lines);
+            assertEquals(0, mUnwinableLines & lines);
+            mUnwinableLines |= lines;
+            mEventCount++;
+        }
+
+        @Override
+        public void onWinLinesReached(int winLines) {
+            assertEquals(0, mWinLines);
+            mWinLines = winLines;
+            mEventCount++;
+        }
+
+        @Override
+        public void onGameStateChanged(GameState previousGameState, GameState gameState) {
+            assertEquals(mGameState, previousGameState);
+            assertNotEquals(previousGameState, gameState);
+            mGameState = gameState;
+            mEventCount++;
+        }
+
+        /**
+         * This helper method compares the rebuilt game with the game logic.
+         */
+        void assertRebuilt(TicTacToeGameLogicInterface gameLogic, GameState gameState) {
+            assertEquals(gameLogic.getFirstGamersFields(),
+                    PackedPlayingField.getFirstGamersFields(mPackedPlayingField));
+            assertEquals(gameLogic.getSecondGamersFields(),
+                    PackedPlayingField.getSecondGamersFields(mPackedPlayingField));
+            assertEquals(getUnwinableLines(mPackedPlayingField), mUnwinableLines);
+            assertEquals(gameLogic.getWinLinesMask(), mWinLines);
+            assertEquals(gameState, mGameState);
+        }
+
+        /**
+         * This helper method computes the lines containing flags of both gamers.
+         */
+        private static int getUnwinableLines(int packedPlayingField) {
+            int firstGamersFields = PackedPlayingField.getFirstGamersFields(packedPlayingField);
+            int secondGamersFields = PackedPlayingField.getSecondGamersFields(packedPlayingField);
+            int unwinableLines = 0;
+            for (GameLine line : GameLine.values()) {
+                if ((firstGamersFields & line.getLocationMask()) != 0
+                        && (secondGamersFields & line.getLocationMask()) != 0) {
+                    unwinableLines |= 1 << line.ordinal();
+                }
+            }
+            return unwinableLines;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.neopoly.tictactoe;
 
+import com.neopoly.tictactoe.gamelogic.BitboardTicTacToeGameLogic;
 import com.neopoly.tictactoe.gamelogic.FieldFlag;
 import com.neopoly.tictactoe.gamelogic.GameLine;
 import com.neopoly.tictactoe.gamelogic.GameState;
 import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
 
 import org.junit.Test;
 
@@ -282,4 +284,190 @@ public class GameLogicUnitTest {
                                                      E, E, E};                          // □|□|□
         assertArrayEquals(expectedPlayingFieldState, gameLogic.getPlayingFieldState());
     }
-}
\ No newline at end of file
+
+    @Test
+    /**
+     * Test all possible game sequences played on one game logic by 'makeMove(field)' and taken
+     * back by 'unmakeMove()' against freshly replayed games - each position must reach the same
+     * game state, playing field, 'win lines' and legal moves as the replayed reference game.
+     */
+    public void makeMove_and_unmakeMove_isCorrect() throws Exception {
+
+        TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+        assertEquals(-1, gameLogic.unmakeMove());
+        assertEquals(0x1FF, gameLogic.getLegalMoves());
+
+        int[] sequence = new int[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+        assertEquals(255168, compareMoves(gameLogic, sequence, 0));    // count of finished games
+
+        assertArrayEquals(new FieldFlag[] {E, E, E, E, E, E, E, E, E},
+                gameLogic.getPlayingFieldState());
+        assertEquals(-1, gameLogic.unmakeMove());
+    }
+
+    /**
+     * This helper method compares the current position of the given game logic with a replayed
+     * reference game and recursively continues with all legal moves, taking each of them back.
+     *
+     * @return the count of finished games which have been reached from this position.
+     */
+    private int compareMoves(TicTacToeGameLogic gameLogic, int[] sequence, int length) {
+
+        TicTacToeGameLogic reference = new TicTacToeGameLogic();
+        for (int turn = 0; turn < length; turn++) {
+            reference.setFlagToField(sequence[turn]);
+        }
+        assertEquals(reference.getGameState(), gameLogic.getGameState());
+        assertArrayEquals(reference.getPlayingFieldState(), gameLogic.getPlayingFieldState());
+        assertArrayEquals(reference.getWinLines(), gameLogic.getWinLines());
+
+        // The allocation free views must describe the same playing field and 'win lines'
+        FieldFlag[] playingField = reference.getPlayingFieldState();
+        int firstGamersFields = 0;
+        int secondGamersFields = 0;
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            assertEquals(playingField[field], gameLogic.getFieldFlag(field));
+            if (playingField[field].equals(X)) {
+                firstGamersFields |= 1 << field;
+            } else if (playingField[field].equals(O)) {
+                secondGamersFields |= 1 << field;
+            }
+        }
+        assertEquals(firstGamersFields, gameLogic.getFirstGamersFields());
+        assertEquals(secondGamersFields, gameLogic.getSecondGamersFields());
+        int winLines = 0;
+        if (reference.getWinLines() != null) {
+            for (GameLine line : reference.getWinLines()) {
+                winLines |= 1 << line.ordinal();
+            }
+        }
+        assertEquals(winLines, gameLogic.getWinLinesMask());
+
+        if (!gameLogic.getGameState().equals(GameState.OPEN)) {
+            assertEquals(0, gameLogic.getLegalMoves());
+            assertFalse(gameLogic.makeMove(sequence[0]));
+            return 1;
+        }
+
+        int count = 0;
+        int legalMoves = gameLogic.getLegalMoves();
+        assertEquals(TicTacToeGameLogic.TOTAL_FIELD_COUNT - length, Integer.bitCount(legalMoves));
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            if ((legalMoves & (1 << field)) != 0) {
+                assertTrue(gameLogic.makeMove(field));
+                sequence[length] = field;
+                count += compareMoves(gameLogic, sequence, length + 1);
+                assertEquals(field, gameLogic.unmakeMove());
+                assertEquals(legalMoves, gameLogic.getLegalMoves());
+            } else {
+                assertFalse(gameLogic.makeMove(field));
+            }
+        }
+        return count;
+    }
+
+    @Test
+    /**
+     * Test the direct loading of all 3^9 playing field states on both game logic implementations
+     * against a reference game replaying the flags of both gamers alternately - each state must be
+     * accepted or rejected like the replayed game and each following selection must lead to the
+     * same game state and 'win lines'. The loaded selections must be taken back by 'unmakeMove()'.
+     */
+    public void initPlayingFieldState_allPlayingFields_equalToReplay() throws Exception {
+
+        FieldFlag[] flags = FieldFlag.values();
+        FieldFlag[] playingField = new FieldFlag[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+        TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+        TicTacToeGameLogicInterface[] gameLogics = new TicTacToeGameLogicInterface[] {
+                gameLogic, new BitboardTicTacToeGameLogic()};
+        TicTacToeGameLogic reference = new TicTacToeGameLogic();
+
+        for (int position = 0; position < 19683; position++) {
+            for (int field = 0, rest = position; field < playingField.length; field++, rest /= 3) {
+                playingField[field] = flags[rest % 3];
+            }
+            boolean expectedAccepted = replay(reference, playingField);
+
+            for (TicTacToeGameLogicInterface loaded : gameLogics) {
+                FieldFlag nextGamersFlag;
+                try {
+                    nextGamersFlag = loaded.initPlayingFieldState(playingField);
+                } catch (TicTacToeGameLogicInterface.NoInitialStateException e) {
+                    nextGamersFlag = null;
+                }
+                assertEquals(expectedAccepted, nextGamersFlag != null);
+                if (nextGamersFlag == null) {
+                    assertArrayEquals(new FieldFlag[] {E, E, E, E, E, E, E, E, E},
+                            loaded.getPlayingFieldState());
+                    continue;
+                }
+                assertArrayEquals(playingField, loaded.getPlayingFieldState());
+
+                // Each following selection must continue the game like the replayed game
+                for (int field = 0; field < playingField.length; field++) {
+                    if (playingField[field].equals(E)) {
+                        replay(reference, playingField);
+                        loaded.initPlayingFieldState(playingField);
+                        assertEquals(reference.setFlagToField(field), loaded.setFlagToField(field));
+                        assertEquals(nextGamersFlag, loaded.getPlayingFieldState()[field]);
+                        assertArrayEquals(reference.getWinLines(), loaded.getWinLines());
+                    }
+                }
+            }
+
+            // All loaded selections can be taken back
+            if (expectedAccepted) {
+                gameLogic.initPlayingFieldState(playingField);
+                while (gameLogic.unmakeMove() != -1) {
+                    assertEquals(GameState.OPEN, gameLogic.getGameState());
+                }
+                assertArrayEquals(new FieldFlag[] {E, E, E, E, E, E, E, E, E},
+                        gameLogic.getPlayingFieldState());
+                assertEquals(0x1FF, gameLogic.getLegalMoves());
+            }
+        }
+    }
+
+    /**
+     * This helper method starts a new reference game and selects the flagged fields of both
+     * gamers alternately - lowest field first.
+     *
+     * @return 'true' if the playing field is a valid initial state of an open game.
+     */
+    private boolean replay(TicTacToeGameLogic reference, FieldFlag[] playingField) {
+
+        reference.startNewGame();
+        int countFirstsFlags = 0;
+        int countSecondsFlags = 0;
+        for (FieldFlag flag : playingField) {
+            if (flag.equals(X)) {
+                countFirstsFlags++;
+            } else if (flag.equals(O)) {
+                countSecondsFlags++;
+            }
+        }
+        if (countFirstsFlags != countSecondsFlags && countFirstsFlags != countSecondsFlags + 1) {
+            return false;
+        }
+
+        int nextFirst = 0;
+        int nextSecond = 0;
+        for (int turn = 0; turn < countFirstsFlags + countSecondsFlags; turn++) {
+            FieldFlag flag = turn % 2 == 0 ? X : O;
+            int field = turn % 2 == 0 ? nextFirst : nextSecond;
+            while (!playingField[field].equals(flag)) {
+                field++;
+            }
+            if (turn % 2 == 0) {
+                nextFirst = field + 1;
+            } else {
+                nextSecond = field + 1;
+            }
+            if (!reference.setFlagToField(field).equals(GameState.OPEN)) {
+                reference.startNewGame();
+                return false;
+            }
+        }
+        return true;
+    }
+}
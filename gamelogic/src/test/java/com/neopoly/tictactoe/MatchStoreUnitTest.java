@@ -0,0 +1,124 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.Match;
+import com.neopoly.tictactoe.gamelogic.MatchStore;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the MatchStore against a temporary folder.
+ */
+public class MatchStoreUnitTest {
+
+    @Rule
+    public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+    @Test
+    /**
+     * Test that the latest saved match and all round results survive a new store instance.
+     */
+    public void saveAndLoad_newStore_isCorrect() throws Exception {
+
+        File directory = new File(mTemporaryFolder.getRoot(), "matches");
+        MatchStore store = new MatchStore(directory);
+        assertNull(loadLatestMatch(store));
+
+        Match match = new Match("Anna", "Ben", 0, 0, 0, true);
+        for (int round = 1; round <= 100; round++) {
+            GameState gameState = round % 3 == 0 ? GameState.WINNER_FIRST : GameState.GAME_OVER;
+            store.saveRoundResult(round, gameState);
+            match = new Match("Anna", "Ben", match.getWinsX() + (round % 3 == 0 ? 1 : 0), 0,
+                    round, round % 2 == 0);
+            store.saveMatch(match);
+        }
+        assertNull(store.flush().get(10, TimeUnit.SECONDS));
+        store.close();
+
+        MatchStore reopenedStore = new MatchStore(directory);
+        assertEquals(match, loadLatestMatch(reopenedStore));
+
+        final BlockingQueue<Object[]> roundResults = new ArrayBlockingQueue<Object[]>(1);
+        reopenedStore.loadRoundResults(new MatchStore.OnRoundResultsLoadedListener() {
+            @Override
+            public void onRoundResultsLoaded(int[] gameRounds, GameState[] gameStates) {
+                roundResults.add(new Object[] {gameRounds, gameStates});
+            }
+        });
+        Object[] loaded = roundResults.poll(10, TimeUnit.SECONDS);
+        int[] gameRounds = (int[]) loaded[0];
+        GameState[] gameStates = (GameState[]) loaded[1];
+        assertEquals(100, gameRounds.length);
+        for (int index = 0; index < gameRounds.length; index++) {
+            assertEquals(index + 1, gameRounds[index]);
+            assertEquals(gameRounds[index] % 3 == 0 ? GameState.WINNER_FIRST : GameState.GAME_OVER,
+                    gameStates[index]);
+        }
+
+        // A discarded match is gone, but the round results stay
+        reopenedStore.discardMatch();
+        assertNull(loadLatestMatch(reopenedStore));
+        assertTrue(new File(directory, MatchStore.ROUNDS_FILE).exists());
+        reopenedStore.close();
+    }
+
+    @Test
+    /**
+     * Test that saving never waits for the executor - all saves are queued while the executor is
+     * blocked and written afterwards.
+     */
+    public void saveMatch_blockedExecutor_doesNotWait() throws Exception {
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        final Object lock = new Object();
+        try {
+            MatchStore store = new MatchStore(mTemporaryFolder.getRoot(), executor);
+            synchronized (lock) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        synchronized (lock) {
+                            // Blocks the executor until all saves are queued
+                        }
+                    }
+                });
+                for (int round = 1; round <= 1000; round++) {
+                    store.saveMatch(new Match("X", "O", round, 0, round, true));
+                    store.saveRoundResult(round, GameState.WINNER_FIRST);
+                }
+                assertFalse(new File(mTemporaryFolder.getRoot(), MatchStore.MATCH_FILE).exists());
+            }
+            assertEquals(new Match("X", "O", 1000, 0, 1000, true), loadLatestMatch(store));
+            assertEquals(1000 * 13, new File(mTemporaryFolder.getRoot(),
+                    MatchStore.ROUNDS_FILE).length());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * This helper method loads the latest match and waits for the listener.
+     */
+    private Match loadLatestMatch(MatchStore store) throws InterruptedException {
+
+        final BlockingQueue<Match[]> matches = new ArrayBlockingQueue<Match[]>(1);
+        store.loadLatestMatch(new MatchStore.OnMatchLoadedListener() {
+            @Override
+            public void onMatchLoaded(Match match) {
+                matches.add(new Match[] {match});
+            }
+        });
+        return matches.poll(10, TimeUnit.SECONDS)[0];
+    }
+}
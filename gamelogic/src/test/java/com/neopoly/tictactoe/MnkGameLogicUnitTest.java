@@ -0,0 +1,176 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.GameLine;
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.MnkGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the MnkGameLogic as 3,3,3-game against the TicTacToeGameLogic and on larger fields.
+ */
+public class MnkGameLogicUnitTest {
+
+    @Test
+    /**
+     * Test all possible game sequences of the 3,3,3-game against the TicTacToeGameLogic.
+     */
+    public void setFlagToField_3x3_equalToTicTacToeGameLogic() throws Exception {
+
+        MnkGameLogic gameLogic = new MnkGameLogic(3, 3, 3);
+        assertEquals(GameLine.GAME_LINES_COUNT, gameLogic.getLinesCount());
+
+        int[] sequence = new int[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+        assertEquals(255168, compareSequences(gameLogic, sequence, 0));    // all finished games
+    }
+
+    /**
+     * This helper method replays the given sequence on both game logics, compares them and
+     * recursively continues with all possible next selections of still open games.
+     *
+     * @return the count of finished games which have been reached from this sequence.
+     */
+    private int compareSequences(MnkGameLogic gameLogic, int[] sequence, int length) {
+
+        TicTacToeGameLogic reference = new TicTacToeGameLogic();
+        gameLogic.startNewGame();
+        for (int turn = 0; turn < length; turn++) {
+            assertEquals(reference.setFlagToField(sequence[turn]),
+                    gameLogic.setFlagToField(sequence[turn]));
+        }
+        assertArrayEquals(reference.getPlayingFieldState(), gameLogic.getPlayingFieldState());
+
+        GameLine[] referenceWinLines = reference.getWinLines();
+        int[] winLines = gameLogic.getWinLines();
+        if (referenceWinLines == null) {
+            assertNull(winLines);
+        } else {
+            // Compare the locations of the lines - both sets are ordered by rows, columns, ...
+            assertEquals(referenceWinLines.length, winLines.length);
+            for (int index = 0; index < winLines.length; index++) {
+                int locationMask = 0;
+                for (int field : gameLogic.getLineFields(winLines[index])) {
+                    locationMask |= 1 << field;
+                }
+                assertEquals(referenceWinLines[index].getLocationMask(), locationMask);
+            }
+        }
+
+        if (!reference.getGameState().equals(GameState.OPEN)) {
+            return 1;
+        }
+        int count = 0;
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            if ((reference.getLegalMoves() & (1 << field)) != 0) {
+                sequence[length] = field;
+                count += compareSequences(gameLogic, sequence, length + 1);
+            }
+        }
+        return count;
+    }
+
+    @Test
+    /**
+     * Test five in a row on a 15x15-field won by the first gamer in the increasing diagonal
+     * from the bottom left corner, while the second gamer plays in the top row.
+     */
+    public void setFlagToField_15x15_winnerFirst_isCorrect() throws Exception {
+
+        MnkGameLogic gameLogic = new MnkGameLogic(15, 15, 5);
+        assertEquals(2 * 15 * 11 + 2 * 11 * 11, gameLogic.getLinesCount());
+
+        for (int step = 0; step < 4; step++) {
+            assertEquals(GameState.OPEN, gameLogic.setFlagToField((14 - step) * 15 + step));
+            assertEquals(GameState.OPEN, gameLogic.setFlagToField(step));
+        }
+        assertEquals(GameState.OPEN, gameLogic.setFlagToField(0));      // invalid: already flagged
+        assertEquals(FieldFlag.SECOND_GAMERS_FLAG, gameLogic.getFieldFlag(0));
+        assertEquals(GameState.WINNER_FIRST, gameLogic.setFlagToField(10 * 15 + 4));
+        assertEquals(GameState.WINNER_FIRST, gameLogic.setFlagToField(4));
+
+        int[] winLines = gameLogic.getWinLines();
+        assertEquals(1, winLines.length);
+        assertArrayEquals(new int[] {10 * 15 + 4, 11 * 15 + 3, 12 * 15 + 2, 13 * 15 + 1, 14 * 15},
+                gameLogic.getLineFields(winLines[0]));
+        assertEquals(FieldFlag.EMPTY_FIELD, gameLogic.getFieldFlag(4));
+
+        gameLogic.startNewGame();
+        assertEquals(GameState.OPEN, gameLogic.getGameState());
+        assertNull(gameLogic.getWinLines());
+        assertEquals(FieldFlag.EMPTY_FIELD, gameLogic.getFieldFlag(0));
+    }
+
+    @Test
+    /**
+     * Test that a line of six flags on a 15x15-field with five in a row - which completes two
+     * overlapping lines of the same row - is a single win, and that lines in two directions are a
+     * 'double win':
+     *
+     *  X | X | X | X | X | X | □ | ...
+     * ---|---|---|---|---|---|---|
+     *  □ | □ | □ | □ | □ | □ | □ | ...
+     *
+     * ...where 'X' is the first gamer and the second gamer selects fields in the last row.
+     */
+    public void setFlagToField_15x15_overline_isSingleWin() throws Exception {
+
+        MnkGameLogic gameLogic = new MnkGameLogic(15, 15, 5);
+        int[] sequence = new int[] {0, 1, 2, 4, 5};
+        for (int turn = 0; turn < sequence.length; turn++) {
+            assertEquals(GameState.OPEN, gameLogic.setFlagToField(sequence[turn]));
+            assertEquals(GameState.OPEN, gameLogic.setFlagToField(14 * 15 + 2 * turn));
+        }
+        assertEquals(GameState.WINNER_FIRST, gameLogic.setFlagToField(3));
+        assertEquals(2, gameLogic.getWinLines().length);
+
+        // The same for the second gamer
+        gameLogic.startNewGame();
+        for (int turn = 0; turn < sequence.length; turn++) {
+            assertEquals(GameState.OPEN, gameLogic.setFlagToField(14 * 15 + 2 * turn));
+            assertEquals(GameState.OPEN, gameLogic.setFlagToField(sequence[turn]));
+        }
+        assertEquals(GameState.OPEN, gameLogic.setFlagToField(14 * 15 + 12));
+        assertEquals(GameState.WINNER_SECOND, gameLogic.setFlagToField(3));
+        assertEquals(2, gameLogic.getWinLines().length);
+
+        // A row and a column completed by the last selection
+        gameLogic.startNewGame();
+        sequence = new int[] {0, 1, 2, 4, 3 * 15 + 3, 15 + 3, 2 * 15 + 3, 4 * 15 + 3};
+        for (int turn = 0; turn < sequence.length; turn++) {
+            assertEquals(GameState.OPEN, gameLogic.setFlagToField(sequence[turn]));
+            assertEquals(GameState.OPEN, gameLogic.setFlagToField(14 * 15 + 2 * turn));
+        }
+        assertEquals(GameState.DOUBLE_WIN_FIRST, gameLogic.setFlagToField(3));
+        assertEquals(2, gameLogic.getWinLines().length);
+    }
+
+    @Test
+    /**
+     * Test the early end of a 4x3-field with three in a row as soon as no line can be won anymore:
+     *
+     *  X | O | X | O
+     * ---|---|---|---
+     *  O | O | X |
+     * ---|---|---|---
+     *    | X | O | X
+     *
+     * ...where 'X' is the first gamer and 'O' the second.
+     */
+    public void setFlagToField_4x3_gameOver_isCorrect() throws Exception {
+
+        MnkGameLogic gameLogic = new MnkGameLogic(4, 3, 3);
+        int[] sequence = new int[] {6, 4, 0, 3, 9, 1, 2, 10, 11};
+        for (int field : sequence) {
+            assertEquals(GameState.OPEN, gameLogic.setFlagToField(field));
+        }
+        // Neither field 7 nor field 8 can complete any line anymore
+        assertEquals(GameState.GAME_OVER, gameLogic.setFlagToField(5));
+        assertEquals(GameState.GAME_OVER, gameLogic.setFlagToField(7));
+        assertEquals(FieldFlag.EMPTY_FIELD, gameLogic.getFieldFlag(7));
+        assertNull(gameLogic.getWinLines());
+    }
+}
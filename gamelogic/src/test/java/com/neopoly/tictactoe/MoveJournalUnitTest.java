@@ -0,0 +1,163 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.MoveJournal;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the MoveJournal by writing, reopening and reading journal files in a temporary folder.
+ */
+public class MoveJournalUnitTest {
+
+    @Rule
+    public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+    @Test
+    /**
+     * Test that the journal of many rounds - spanning several mapped regions and written by two
+     * sessions - is read back in the order of the records.
+     */
+    public void appendAndRead_manyRounds_isCorrect() throws Exception {
+
+        File file = new File(mTemporaryFolder.getRoot(), "moves.journal");
+        int[] sequence = new int[] {0, 4, 8, 1, 7, 6, 2, 5, 3};     // ends with 'GAME_OVER'
+        int rounds = 1000;                                          // about 10 records per round
+
+        MoveJournal journal = new MoveJournal(file);
+        for (int round = 1; round <= rounds; round++) {
+            if (round == rounds / 2) {
+                // Continue the journal in a new session
+                journal.close();
+                journal = new MoveJournal(file);
+            }
+            playRound(journal, round, sequence);
+        }
+        journal.close();
+
+        assertJournal(file, rounds, sequence);
+    }
+
+    @Test
+    /**
+     * Test that records appended while the file is opened or the next region is mapped by a
+     * background executor are kept in memory and written in the order of appending.
+     */
+    public void append_backgroundExecutor_keepsOrder() throws Exception {
+
+        File file = new File(mTemporaryFolder.getRoot(), "moves.journal");
+        int[] sequence = new int[] {0, 4, 8, 1, 7, 6, 2, 5, 3};     // ends with 'GAME_OVER'
+        int rounds = 1000;                                          // about 10 records per round
+
+        // The tasks of the journal only run when the test lets them run
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                tasks.add(task);
+            }
+        };
+        MoveJournal journal = new MoveJournal(file, executor);
+        assertFalse(file.exists());
+        for (int round = 1; round <= rounds; round++) {
+            playRound(journal, round, sequence);
+            if (round % 50 == 0) {
+                while (!tasks.isEmpty()) {
+                    tasks.poll().run();
+                }
+            }
+        }
+        journal.close();
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+
+        assertJournal(file, rounds, sequence);
+    }
+
+    /**
+     * This helper method reads the journal and compares its records with the rounds played by
+     * 'playRound(journal, round, sequence)'.
+     */
+    private static void assertJournal(File file, int rounds, int[] sequence) throws IOException {
+
+        TicTacToeGameLogic reference = new TicTacToeGameLogic();
+        MoveJournal.Reader reader = new MoveJournal.Reader(file);
+        try {
+            long lastTime = 0;
+            for (int round = 1; round <= rounds; round++) {
+                reference.startNewGame();
+                GameState gameState = GameState.OPEN;
+                for (int turn = 0; gameState.equals(GameState.OPEN); turn++) {
+                    gameState = reference.setFlagToField(sequence[turn]);
+                    assertTrue(reader.next());
+                    assertEquals(MoveJournal.TYPE_MOVE, reader.getType());
+                    assertEquals(round, reader.getRound());
+                    assertEquals(sequence[turn], reader.getField());
+                    assertEquals(gameState, reader.getGameState());
+                    assertTrue(reader.getTimeMillis() >= lastTime);
+                    lastTime = reader.getTimeMillis();
+                }
+                assertTrue(reader.next());
+                assertEquals(MoveJournal.TYPE_ROUND_RESULT, reader.getType());
+                assertEquals(round, reader.getRound());
+                assertEquals(GameState.GAME_OVER, reader.getGameState());
+            }
+            assertFalse(reader.next());
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * This helper method plays the sequence until the game ends and journals each selection and
+     * the result of the round.
+     */
+    private void playRound(MoveJournal journal, int round, int[] sequence) throws IOException {
+
+        TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+        GameState gameState = GameState.OPEN;
+        for (int turn = 0; gameState.equals(GameState.OPEN); turn++) {
+            gameState = gameLogic.setFlagToField(sequence[turn]);
+            journal.appendMove(round, sequence[turn], gameState);
+        }
+        journal.appendRoundResult(round, gameState);
+    }
+
+    @Test
+    /**
+     * Test that a new journal contains no records and that other files are rejected.
+     */
+    public void open_emptyAndForeignFiles_isCorrect() throws Exception {
+
+        File file = new File(mTemporaryFolder.getRoot(), "empty.journal");
+        new MoveJournal(file).close();
+        MoveJournal.Reader reader = new MoveJournal.Reader(file);
+        assertFalse(reader.next());
+        reader.close();
+
+        File foreignFile = mTemporaryFolder.newFile("foreign.journal");
+        FileOutputStream output = new FileOutputStream(foreignFile);
+        output.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+        output.close();
+        try {
+            new MoveJournal(foreignFile);
+            fail();
+        } catch (IOException e) {
+            // Expected - the file must not be appended
+        }
+        assertEquals(9, foreignFile.length());
+    }
+}
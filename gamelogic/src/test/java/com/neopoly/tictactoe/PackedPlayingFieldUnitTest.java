@@ -0,0 +1,116 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.BitboardTicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.PackedPlayingField;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the PackedPlayingField codec and the loading of packed playing field states.
+ */
+public class PackedPlayingFieldUnitTest {
+
+    /**An abbreviated notation for 'FieldFlag.FIRST_GAMERS_FLAG'. */
+    private static final FieldFlag X = FieldFlag.FIRST_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.SECOND_GAMERS_FLAG'. */
+    private static final FieldFlag O = FieldFlag.SECOND_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.EMPTY_FIELD'. */
+    private static final FieldFlag E = FieldFlag.EMPTY_FIELD;
+
+    @Test
+    /**
+     * Test packing and unpacking of all 3^9 playing field states and the loading of each packed
+     * state against the loading of its 'FieldFlag'-array on both game logic implementations.
+     */
+    public void pack_allPlayingFields_isConsistent() throws Exception {
+
+        FieldFlag[] flags = FieldFlag.values();
+        FieldFlag[] playingField = new FieldFlag[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+        FieldFlag[] unpacked = new FieldFlag[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+        TicTacToeGameLogicInterface[] gameLogics = new TicTacToeGameLogicInterface[] {
+                new TicTacToeGameLogic(), new BitboardTicTacToeGameLogic()};
+
+        for (int position = 0; position < 19683; position++) {
+            int firstGamersFields = 0;
+            int secondGamersFields = 0;
+            for (int field = 0, rest = position; field < playingField.length; field++, rest /= 3) {
+                playingField[field] = flags[rest % 3];
+                if (playingField[field].equals(X)) {
+                    firstGamersFields |= 1 << field;
+                } else if (playingField[field].equals(O)) {
+                    secondGamersFields |= 1 << field;
+                }
+            }
+
+            int packed = PackedPlayingField.pack(playingField);
+            assertTrue(PackedPlayingField.isValid(packed));
+            assertArrayEquals(playingField, PackedPlayingField.unpack(packed, unpacked));
+            assertEquals(firstGamersFields, PackedPlayingField.getFirstGamersFields(packed));
+            assertEquals(secondGamersFields, PackedPlayingField.getSecondGamersFields(packed));
+            assertEquals(packed, PackedPlayingField.pack(firstGamersFields, secondGamersFields,
+                    PackedPlayingField.getNextGamer(packed)));
+
+            for (TicTacToeGameLogicInterface gameLogic : gameLogics) {
+                FieldFlag expected;
+                try {
+                    expected = gameLogic.initPlayingFieldState(playingField);
+                } catch (TicTacToeGameLogicInterface.NoInitialStateException e) {
+                    expected = null;
+                }
+                FieldFlag actual;
+                try {
+                    actual = gameLogic.initPlayingFieldState(packed);
+                    assertArrayEquals(playingField, gameLogic.getPlayingFieldState());
+                } catch (TicTacToeGameLogicInterface.NoInitialStateException e) {
+                    actual = null;
+                }
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    /**
+     * Test that packed states with a wrong gamer on turn or undefined bits are rejected:
+     *
+     *  X |   |
+     * ---|---|---
+     *    | O |
+     * ---|---|---
+     *    |   |
+     *
+     * ...where 'X' is the first gamer and 'O' the second.
+     */
+    public void initPlayingFieldState_invalidPacked_throwsException() throws Exception {
+
+        FieldFlag[] playingField = new FieldFlag[] {X, E, E,
+                                                    E, O, E,
+                                                    E, E, E};
+        TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+        int packed = PackedPlayingField.pack(playingField);
+        assertEquals(X, PackedPlayingField.getNextGamer(packed));
+        assertEquals(X, gameLogic.initPlayingFieldState(packed));
+
+        int[] invalidPacked = new int[] {
+                PackedPlayingField.setNextGamer(packed, O),             // wrong gamer on turn
+                PackedPlayingField.setNextGamer(packed, E),             // no gamer on turn
+                packed | 3 << 2,                                        // field 1 with value '3'
+                packed | 1 << PackedPlayingField.PACKED_BITS};          // unused bit
+        for (int invalid : invalidPacked) {
+            try {
+                gameLogic.initPlayingFieldState(invalid);
+                fail();
+            } catch (TicTacToeGameLogicInterface.NoInitialStateException e) {
+                // A failed loading leaves a new game
+                assertArrayEquals(PackedPlayingField.unpack(PackedPlayingField.EMPTY,
+                        new FieldFlag[TicTacToeGameLogic.TOTAL_FIELD_COUNT]),
+                        gameLogic.getPlayingFieldState());
+            }
+        }
+    }
+}
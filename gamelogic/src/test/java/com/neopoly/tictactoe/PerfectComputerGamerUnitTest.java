@@ -0,0 +1,131 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.PerfectComputerGamer;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the PerfectComputerGamer against a plain minimax search without pruning and memo table.
+ */
+public class PerfectComputerGamerUnitTest {
+
+    /**An abbreviated notation for 'FieldFlag.FIRST_GAMERS_FLAG'. */
+    private static final FieldFlag X = FieldFlag.FIRST_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.SECOND_GAMERS_FLAG'. */
+    private static final FieldFlag O = FieldFlag.SECOND_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.EMPTY_FIELD'. */
+    private static final FieldFlag E = FieldFlag.EMPTY_FIELD;
+
+    @Test
+    /**
+     * Test the scores and the selected fields for all reachable open positions.
+     */
+    public void selectField_allPositions_isPerfect() throws Exception {
+
+        PerfectComputerGamer gamer = new PerfectComputerGamer();
+        TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+        assertEquals(255168, checkPositions(gamer, gameLogic));    // count of all finished games
+
+        // Perfect play of both gamers ends without a winner under these rules
+        assertEquals(PerfectComputerGamer.SCORE_GAME_OVER, gamer.evaluate(gameLogic));
+    }
+
+    /**
+     * This helper method checks the computer gamer for the current position and recursively for
+     * all positions reachable from it.
+     *
+     * @return the count of finished games which have been reached from this position.
+     */
+    private int checkPositions(PerfectComputerGamer gamer, TicTacToeGameLogic gameLogic) {
+
+        if (!gameLogic.getGameState().equals(GameState.OPEN)) {
+            return 1;
+        }
+
+        FieldFlag[] playingFieldState = gameLogic.getPlayingFieldState();
+        int bestScore = minimax(gameLogic);
+        assertEquals(bestScore, gamer.evaluate(gameLogic));
+
+        int selectedField = gamer.selectField(gameLogic);
+        assertArrayEquals(playingFieldState, gameLogic.getPlayingFieldState());
+        assertTrue(gameLogic.makeMove(selectedField));
+        assertEquals(bestScore, scoreAfterMove(gameLogic));
+        gameLogic.unmakeMove();
+
+        int count = 0;
+        int legalMoves = gameLogic.getLegalMoves();
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            if ((legalMoves & (1 << field)) != 0) {
+                gameLogic.makeMove(field);
+                count += checkPositions(gamer, gameLogic);
+                gameLogic.unmakeMove();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * This helper method computes the best score of the gamer on turn by a plain minimax search.
+     */
+    private int minimax(TicTacToeGameLogic gameLogic) {
+
+        int bestScore = Integer.MIN_VALUE;
+        int legalMoves = gameLogic.getLegalMoves();
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            if ((legalMoves & (1 << field)) != 0) {
+                gameLogic.makeMove(field);
+                bestScore = Math.max(bestScore, scoreAfterMove(gameLogic));
+                gameLogic.unmakeMove();
+            }
+        }
+        return bestScore;
+    }
+
+    /**
+     * This helper method computes the score of the gamer who has performed the last move.
+     */
+    private int scoreAfterMove(TicTacToeGameLogic gameLogic) {
+
+        int emptyFields = 0;
+        for (FieldFlag flag : gameLogic.getPlayingFieldState()) {
+            if (flag.equals(FieldFlag.EMPTY_FIELD)) {
+                emptyFields++;
+            }
+        }
+        switch (gameLogic.getGameState()) {
+            case WINNER_FIRST: case WINNER_SECOND:
+                return PerfectComputerGamer.SCORE_WIN + emptyFields;
+            case DOUBLE_WIN_FIRST:
+                return PerfectComputerGamer.SCORE_DOUBLE_WIN + emptyFields;
+            case GAME_OVER:
+                return PerfectComputerGamer.SCORE_GAME_OVER;
+            default:
+                return -minimax(gameLogic);
+        }
+    }
+
+    @Test
+    /**
+     * Test a loaded playing field state in which the first gamer can reach a 'double win':
+     *
+     *    | X | X
+     * ---|---|---
+     *  X | O | O
+     * ---|---|---
+     *  X | O | O
+     *
+     * ...where 'X' is the first gamer and 'O' the second.
+     */
+    public void selectField_doubleWin_isSelected() throws Exception {
+
+        PerfectComputerGamer gamer = new PerfectComputerGamer();
+        assertEquals(0, gamer.selectField(new FieldFlag[] {E, X, X,
+                                                           X, O, O,
+                                                           X, O, O}));
+    }
+}
@@ -0,0 +1,134 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.GameLine;
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.PlayingFieldSymmetry;
+import com.neopoly.tictactoe.gamelogic.PositionOutcomeTable;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the PlayingFieldSymmetry with all reachable positions of the PositionOutcomeTable.
+ */
+public class PlayingFieldSymmetryUnitTest {
+
+    /**An abbreviated notation for 'FieldFlag.FIRST_GAMERS_FLAG'. */
+    private static final FieldFlag X = FieldFlag.FIRST_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.SECOND_GAMERS_FLAG'. */
+    private static final FieldFlag O = FieldFlag.SECOND_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.EMPTY_FIELD'. */
+    private static final FieldFlag E = FieldFlag.EMPTY_FIELD;
+
+    @Test
+    /**
+     * Test that all equivalent states share one canonical form with the same outcome and that the
+     * 'win lines' are mapped correctly between the real and the canonical space.
+     */
+    public void canonicalForms_ofReachablePositions_areConsistent() throws Exception {
+
+        int canonicalCount = 0;
+        for (int position = 0; position < PositionOutcomeTable.POSITIONS_COUNT; position++) {
+            if (!PositionOutcomeTable.isReachable(position)) {
+                continue;
+            }
+
+            int transform = PlayingFieldSymmetry.getCanonicalTransform(position);
+            int canonical = PlayingFieldSymmetry.getCanonicalPosition(position);
+            assertEquals(canonical, PlayingFieldSymmetry.transformPosition(position, transform));
+            assertTrue(canonical <= position);
+            if (canonical == position) {
+                canonicalCount++;
+            }
+
+            for (int other = 0; other < PlayingFieldSymmetry.TRANSFORMS_COUNT; other++) {
+                int equivalent = PlayingFieldSymmetry.transformPosition(position, other);
+                assertEquals(canonical, PlayingFieldSymmetry.getCanonicalPosition(equivalent));
+                assertEquals(PositionOutcomeTable.getGameState(position),
+                        PositionOutcomeTable.getGameState(equivalent));
+                assertEquals(PositionOutcomeTable.getValue(position),
+                        PositionOutcomeTable.getValue(equivalent));
+            }
+
+            // The 'win lines' of the canonical form lead back to the real 'win lines'
+            int canonicalWinLines = PositionOutcomeTable.getWinLinesMask(canonical);
+            int realWinLines = 0;
+            for (GameLine line : GameLine.values()) {
+                if ((canonicalWinLines & (1 << line.ordinal())) != 0) {
+                    GameLine realLine = PlayingFieldSymmetry.inverseTransformLine(line, transform);
+                    assertEquals(line, PlayingFieldSymmetry.transformLine(realLine, transform));
+                    realWinLines |= 1 << realLine.ordinal();
+                }
+            }
+            assertEquals(PositionOutcomeTable.getWinLinesMask(position), realWinLines);
+        }
+        assertEquals(765, canonicalCount);
+    }
+
+    @Test
+    /**
+     * Test the canonical form of a game won by the first gamer in the right column:
+     *
+     *  O | O | X       X | O | O
+     * ---|---|---     ---|---|---
+     *    |   | X  -->  X |   |
+     * ---|---|---     ---|---|---
+     *    |   | X       X |   |
+     *
+     * ...where 'X' is the first gamer and 'O' the second.
+     */
+    public void canonicalize_winLine_isMappedBack() throws Exception {
+
+        TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+        gameLogic.setFlagToField(2);
+        gameLogic.setFlagToField(0);
+        gameLogic.setFlagToField(5);
+        gameLogic.setFlagToField(1);
+        assertEquals(GameState.WINNER_FIRST, gameLogic.setFlagToField(8));
+        assertEquals(GameLine.COLUMN_RIGHT, gameLogic.getWinLines()[0]);
+
+        FieldFlag[] canonicalState = new FieldFlag[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+        int transform = PlayingFieldSymmetry.canonicalize(gameLogic.getPlayingFieldState(),
+                canonicalState);
+        assertArrayEquals(new FieldFlag[] {X, O, O,
+                                           X, E, E,
+                                           X, E, E}, canonicalState);
+
+        assertEquals(GameLine.COLUMN_RIGHT,
+                PlayingFieldSymmetry.inverseTransformLine(GameLine.COLUMN_LEFT, transform));
+        assertEquals(GameLine.COLUMN_LEFT,
+                PlayingFieldSymmetry.transformLine(GameLine.COLUMN_RIGHT, transform));
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            int canonicalField = PlayingFieldSymmetry.transformField(field, transform);
+            assertEquals(field, PlayingFieldSymmetry.inverseTransformField(canonicalField,
+                    transform));
+        }
+    }
+
+    @Test
+    /**
+     * Test the distinct fields of the empty playing field and of two symmetric positions.
+     */
+    public void getDistinctFieldsMask_isCorrect() throws Exception {
+
+        // One corner, one edge and the center
+        assertEquals(1 << 0 | 1 << 1 | 1 << 4, PlayingFieldSymmetry.getDistinctFieldsMask(0));
+
+        // X in the center keeps all symmetries
+        int centerPosition = PositionOutcomeTable.encode(new FieldFlag[] {E, E, E,
+                                                                          E, X, E,
+                                                                          E, E, E});
+        assertEquals(1 << 0 | 1 << 1 | 1 << 4,
+                PlayingFieldSymmetry.getDistinctFieldsMask(centerPosition));
+
+        // X in a corner keeps the reflection at the main diagonal
+        int cornerPosition = PositionOutcomeTable.encode(new FieldFlag[] {X, E, E,
+                                                                          E, E, E,
+                                                                          E, E, E});
+        assertEquals(1 << 0 | 1 << 1 | 1 << 2 | 1 << 4 | 1 << 5 | 1 << 8,
+                PlayingFieldSymmetry.getDistinctFieldsMask(cornerPosition));
+    }
+}
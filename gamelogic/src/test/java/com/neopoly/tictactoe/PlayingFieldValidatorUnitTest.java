@@ -0,0 +1,98 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.PackedPlayingField;
+import com.neopoly.tictactoe.gamelogic.PlayingFieldValidator;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the PlayingFieldValidator against the loading of playing field states.
+ */
+public class PlayingFieldValidatorUnitTest {
+
+    /**An abbreviated notation for 'FieldFlag.FIRST_GAMERS_FLAG'. */
+    private static final FieldFlag X = FieldFlag.FIRST_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.SECOND_GAMERS_FLAG'. */
+    private static final FieldFlag O = FieldFlag.SECOND_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.EMPTY_FIELD'. */
+    private static final FieldFlag E = FieldFlag.EMPTY_FIELD;
+
+    @Test
+    /**
+     * Test that the batch validation of all values with 'PACKED_BITS' bits agrees exactly with
+     * 'initPlayingFieldState(packedPlayingField)' - including the packed gamer on turn and all
+     * values which can't be unpacked.
+     */
+    public void validate_allPackedValues_agreesWithInitPlayingFieldState() throws Exception {
+
+        TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+        int[] packedPlayingFields = new int[1 << PackedPlayingField.PACKED_BITS];
+        for (int value = 0; value < packedPlayingFields.length; value++) {
+            packedPlayingFields[value] = value;
+        }
+        byte[] reasons = new byte[packedPlayingFields.length];
+        int validCount = PlayingFieldValidator.validate(
+                packedPlayingFields, 0, packedPlayingFields.length, reasons);
+
+        int acceptedCount = 0;
+        for (int value = 0; value < packedPlayingFields.length; value++) {
+            boolean accepted;
+            try {
+                gameLogic.initPlayingFieldState(value);
+                accepted = true;
+                acceptedCount++;
+            } catch (TicTacToeGameLogicInterface.NoInitialStateException e) {
+                accepted = false;
+            }
+            assertEquals(accepted, reasons[value] == PlayingFieldValidator.VALID);
+            assertEquals(reasons[value], PlayingFieldValidator.validate(value));
+        }
+        assertEquals(acceptedCount, validCount);
+        assertTrue(validCount > 0);
+
+        // Values above 'PACKED_BITS' bits are never valid
+        assertEquals(PlayingFieldValidator.BAD_LENGTH,
+                PlayingFieldValidator.validate(PackedPlayingField.EMPTY | 1 << 31));
+    }
+
+    @Test
+    /**
+     * Test the reason codes of some playing field states:
+     *
+     * valid:        count imbalance:   already won:      already dead:
+     *
+     *  X | O | X     X | X | □          X | X | X         X | O | X
+     * ---|---|---   ---|---|---        ---|---|---       ---|---|---
+     *  □ | O | □     □ | □ | □          O | O | □         X | O | O
+     * ---|---|---   ---|---|---        ---|---|---       ---|---|---
+     *  □ | □ | □     □ | □ | □          □ | □ | □         O | X | □
+     */
+    public void validate_playingFieldStates_isCorrect() throws Exception {
+
+        assertEquals(PlayingFieldValidator.VALID, PlayingFieldValidator.validate(
+                new FieldFlag[] {X, O, X, E, O, E, E, E, E}));
+        assertEquals(PlayingFieldValidator.COUNT_IMBALANCE, PlayingFieldValidator.validate(
+                new FieldFlag[] {X, X, E, E, E, E, E, E, E}));
+        assertEquals(PlayingFieldValidator.ALREADY_WON, PlayingFieldValidator.validate(
+                new FieldFlag[] {X, X, X, O, O, E, E, E, E}));
+        assertEquals(PlayingFieldValidator.ALREADY_DEAD, PlayingFieldValidator.validate(
+                new FieldFlag[] {X, O, X, X, O, O, O, X, E}));
+
+        assertEquals(PlayingFieldValidator.BAD_LENGTH, PlayingFieldValidator.validate(
+                new FieldFlag[] {X, O, X, E, O, E, E, E}));
+        assertEquals(PlayingFieldValidator.BAD_LENGTH,
+                PlayingFieldValidator.validate((FieldFlag[]) null));
+
+        // The packed gamer on turn has to fit the counts of both gamers' flags
+        FieldFlag[] playingField = new FieldFlag[] {X, O, X, E, O, E, E, E, E};
+        assertEquals(PlayingFieldValidator.VALID, PlayingFieldValidator.validate(
+                PackedPlayingField.pack(playingField)));
+        assertEquals(PlayingFieldValidator.COUNT_IMBALANCE, PlayingFieldValidator.validate(
+                PackedPlayingField.pack(playingField, O)));
+    }
+}
@@ -0,0 +1,145 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.GameLine;
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.PerfectComputerGamer;
+import com.neopoly.tictactoe.gamelogic.PositionOutcomeTable;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface.NoInitialStateException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the PositionOutcomeTable exhaustively against the TicTacToeGameLogic.
+ */
+public class PositionOutcomeTableUnitTest {
+
+    @Test
+    /**
+     * Test the entries of all positions reached by any game sequence against the game logic.
+     */
+    public void allReachedPositions_equalToGameLogic() throws Exception {
+
+        int[] sequence = new int[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+        assertEquals(255168, checkSequences(sequence, 0));    // count of all finished games
+    }
+
+    /**
+     * This helper method replays the given sequence, compares the table entry of the reached
+     * position and recursively continues with all possible next selections of open games.
+     *
+     * @return the count of finished games which have been reached from this sequence.
+     */
+    private int checkSequences(int[] sequence, int length) {
+
+        TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+        GameState gameState = GameState.OPEN;
+        for (int turn = 0; turn < length; turn++) {
+            gameState = gameLogic.setFlagToField(sequence[turn]);
+        }
+
+        int position = PositionOutcomeTable.encode(gameLogic.getPlayingFieldState());
+        assertTrue(PositionOutcomeTable.isReachable(position));
+        assertEquals(gameState, PositionOutcomeTable.getGameState(position));
+
+        int winLines = 0;
+        if (gameLogic.getWinLines() != null) {
+            for (GameLine line : gameLogic.getWinLines()) {
+                winLines |= 1 << line.ordinal();
+            }
+        }
+        assertEquals(winLines, PositionOutcomeTable.getWinLinesMask(position));
+
+        if (!gameState.equals(GameState.OPEN)) {
+            assertEquals(FieldFlag.EMPTY_FIELD, PositionOutcomeTable.getNextGamer(position));
+            return 1;
+        }
+
+        int count = 0;
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            if ((gameLogic.getLegalMoves() & (1 << field)) != 0) {
+                sequence[length] = field;
+                count += checkSequences(sequence, length + 1);
+            }
+        }
+        return count;
+    }
+
+    @Test
+    /**
+     * Test all 3^9 encodings - each open position must be accepted by 'initPlayingFieldState'
+     * with the same next gamer and each other encoding must be refused.
+     */
+    public void allEncodings_equalToInitPlayingFieldState() throws Exception {
+
+        TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+        FieldFlag[] playingFieldState = new FieldFlag[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+        int reachableCount = 0;
+
+        for (int position = 0; position < PositionOutcomeTable.POSITIONS_COUNT; position++) {
+            int digits = position;
+            for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+                playingFieldState[field] = FieldFlag.values()[digits % 3];
+                digits /= 3;
+            }
+            assertEquals(position, PositionOutcomeTable.encode(playingFieldState));
+
+            FieldFlag nextGamer;
+            try {
+                nextGamer = gameLogic.initPlayingFieldState(playingFieldState);
+            } catch (NoInitialStateException e) {
+                nextGamer = FieldFlag.EMPTY_FIELD;
+            }
+            assertEquals(nextGamer, PositionOutcomeTable.getNextGamer(position));
+            if (!nextGamer.equals(FieldFlag.EMPTY_FIELD)) {
+                assertEquals(GameState.OPEN, PositionOutcomeTable.getGameState(position));
+            } else if (PositionOutcomeTable.isReachable(position)) {
+                assertNotEquals(GameState.OPEN, PositionOutcomeTable.getGameState(position));
+            } else {
+                assertNull(PositionOutcomeTable.getGameState(position));
+            }
+            if (PositionOutcomeTable.isReachable(position)) {
+                reachableCount++;
+            }
+        }
+        assertEquals(5478, reachableCount);
+    }
+
+    @Test
+    /**
+     * Test the values of all open positions against the scores of the perfect computer gamer.
+     */
+    public void openPositionValues_equalToPerfectComputerGamer() throws Exception {
+
+        PerfectComputerGamer gamer = new PerfectComputerGamer();
+        TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+
+        for (int position = 0; position < PositionOutcomeTable.POSITIONS_COUNT; position++) {
+            if (PositionOutcomeTable.getGameState(position) == GameState.OPEN) {
+                FieldFlag nextGamer = gameLogic.initPlayingFieldState(decode(position));
+                assertEquals(PositionOutcomeTable.getNextGamer(position), nextGamer);
+
+                // Scores count the wins in tens - from the point of view of the gamer on turn
+                int score = gamer.evaluate(gameLogic) / PerfectComputerGamer.SCORE_WIN;
+                if (nextGamer.equals(FieldFlag.SECOND_GAMERS_FLAG)) {
+                    score = -score;
+                }
+                assertEquals(score, PositionOutcomeTable.getValue(position));
+            }
+        }
+        assertEquals(0, PositionOutcomeTable.getValue(0));
+    }
+
+    private static FieldFlag[] decode(int position) {
+
+        FieldFlag[] playingFieldState = new FieldFlag[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+        for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+            playingFieldState[field] = FieldFlag.values()[position % 3];
+            position /= 3;
+        }
+        return playingFieldState;
+    }
+}
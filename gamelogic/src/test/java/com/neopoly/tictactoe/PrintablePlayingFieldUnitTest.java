@@ -0,0 +1,196 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.AbstractTicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.BitboardTicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.PackedPlayingField;
+import com.neopoly.tictactoe.gamelogic.PrintablePlayingField;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the rendering of printable playing field states.
+ */
+public class PrintablePlayingFieldUnitTest {
+
+    /**An abbreviated notation for 'FieldFlag.FIRST_GAMERS_FLAG'. */
+    private static final FieldFlag X = FieldFlag.FIRST_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.SECOND_GAMERS_FLAG'. */
+    private static final FieldFlag O = FieldFlag.SECOND_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.EMPTY_FIELD'. */
+    private static final FieldFlag E = FieldFlag.EMPTY_FIELD;
+
+    @Test
+    /**
+     * Test the printable representation of all 3^9 playing field states - loaded as packed
+     * playing fields - against the concatenated representation for all ways of rendering on both
+     * game logic implementations.
+     */
+    public void appendPrintablePlayingFieldState_allPlayingFields_isCorrect() throws Exception {
+
+        FieldFlag[] flags = FieldFlag.values();
+        FieldFlag[] playingField = new FieldFlag[TicTacToeGameLogic.TOTAL_FIELD_COUNT];
+        AbstractTicTacToeGameLogic[] gameLogics = new AbstractTicTacToeGameLogic[] {
+                new TicTacToeGameLogic(), new BitboardTicTacToeGameLogic()};
+        StringBuilder builder = new StringBuilder();
+        CharBuffer buffer = CharBuffer.allocate(PrintablePlayingField.LENGTH);
+
+        for (int position = 0; position < 19683; position++) {
+            for (int field = 0, rest = position; field < playingField.length; field++, rest /= 3) {
+                playingField[field] = flags[rest % 3];
+            }
+            String expected = concatenate(playingField, 'A', 'B');
+            int packed = PackedPlayingField.pack(playingField);
+            assertEquals(expected, PrintablePlayingField.toString(packed, 'A', 'B'));
+
+            for (AbstractTicTacToeGameLogic gameLogic : gameLogics) {
+                try {
+                    gameLogic.initPlayingFieldState(packed);
+                } catch (TicTacToeGameLogic.NoInitialStateException e) {
+                    continue;
+                }
+                assertEquals(packed, gameLogic.getPackedPlayingFieldState());
+                assertEquals(concatenate(playingField, 'X', 'O'),
+                        gameLogic.getPrintablePlayingFieldState());
+                assertEquals(expected, gameLogic.getPrintablePlayingFieldState('A', 'B'));
+
+                builder.setLength(0);
+                gameLogic.appendPrintablePlayingFieldState(builder, 'A', 'B');
+                assertEquals(expected, builder.toString());
+
+                buffer.clear();
+                gameLogic.appendPrintablePlayingFieldState(buffer, 'A', 'B');
+                assertEquals(0, buffer.remaining());
+                buffer.flip();
+                assertEquals(expected, buffer.toString());
+
+                StringWriter writer = new StringWriter();
+                gameLogic.appendPrintablePlayingFieldState(writer, 'A', 'B');
+                assertEquals(expected, writer.toString());
+            }
+        }
+    }
+
+    @Test
+    /**
+     * Test that the cache returns the same string for the same playing field and characters, but
+     * renders playing fields with other characters, other fields or a full cache again.
+     */
+    public void cache_printedPlayingFields_isCorrect() throws Exception {
+
+        TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+        PrintablePlayingField.Cache cache = new PrintablePlayingField.Cache(64);
+        gameLogic.setPrintableCache(cache);
+
+        gameLogic.setFlagToField(4);
+        String printable = gameLogic.getPrintablePlayingFieldState();
+        assertSame(printable, gameLogic.getPrintablePlayingFieldState());
+        assertEquals(concatenate(gameLogic.getPlayingFieldState(), 'X', 'O'), printable);
+
+        // The same fields on another game logic share the cached string
+        BitboardTicTacToeGameLogic bitboard = new BitboardTicTacToeGameLogic();
+        bitboard.setPrintableCache(cache);
+        bitboard.setFlagToField(4);
+        assertSame(printable, bitboard.getPrintablePlayingFieldState());
+
+        String customized = gameLogic.getPrintablePlayingFieldState('1', '2');
+        assertEquals(concatenate(gameLogic.getPlayingFieldState(), '1', '2'), customized);
+        assertSame(customized, gameLogic.getPrintablePlayingFieldState('1', '2'));
+
+        gameLogic.setFlagToField(0);
+        assertEquals(concatenate(gameLogic.getPlayingFieldState(), 'X', 'O'),
+                gameLogic.getPrintablePlayingFieldState());
+
+        // Evicted entries are rendered again
+        PrintablePlayingField.Cache smallCache = new PrintablePlayingField.Cache(1);
+        int packed = gameLogic.getPackedPlayingFieldState();
+        for (char character = 'a'; character <= 'z'; character++) {
+            smallCache.get(packed, character, 'O');
+        }
+        assertEquals(PrintablePlayingField.toString(packed, 'X', 'O'),
+                smallCache.get(packed, 'X', 'O'));
+
+        gameLogic.setPrintableCache(null);
+        assertNotSame(gameLogic.getPrintablePlayingFieldState(),
+                gameLogic.getPrintablePlayingFieldState());
+    }
+
+    @Test
+    /**
+     * Test that a 'Writer' - passed as 'Writer' or as 'Appendable' - only gets character arrays
+     * and single characters, which it writes without copying them into substrings, and that any
+     * other 'Appendable' gets the same representation:
+     *
+     *  X | O | X
+     * ---|---|---
+     *    | X |
+     * ---|---|---
+     *  O |   | X
+     */
+    public void append_writerAndOtherAppendables_isCorrect() throws Exception {
+
+        FieldFlag[] playingField = new FieldFlag[] {X, O, X, E, X, E, O, E, X};
+        int packed = PackedPlayingField.pack(playingField);
+        String expected = concatenate(playingField, 'X', 'O');
+
+        // A writer failing on all methods which copy a 'CharSequence' or 'String'
+        final StringWriter written = new StringWriter();
+        Writer writer = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                written.write(buffer, offset, length);
+            }
+
+            @Override
+            public void write(String string, int offset, int length) {
+                fail();
+            }
+
+            @Override
+            public Writer append(CharSequence sequence, int start, int end) {
+                fail();
+                return this;
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        };
+        assertSame(writer, PrintablePlayingField.append(packed, 'X', 'O', writer));
+        PrintablePlayingField.append(packed, 'X', 'O', (Appendable) writer);
+        assertEquals(expected + expected, written.toString());
+
+        // Any other 'Appendable' gets single characters
+        StringBuffer buffer = new StringBuffer();
+        PrintablePlayingField.append(packed, 'X', 'O', buffer);
+        assertEquals(expected, buffer.toString());
+    }
+
+    /**
+     * This helper method builds the printable representation by concatenating its parts.
+     */
+    private static String concatenate(FieldFlag[] playingField, char firstGamer,
+                                      char secondGamer) {
+
+        char[] fieldChars = new char[playingField.length];
+        for (int field = 0; field < playingField.length; field++) {
+            fieldChars[field] = playingField[field].equals(FieldFlag.FIRST_GAMERS_FLAG)
+                    ? firstGamer : playingField[field].equals(FieldFlag.SECOND_GAMERS_FLAG)
+                    ? secondGamer : ' ';
+        }
+        return " \n " + fieldChars[0] + " | " + fieldChars[1] + " | " + fieldChars[2] + " \n"
+                + "---|---|---\n"
+                + " " + fieldChars[3] + " | " + fieldChars[4] + " | " + fieldChars[5] + " \n"
+                + "---|---|---\n"
+                + " " + fieldChars[6] + " | " + fieldChars[7] + " | " + fieldChars[8] + " \n";
+    }
+}
@@ -0,0 +1,55 @@
+package com.neopoly.tictactoe.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * This pool recycles direct buffers of one size for the connections of a selector thread. Direct
+ * buffers let the channels read and write without copying through a heap buffer, but they are
+ * expensive to allocate and free - so each buffer is allocated once and reused by all later
+ * connections. The pool is owned by one thread and not thread-safe.
+ */
+public class DirectBufferPool {
+
+    /** The capacity of each buffer in bytes. */
+    private final int mBufferSize;
+    /** The maximum count of buffers kept for reuse. */
+    private final int mMaxPooledBuffers;
+    /** The released buffers. */
+    private final ArrayDeque<ByteBuffer> mBuffers = new ArrayDeque<>();
+
+    /**
+     * @param bufferSize the capacity of each buffer in bytes.
+     * @param maxPooledBuffers the maximum count of buffers kept for reuse - more released buffers
+     *                         are left to the garbage collector.
+     */
+    public DirectBufferPool(int bufferSize, int maxPooledBuffers) {
+        mBufferSize = bufferSize;
+        mMaxPooledBuffers = maxPooledBuffers;
+    }
+
+    /**
+     * @return a cleared buffer - a released one if available.
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = mBuffers.pollFirst();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(mBufferSize);
+    }
+
+    /**
+     * @param buffer a buffer acquired from this pool which isn't used anymore.
+     */
+    public void release(ByteBuffer buffer) {
+        if (mBuffers.size() < mMaxPooledBuffers) {
+            buffer.clear();
+            mBuffers.offerFirst(buffer);
+        }
+    }
+
+    /**
+     * @return the count of buffers available for reuse.
+     */
+    public int getPooledBufferCount() {
+        return mBuffers.size();
+    }
+}
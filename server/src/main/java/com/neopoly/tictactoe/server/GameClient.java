@@ -0,0 +1,114 @@
+package com.neopoly.tictactoe.server;
+
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.GameState;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * This client plays games on a 'GameServer'. It is connected and driven by a 'GameClientLoop',
+ * which serves any count of clients with one thread: the frames received by a client are passed
+ * to its 'Listener' on this thread, and all methods of a client must be called on this thread -
+ * typically from the listener. The frames sent by a client are collected in its write buffer and
+ * written once per selection round of the loop.
+ */
+public class GameClient {
+
+    /** The listener receiving the frames of the server - called by the 'GameClientLoop'. */
+    public interface Listener {
+
+        /**
+         * @param client the client which has been connected to the server.
+         */
+        void onConnected(GameClient client);
+
+        /**
+         * @param client the client receiving the state of its game.
+         * @param gamer the 'FieldFlag' the client plays with.
+         * @param packedPlayingField the packed playing field including the gamer on turn.
+         * @param gameState the state of the game.
+         * @param winLines the mask of the 'GameLine' ordinals of the win lines.
+         */
+        void onStateUpdate(GameClient client, FieldFlag gamer, int packedPlayingField,
+                           GameState gameState, int winLines);
+
+        /**
+         * @param client the client whose opponent resigned or disconnected.
+         */
+        void onOpponentResigned(GameClient client);
+
+        /**
+         * @param client the client whose connection has been closed.
+         */
+        void onDisconnected(GameClient client);
+    }
+
+    /** The loop serving this client. */
+    final GameClientLoop mLoop;
+    /** The channel to the server. */
+    final SocketChannel mChannel;
+    /** The listener receiving the frames of the server. */
+    final Listener mListener;
+    /** The bytes read from the server which haven't been handled yet. */
+    final ByteBuffer mReadBuffer;
+    /** The frames for the server which haven't been written yet. */
+    final ByteBuffer mWriteBuffer;
+    /** The key of the channel at the selector of the loop. */
+    SelectionKey mKey;
+    /** Marks whether frames have been put into the write buffer in this selection round. */
+    boolean mDirty;
+    /** Marks whether the connection has been closed. */
+    boolean mClosed;
+
+    GameClient(GameClientLoop loop, SocketChannel channel, Listener listener,
+               ByteBuffer readBuffer, ByteBuffer writeBuffer) {
+        mLoop = loop;
+        mChannel = channel;
+        mListener = listener;
+        mReadBuffer = readBuffer;
+        mWriteBuffer = writeBuffer;
+    }
+
+    /**
+     * This method asks the server to pair this client with the next joining client.
+     */
+    public void join() {
+        if (mLoop.reserveFrame(this)) {
+            GameProtocol.putJoin(mWriteBuffer);
+        }
+    }
+
+    /**
+     * @param field the field index from [0-8] to select in the current game.
+     */
+    public void move(int field) {
+        if (mLoop.reserveFrame(this)) {
+            GameProtocol.putMove(mWriteBuffer, field);
+        }
+    }
+
+    /**
+     * This method gives up the current game.
+     */
+    public void resign() {
+        if (mLoop.reserveFrame(this)) {
+            GameProtocol.putResign(mWriteBuffer);
+        }
+    }
+
+    /**
+     * This method closes the connection - the server ends the current game as resigned.
+     */
+    public void close() {
+        mLoop.disconnect(this);
+    }
+
+    /**
+     * @return 'true' if the connection has been closed.
+     */
+    public boolean isClosed() {
+        return mClosed;
+    }
+}
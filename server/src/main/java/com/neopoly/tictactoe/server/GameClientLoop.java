@@ -0,0 +1,286 @@
+package com.neopoly.tictactoe.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+/**
+ * This loop serves any count of 'GameClient's with the single thread calling 'run()' and one
+ * 'Selector' - like the 'GameServer' on the other side, with the same pooled direct buffers and
+ * frames handled in place. Clients are connected before the loop runs or from a listener.
+ */
+public class GameClientLoop implements Runnable, Closeable {
+
+    /** The maximum count of buffers kept for new clients. */
+    private static final int MAX_POOLED_BUFFERS = 1 << 14;
+
+    /** The selector of all channels. */
+    private final Selector mSelector;
+    /** The read and write buffers of all clients. */
+    private final DirectBufferPool mBufferPool =
+            new DirectBufferPool(GameServer.BUFFER_SIZE, MAX_POOLED_BUFFERS);
+    /** The clients with frames in their write buffers. */
+    private final ArrayList<GameClient> mDirtyClients = new ArrayList<>();
+
+    /** The count of frames written to the server. */
+    private long mSentFrames;
+    /** The count of frames received from the server. */
+    private long mReceivedFrames;
+    /** Marks whether the loop has been closed. */
+    private volatile boolean mClosed;
+
+    /**
+     * @throws IOException if no selector can be opened.
+     */
+    public GameClientLoop() throws IOException {
+        mSelector = Selector.open();
+    }
+
+    /**
+     * This method starts connecting a new client - its listener is notified as soon as the
+     * connection has been established. It must be called before 'run()' or from a listener.
+     *
+     * @param address the address of the server.
+     * @param listener the listener receiving the frames of the server.
+     * @return the new client.
+     * @throws IOException if the connection can't be started.
+     */
+    public GameClient connect(InetSocketAddress address, GameClient.Listener listener)
+            throws IOException {
+
+        SocketChannel channel = SocketChannel.open();
+        GameClient client;
+        try {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            boolean connected = channel.connect(address);
+            client = new GameClient(this, channel, listener, mBufferPool.acquire(),
+                    mBufferPool.acquire());
+            client.mKey = channel.register(mSelector,
+                    connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, client);
+            if (connected) {
+                listener.onConnected(client);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return client;
+    }
+
+    /**
+     * This method serves all clients until the loop is closed - and then closes them all.
+     */
+    @Override
+    public void run() {
+
+        try {
+            while (!mClosed) {
+                mSelector.select();
+                Iterator<SelectionKey> keys = mSelector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    GameClient client = (GameClient) key.attachment();
+                    if (key.isValid() && key.isConnectable()) {
+                        finishConnect(client);
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        read(client);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        flush(client);
+                    }
+                }
+                flushDirtyClients();
+            }
+        } catch (IOException e) {
+            // The selector failed - the loop stops like a closed one
+        } finally {
+            for (SelectionKey key : mSelector.keys()) {
+                disconnect((GameClient) key.attachment());
+            }
+            try {
+                mSelector.close();
+            } catch (IOException e) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    /**
+     * This method stops 'run()' - which closes all clients before it returns. It may be called
+     * from any thread.
+     */
+    @Override
+    public void close() {
+        mClosed = true;
+        mSelector.wakeup();
+    }
+
+    /**
+     * @return the count of frames written to the server - read it on the loop thread or after
+     * 'run()' has returned.
+     */
+    public long getSentFrames() {
+        return mSentFrames;
+    }
+
+    /**
+     * @return the count of frames received from the server - read it on the loop thread or after
+     * 'run()' has returned.
+     */
+    public long getReceivedFrames() {
+        return mReceivedFrames;
+    }
+
+    /**
+     * This helper method completes the connection of a client and notifies its listener.
+     */
+    private void finishConnect(GameClient client) {
+        try {
+            client.mChannel.finishConnect();
+        } catch (IOException e) {
+            disconnect(client);
+            return;
+        }
+        client.mKey.interestOps(SelectionKey.OP_READ);
+        client.mListener.onConnected(client);
+
+        // Frames put before the connection has been established are written now
+        if (client.mWriteBuffer.position() > 0 && !client.mDirty) {
+            client.mDirty = true;
+            mDirtyClients.add(client);
+        }
+    }
+
+    /**
+     * This helper method reads the available bytes of a client and passes all complete frames to
+     * its listener - an incomplete frame is kept until the rest has been read.
+     */
+    private void read(GameClient client) {
+
+        ByteBuffer buffer = client.mReadBuffer;
+        int read;
+        try {
+            read = client.mChannel.read(buffer);
+        } catch (IOException e) {
+            read = -1;
+        }
+        if (read < 0) {
+            disconnect(client);
+            return;
+        }
+
+        int end = buffer.position();
+        int frame = 0;
+        for (; frame + GameProtocol.FRAME_SIZE <= end && !client.mClosed;
+             frame += GameProtocol.FRAME_SIZE) {
+            mReceivedFrames++;
+            switch (GameProtocol.getType(buffer, frame)) {
+                case GameProtocol.TYPE_STATE:
+                    client.mListener.onStateUpdate(client, GameProtocol.getGamer(buffer, frame),
+                            GameProtocol.getPackedPlayingField(buffer, frame),
+                            GameProtocol.getGameState(buffer, frame),
+                            GameProtocol.getWinLines(buffer, frame));
+                    break;
+                case GameProtocol.TYPE_RESIGN:
+                    client.mListener.onOpponentResigned(client);
+                    break;
+                default:
+                    disconnect(client);
+            }
+        }
+        if (!client.mClosed) {
+            buffer.limit(end);
+            buffer.position(frame);
+            buffer.compact();
+        }
+    }
+
+    /**
+     * This helper method prepares the write buffer of a client for a frame.
+     *
+     * @return 'true' if the frame can be put into the write buffer.
+     */
+    boolean reserveFrame(GameClient client) {
+
+        if (client.mClosed) {
+            return false;
+        }
+        if (client.mWriteBuffer.remaining() < GameProtocol.FRAME_SIZE) {
+            disconnect(client);
+            return false;
+        }
+        if (!client.mDirty) {
+            client.mDirty = true;
+            mDirtyClients.add(client);
+        }
+        mSentFrames++;
+        return true;
+    }
+
+    /**
+     * This helper method writes the collected frames of all clients of this selection round.
+     */
+    private void flushDirtyClients() {
+        for (int index = 0; index < mDirtyClients.size(); index++) {
+            GameClient client = mDirtyClients.get(index);
+            client.mDirty = false;
+            flush(client);
+        }
+        mDirtyClients.clear();
+    }
+
+    /**
+     * This helper method writes as much of the write buffer as the channel takes and waits for
+     * the channel to become writable again if anything is left.
+     */
+    private void flush(GameClient client) {
+
+        if (client.mClosed || !client.mChannel.isConnected()) {
+            return;                             // Flushed after the connection is established
+        }
+        ByteBuffer buffer = client.mWriteBuffer;
+        buffer.flip();
+        try {
+            client.mChannel.write(buffer);
+        } catch (IOException e) {
+            disconnect(client);
+            return;
+        }
+        buffer.compact();
+        int interestOps = buffer.position() > 0
+                ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (client.mKey.interestOps() != interestOps) {
+            client.mKey.interestOps(interestOps);
+        }
+    }
+
+    /**
+     * This helper method closes the connection of a client and returns its buffers to the pool.
+     */
+    void disconnect(GameClient client) {
+
+        if (client.mClosed) {
+            return;
+        }
+        client.mClosed = true;
+        client.mKey.cancel();
+        try {
+            client.mChannel.close();
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+        mBufferPool.release(client.mReadBuffer);
+        mBufferPool.release(client.mWriteBuffer);
+        client.mListener.onDisconnected(client);
+    }
+}
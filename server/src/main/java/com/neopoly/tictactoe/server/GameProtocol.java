@@ -0,0 +1,158 @@
+package com.neopoly.tictactoe.server;
+
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.GameState;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This class defines the binary protocol between the 'GameServer' and its 'GameClient's. Each
+ * message is a frame of 'FRAME_SIZE' bytes in network byte order, so frames are read and written
+ * with absolute gets and puts on pooled buffers without any parsing or allocation:
+ *
+ *  byte 0      | byte 1          | byte 2              | byte 3    | bytes 4-7
+ * -------------|-----------------|---------------------|-----------|----------------------
+ *  TYPE_JOIN   | 0               | 0                   | 0         | 0
+ *  TYPE_MOVE   | field [0-8]     | 0                   | 0         | 0
+ *  TYPE_STATE  | receiver's flag | 'GameState' ordinal | win lines | packed playing field
+ *  TYPE_RESIGN | 0               | 0                   | 0         | 0
+ *
+ * The receiver's flag is the ordinal of the 'FieldFlag' the receiver plays with, the win lines are
+ * the mask of the 'GameLine' ordinals and the packed playing field is built by
+ * 'PackedPlayingField' - including the gamer on turn.
+ */
+public final class GameProtocol {
+
+    /** The size of each frame in bytes. */
+    public static final int FRAME_SIZE = 8;
+
+    /** A client asks to play the next game against the next joining client. */
+    public static final byte TYPE_JOIN = 1;
+    /** A client selects a field of its game. */
+    public static final byte TYPE_MOVE = 2;
+    /** The server reports the state of the game after a start or a selection. */
+    public static final byte TYPE_STATE = 3;
+    /** A client gives up its game - the server passes it on to the opponent. */
+    public static final byte TYPE_RESIGN = 4;
+
+    /** The offset of the type. */
+    private static final int OFFSET_TYPE = 0;
+    /** The offset of the field or of the receiver's flag. */
+    private static final int OFFSET_ARGUMENT = 1;
+    /** The offset of the 'GameState' ordinal. */
+    private static final int OFFSET_GAME_STATE = 2;
+    /** The offset of the win lines mask. */
+    private static final int OFFSET_WIN_LINES = 3;
+    /** The offset of the packed playing field. */
+    private static final int OFFSET_PACKED_PLAYING_FIELD = 4;
+
+    /** All 'FieldFlag's in the order of their ordinals - cached to avoid the 'values()'-copy. */
+    private static final FieldFlag[] FIELD_FLAGS = FieldFlag.values();
+    /** All 'GameState's in the order of their ordinals - cached to avoid the 'values()'-copy. */
+    private static final GameState[] GAME_STATES = GameState.values();
+
+    private GameProtocol() {}
+
+    /**
+     * This method puts a join frame at the position of the buffer.
+     */
+    public static void putJoin(ByteBuffer buffer) {
+        putFrame(buffer, TYPE_JOIN, 0, 0, 0, 0);
+    }
+
+    /**
+     * This method puts a move frame at the position of the buffer.
+     *
+     * @param field the selected field index from [0-8].
+     */
+    public static void putMove(ByteBuffer buffer, int field) {
+        putFrame(buffer, TYPE_MOVE, field, 0, 0, 0);
+    }
+
+    /**
+     * This method puts a state frame at the position of the buffer.
+     *
+     * @param gamer the 'FieldFlag' the receiver plays with.
+     * @param packedPlayingField the packed playing field including the gamer on turn.
+     * @param gameState the state of the game.
+     * @param winLines the mask of the 'GameLine' ordinals of the win lines.
+     */
+    public static void putState(ByteBuffer buffer, FieldFlag gamer, int packedPlayingField,
+                                GameState gameState, int winLines) {
+        putFrame(buffer, TYPE_STATE, gamer.ordinal(), gameState.ordinal(), winLines,
+                packedPlayingField);
+    }
+
+    /**
+     * This method puts a resign frame at the position of the buffer.
+     */
+    public static void putResign(ByteBuffer buffer) {
+        putFrame(buffer, TYPE_RESIGN, 0, 0, 0, 0);
+    }
+
+    /**
+     * This helper method puts the parts of a frame and advances the position by 'FRAME_SIZE'.
+     */
+    private static void putFrame(ByteBuffer buffer, byte type, int argument, int gameState,
+                                 int winLines, int packedPlayingField) {
+        buffer.put(type)
+                .put((byte) argument)
+                .put((byte) gameState)
+                .put((byte) winLines)
+                .putInt(packedPlayingField);
+    }
+
+    /**
+     * @param buffer the buffer holding the frame.
+     * @param frame the index of the first byte of the frame.
+     * @return the type of the frame.
+     */
+    public static byte getType(ByteBuffer buffer, int frame) {
+        return buffer.get(frame + OFFSET_TYPE);
+    }
+
+    /**
+     * @param buffer the buffer holding a move frame.
+     * @param frame the index of the first byte of the frame.
+     * @return the selected field - not validated.
+     */
+    public static int getField(ByteBuffer buffer, int frame) {
+        return buffer.get(frame + OFFSET_ARGUMENT);
+    }
+
+    /**
+     * @param buffer the buffer holding a state frame.
+     * @param frame the index of the first byte of the frame.
+     * @return the 'FieldFlag' the receiver plays with.
+     */
+    public static FieldFlag getGamer(ByteBuffer buffer, int frame) {
+        return FIELD_FLAGS[buffer.get(frame + OFFSET_ARGUMENT)];
+    }
+
+    /**
+     * @param buffer the buffer holding a state frame.
+     * @param frame the index of the first byte of the frame.
+     * @return the state of the game.
+     */
+    public static GameState getGameState(ByteBuffer buffer, int frame) {
+        return GAME_STATES[buffer.get(frame + OFFSET_GAME_STATE)];
+    }
+
+    /**
+     * @param buffer the buffer holding a state frame.
+     * @param frame the index of the first byte of the frame.
+     * @return the mask of the 'GameLine' ordinals of the win lines.
+     */
+    public static int getWinLines(ByteBuffer buffer, int frame) {
+        return buffer.get(frame + OFFSET_WIN_LINES) & 0xff;
+    }
+
+    /**
+     * @param buffer the buffer holding a state frame.
+     * @param frame the index of the first byte of the frame.
+     * @return the packed playing field including the gamer on turn.
+     */
+    public static int getPackedPlayingField(ByteBuffer buffer, int frame) {
+        return buffer.getInt(frame + OFFSET_PACKED_PLAYING_FIELD);
+    }
+}
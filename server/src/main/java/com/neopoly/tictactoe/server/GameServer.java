@@ -0,0 +1,450 @@
+package com.neopoly.tictactoe.server;
+
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.PackedPlayingField;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * This server lets clients play against each other over TCP with the frames of 'GameProtocol'.
+ * A client joins, is paired with the next joining client - the first of both is the first gamer -
+ * and both receive a state frame after the start and after each selection of their game. A move of
+ * a client not on turn only returns the unchanged state to it, a resignation or a disconnection
+ * ends the game and passes a resign frame to the opponent. After the end of a game both clients
+ * can join again.
+ *
+ * All connections are served by the single thread calling 'run()' with one 'Selector'. This thread
+ * owns all games, so the game logics are called directly without any synchronization, and the
+ * game logics of finished games are recycled by 'startNewGame()'. Each connection reads and writes
+ * through two direct buffers of a 'DirectBufferPool' and the frames are handled in place, so
+ * handling a frame allocates nothing. The frames for a connection are collected in its write
+ * buffer and written once per selection round.
+ */
+public class GameServer implements Runnable, Closeable {
+
+    /** The size of the read and write buffers of each connection in bytes. */
+    public static final int BUFFER_SIZE = 64 * GameProtocol.FRAME_SIZE;
+
+    /** The count of pending connections the operating system may queue. */
+    private static final int BACKLOG = 4096;
+    /** The maximum count of buffers kept for new connections. */
+    private static final int MAX_POOLED_BUFFERS = 1 << 14;
+
+    /** The channel accepting new connections. */
+    private final ServerSocketChannel mServerChannel;
+    /** The selector of all channels. */
+    private final Selector mSelector;
+    /** The read and write buffers of all connections. */
+    private final DirectBufferPool mBufferPool =
+            new DirectBufferPool(BUFFER_SIZE, MAX_POOLED_BUFFERS);
+    /** Creates the game logics if no recycled one is available. */
+    private final Supplier<? extends TicTacToeGameLogicInterface> mEngineFactory;
+    /** The game logics of finished games. */
+    private final ArrayDeque<TicTacToeGameLogicInterface> mRecycledEngines = new ArrayDeque<>();
+    /** The connections with frames in their write buffers. */
+    private final ArrayList<Connection> mDirtyConnections = new ArrayList<>();
+
+    /** The connection waiting for an opponent or 'null'. */
+    private Connection mWaitingConnection;
+    /** Marks whether the server has been closed. */
+    private volatile boolean mClosed;
+
+    /**
+     * @param address the address to listen on - the port '0' selects any free port.
+     * @throws IOException if the address can't be bound.
+     */
+    public GameServer(InetSocketAddress address) throws IOException {
+        this(address, TicTacToeGameLogic::new);
+    }
+
+    /**
+     * @param address the address to listen on - the port '0' selects any free port.
+     * @param engineFactory creates the game logics if no recycled one is available.
+     * @throws IOException if the address can't be bound.
+     */
+    public GameServer(InetSocketAddress address,
+                      Supplier<? extends TicTacToeGameLogicInterface> engineFactory)
+            throws IOException {
+
+        mEngineFactory = engineFactory;
+        mSelector = Selector.open();
+        mServerChannel = ServerSocketChannel.open();
+        try {
+            mServerChannel.configureBlocking(false);
+            mServerChannel.bind(address, BACKLOG);
+            mServerChannel.register(mSelector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            mServerChannel.close();
+            mSelector.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the port the server listens on.
+     */
+    public int getLocalPort() {
+        return mServerChannel.socket().getLocalPort();
+    }
+
+    /**
+     * This method serves all connections until the server is closed - and then closes them all.
+     */
+    @Override
+    public void run() {
+
+        try {
+            while (!mClosed) {
+                mSelector.select();
+                Iterator<SelectionKey> keys = mSelector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    if (key.isReadable()) {
+                        read(connection);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        flush(connection);
+                    }
+                }
+                flushDirtyConnections();
+            }
+        } catch (IOException e) {
+            // The selector failed - the server stops like a closed one
+        } finally {
+            for (SelectionKey key : mSelector.keys()) {
+                if (key.attachment() instanceof Connection) {
+                    disconnect((Connection) key.attachment());
+                }
+            }
+            closeQuietly(mServerChannel);
+            closeQuietly(mSelector);
+        }
+    }
+
+    /**
+     * This method stops 'run()' - which closes all connections before it returns.
+     */
+    @Override
+    public void close() {
+        mClosed = true;
+        mSelector.wakeup();
+    }
+
+    /**
+     * This helper method accepts all pending connections.
+     */
+    private void accept() throws IOException {
+
+        SocketChannel channel;
+        while ((channel = mServerChannel.accept()) != null) {
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            } catch (IOException e) {
+                closeQuietly(channel);          // The client is already gone
+                continue;
+            }
+            Connection connection = new Connection(channel, mBufferPool.acquire(),
+                    mBufferPool.acquire());
+            connection.mKey = channel.register(mSelector, SelectionKey.OP_READ, connection);
+        }
+    }
+
+    /**
+     * This helper method reads the available bytes of a connection and handles all complete
+     * frames in place - an incomplete frame is kept until the rest has been read.
+     */
+    private void read(Connection connection) {
+
+        ByteBuffer buffer = connection.mReadBuffer;
+        int read;
+        try {
+            read = connection.mChannel.read(buffer);
+        } catch (IOException e) {
+            read = -1;
+        }
+        if (read < 0) {
+            disconnect(connection);
+            return;
+        }
+
+        int end = buffer.position();
+        int frame = 0;
+        for (; frame + GameProtocol.FRAME_SIZE <= end && !connection.mClosed;
+             frame += GameProtocol.FRAME_SIZE) {
+            handleFrame(connection, buffer, frame);
+        }
+        if (!connection.mClosed) {
+            buffer.limit(end);
+            buffer.position(frame);
+            buffer.compact();
+        }
+    }
+
+    /**
+     * This helper method handles one frame - an unknown frame type disconnects the client.
+     */
+    private void handleFrame(Connection connection, ByteBuffer buffer, int frame) {
+        switch (GameProtocol.getType(buffer, frame)) {
+            case GameProtocol.TYPE_JOIN:
+                join(connection);
+                break;
+            case GameProtocol.TYPE_MOVE:
+                move(connection, GameProtocol.getField(buffer, frame));
+                break;
+            case GameProtocol.TYPE_RESIGN:
+                resign(connection);
+                break;
+            default:
+                disconnect(connection);
+        }
+    }
+
+    /**
+     * This helper method pairs the joining client with the waiting one or lets it wait.
+     */
+    private void join(Connection connection) {
+
+        if (connection.mEngine != null || connection == mWaitingConnection) {
+            return;                             // The client already plays or waits
+        }
+        if (mWaitingConnection == null) {
+            mWaitingConnection = connection;
+            return;
+        }
+
+        Connection first = mWaitingConnection;
+        mWaitingConnection = null;
+        TicTacToeGameLogicInterface engine = mRecycledEngines.pollFirst();
+        if (engine == null) {
+            engine = mEngineFactory.get();
+        }
+        engine.startNewGame();
+
+        first.setGame(engine, connection, FieldFlag.FIRST_GAMERS_FLAG);
+        connection.setGame(engine, first, FieldFlag.SECOND_GAMERS_FLAG);
+        sendState(first, engine, GameState.OPEN);
+
+        // A first client too slow for the frame is disconnected, which already resigned the game
+        if (connection.mEngine == engine) {
+            sendState(connection, engine, GameState.OPEN);
+        }
+    }
+
+    /**
+     * This helper method passes a selection of the client on turn to its game and reports the
+     * new state to both clients - or the unchanged state to a client not on turn.
+     */
+    private void move(Connection connection, int field) {
+
+        TicTacToeGameLogicInterface engine = connection.mEngine;
+        if (engine == null) {
+            return;                             // The game has already ended
+        }
+        if (!PackedPlayingField.getNextGamer(engine.getPackedPlayingFieldState())
+                .equals(connection.mGamer)) {
+            sendState(connection, engine, GameState.OPEN);
+            return;
+        }
+
+        Connection opponent = connection.mOpponent;
+        GameState gameState = engine.setFlagToField(field);
+        sendState(connection, engine, gameState);
+
+        // Each state frame may disconnect a client too slow for it, which ends the game at once
+        if (connection.mEngine == engine) {
+            sendState(opponent, engine, gameState);
+        }
+        if (!gameState.equals(GameState.OPEN) && connection.mEngine == engine) {
+            endGame(connection);
+        }
+    }
+
+    /**
+     * This helper method ends the game of the client and passes the resignation to the opponent.
+     */
+    private void resign(Connection connection) {
+
+        if (connection == mWaitingConnection) {
+            mWaitingConnection = null;
+        } else if (connection.mEngine != null) {
+            Connection opponent = connection.mOpponent;
+            endGame(connection);
+            if (reserveFrame(opponent)) {
+                GameProtocol.putResign(opponent.mWriteBuffer);
+            }
+        }
+    }
+
+    /**
+     * This helper method dissolves the pair of clients and recycles their game logic.
+     */
+    private void endGame(Connection connection) {
+        Connection opponent = connection.mOpponent;
+        mRecycledEngines.offerFirst(connection.mEngine);
+        connection.setGame(null, null, null);
+        opponent.setGame(null, null, null);
+    }
+
+    /**
+     * This helper method puts a state frame of the game for the client into its write buffer.
+     */
+    private void sendState(Connection connection, TicTacToeGameLogicInterface engine,
+                           GameState gameState) {
+        if (reserveFrame(connection)) {
+            GameProtocol.putState(connection.mWriteBuffer, connection.mGamer,
+                    engine.getPackedPlayingFieldState(), gameState, engine.getWinLinesMask());
+        }
+    }
+
+    /**
+     * This helper method prepares the write buffer of a connection for a frame. A client which
+     * doesn't read its frames fast enough to leave room for another one is disconnected.
+     *
+     * @return 'true' if the frame can be put into the write buffer.
+     */
+    private boolean reserveFrame(Connection connection) {
+
+        if (connection.mClosed) {
+            return false;
+        }
+        if (connection.mWriteBuffer.remaining() < GameProtocol.FRAME_SIZE) {
+            disconnect(connection);
+            return false;
+        }
+        if (!connection.mDirty) {
+            connection.mDirty = true;
+            mDirtyConnections.add(connection);
+        }
+        return true;
+    }
+
+    /**
+     * This helper method writes the collected frames of all connections of this selection round.
+     */
+    private void flushDirtyConnections() {
+        for (int index = 0; index < mDirtyConnections.size(); index++) {
+            Connection connection = mDirtyConnections.get(index);
+            connection.mDirty = false;
+            flush(connection);
+        }
+        mDirtyConnections.clear();
+    }
+
+    /**
+     * This helper method writes as much of the write buffer as the channel takes and waits for
+     * the channel to become writable again if anything is left.
+     */
+    private void flush(Connection connection) {
+
+        if (connection.mClosed) {
+            return;
+        }
+        ByteBuffer buffer = connection.mWriteBuffer;
+        buffer.flip();
+        try {
+            connection.mChannel.write(buffer);
+        } catch (IOException e) {
+            disconnect(connection);
+            return;
+        }
+        buffer.compact();
+        int interestOps = buffer.position() > 0
+                ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (connection.mKey.interestOps() != interestOps) {
+            connection.mKey.interestOps(interestOps);
+        }
+    }
+
+    /**
+     * This helper method closes a connection, ends its game and returns its buffers to the pool.
+     */
+    private void disconnect(Connection connection) {
+
+        if (connection.mClosed) {
+            return;
+        }
+        connection.mClosed = true;
+        resign(connection);
+        if (connection.mKey != null) {
+            connection.mKey.cancel();
+        }
+        closeQuietly(connection.mChannel);
+        mBufferPool.release(connection.mReadBuffer);
+        mBufferPool.release(connection.mWriteBuffer);
+    }
+
+    /**
+     * This helper method closes a channel or selector ignoring any failure.
+     */
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+    }
+
+    /**
+     * This class holds the state of one client connection.
+     */
+    private static class Connection {
+
+        /** The channel of the client. */
+        private final SocketChannel mChannel;
+        /** The bytes read from the client which haven't been handled yet. */
+        private final ByteBuffer mReadBuffer;
+        /** The frames for the client which haven't been written yet. */
+        private final ByteBuffer mWriteBuffer;
+        /** The key of the channel at the selector. */
+        private SelectionKey mKey;
+
+        /** The game logic of the current game or 'null'. */
+        private TicTacToeGameLogicInterface mEngine;
+        /** The opponent in the current game or 'null'. */
+        private Connection mOpponent;
+        /** The 'FieldFlag' of the client in the current game or 'null'. */
+        private FieldFlag mGamer;
+
+        /** Marks whether frames have been put into the write buffer in this selection round. */
+        private boolean mDirty;
+        /** Marks whether the connection has been closed. */
+        private boolean mClosed;
+
+        Connection(SocketChannel channel, ByteBuffer readBuffer, ByteBuffer writeBuffer) {
+            mChannel = channel;
+            mReadBuffer = readBuffer;
+            mWriteBuffer = writeBuffer;
+        }
+
+        void setGame(TicTacToeGameLogicInterface engine, Connection opponent, FieldFlag gamer) {
+            mEngine = engine;
+            mOpponent = opponent;
+            mGamer = gamer;
+        }
+    }
+}
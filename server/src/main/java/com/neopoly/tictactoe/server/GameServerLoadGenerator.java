@@ -0,0 +1,256 @@
+package com.neopoly.tictactoe.server;
+
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.PackedPlayingField;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+import com.neopoly.tictactoe.simulation.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.SplittableRandom;
+
+/**
+ * This load test starts a 'GameServer' on localhost and lets a large count of simulated players
+ * play random games on it through one 'GameClientLoop'. Each player joins, selects a random empty
+ * field whenever it is on turn and joins again after the end of a game, until it has played its
+ * count of games. The latency of a move is the time from putting the move frame until the state
+ * frame answering it has been received - so it includes the batching of both selector loops.
+ */
+public class GameServerLoadGenerator {
+
+    /** The mask of all fields of the playing field. */
+    private static final int ALL_FIELDS = (1 << TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT) - 1;
+
+    /** The count of simulated players. */
+    private final int mPlayers;
+    /** The count of games each player plays. */
+    private final int mGamesPerPlayer;
+
+    /**
+     * @param players the count of simulated players - an even count, so all players get paired.
+     * @param gamesPerPlayer the count of games each player plays.
+     */
+    public GameServerLoadGenerator(int players, int gamesPerPlayer) {
+
+        if (players < 2 || players % 2 != 0 || gamesPerPlayer < 1) {
+            throw new IllegalArgumentException();
+        }
+        mPlayers = players;
+        mGamesPerPlayer = gamesPerPlayer;
+    }
+
+    /**
+     * This method runs the load test until all players have played their games.
+     *
+     * @param seed the seed of the random selections.
+     * @param timeoutMillis the maximum duration of the test in milliseconds.
+     * @return the result of the test.
+     * @throws IOException if the server or the clients can't be started.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    public Result run(long seed, long timeoutMillis) throws IOException, InterruptedException {
+
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        GameServer server = new GameServer(new InetSocketAddress(loopback, 0));
+        Thread serverThread = new Thread(server, "game-server");
+        serverThread.start();
+        GameClientLoop clientLoop = new GameClientLoop();
+        try {
+            InetSocketAddress address = new InetSocketAddress(loopback, server.getLocalPort());
+            PlayerState state = new PlayerState(clientLoop, seed);
+            for (int player = 0; player < mPlayers; player++) {
+                clientLoop.connect(address, new SimulatedPlayer(state));
+            }
+
+            long startNanos = System.nanoTime();
+            Thread clientThread = new Thread(clientLoop, "game-clients");
+            clientThread.start();
+            clientThread.join(timeoutMillis);
+            long elapsedNanos = System.nanoTime() - startNanos;
+            clientLoop.close();
+            clientThread.join();
+
+            return new Result(state.mFinishedGames / 2, clientLoop.getSentFrames()
+                    + clientLoop.getReceivedFrames(), elapsedNanos, state.mLatencies.snapshot(),
+                    state.mFinishedPlayers == mPlayers);
+        } finally {
+            clientLoop.close();
+            server.close();
+            serverThread.join();
+        }
+    }
+
+    /**
+     * This class holds the state shared by all players - only accessed by the client loop thread.
+     */
+    private static class PlayerState {
+
+        /** The loop of all clients. */
+        private final GameClientLoop mClientLoop;
+        /** The random selections of all players. */
+        private final SplittableRandom mRandom;
+        /** The latencies of all moves. */
+        private final LatencyHistogram mLatencies = new LatencyHistogram();
+        /** The count of games finished by each player - each game is counted by both players. */
+        private long mFinishedGames;
+        /** The count of players which have played all their games. */
+        private int mFinishedPlayers;
+
+        PlayerState(GameClientLoop clientLoop, long seed) {
+            mClientLoop = clientLoop;
+            mRandom = new SplittableRandom(seed);
+        }
+    }
+
+    /**
+     * This listener plays the random games of one player.
+     */
+    private class SimulatedPlayer implements GameClient.Listener {
+
+        /** The state shared by all players. */
+        private final PlayerState mState;
+        /** The count of games this player has finished. */
+        private int mGames;
+        /** The time the last move has been sent in nanoseconds or '0' if none is pending. */
+        private long mMoveNanos;
+
+        SimulatedPlayer(PlayerState state) {
+            mState = state;
+        }
+
+        @Override
+        public void onConnected(GameClient client) {
+            client.join();
+        }
+
+        @Override
+        public void onStateUpdate(GameClient client, FieldFlag gamer, int packedPlayingField,
+                                  GameState gameState, int winLines) {
+
+            if (mMoveNanos != 0) {
+                mState.mLatencies.record(System.nanoTime() - mMoveNanos);
+                mMoveNanos = 0;
+            }
+            if (!gameState.equals(GameState.OPEN)) {
+                finishGame(client);
+            } else if (PackedPlayingField.getNextGamer(packedPlayingField).equals(gamer)) {
+
+                // Select the n-th empty field
+                int fields = ALL_FIELDS
+                        & ~PackedPlayingField.getFirstGamersFields(packedPlayingField)
+                        & ~PackedPlayingField.getSecondGamersFields(packedPlayingField);
+                for (int skip = mState.mRandom.nextInt(Integer.bitCount(fields)); skip > 0;
+                     skip--) {
+                    fields &= fields - 1;
+                }
+                mMoveNanos = System.nanoTime();
+                client.move(Integer.numberOfTrailingZeros(fields));
+            }
+        }
+
+        @Override
+        public void onOpponentResigned(GameClient client) {
+            finishGame(client);
+        }
+
+        @Override
+        public void onDisconnected(GameClient client) {
+            // The loop closes all clients at the end of the test
+        }
+
+        /**
+         * This helper method counts the finished game and joins the next game if any is left.
+         */
+        private void finishGame(GameClient client) {
+            mState.mFinishedGames++;
+            if (++mGames < mGamesPerPlayer) {
+                client.join();
+            } else if (++mState.mFinishedPlayers == mPlayers) {
+                mState.mClientLoop.close();
+            }
+        }
+    }
+
+    /**
+     * This class holds the result of a load test.
+     */
+    public static class Result {
+
+        /** The count of played games. */
+        private final long mGames;
+        /** The count of frames sent and received by all clients. */
+        private final long mMessages;
+        /** The duration of the test in nanoseconds. */
+        private final long mElapsedNanos;
+        /** The latencies of all moves. */
+        private final LatencyHistogram.Snapshot mLatencies;
+        /** Marks whether all players have played all their games. */
+        private final boolean mCompleted;
+
+        Result(long games, long messages, long elapsedNanos, LatencyHistogram.Snapshot latencies,
+               boolean completed) {
+            mGames = games;
+            mMessages = messages;
+            mElapsedNanos = elapsedNanos;
+            mLatencies = latencies;
+            mCompleted = completed;
+        }
+
+        /**
+         * @return the count of played games.
+         */
+        public long getGames() {
+            return mGames;
+        }
+
+        /**
+         * @return the count of frames sent and received by all clients.
+         */
+        public long getMessages() {
+            return mMessages;
+        }
+
+        /**
+         * @return the count of frames sent and received by all clients per second.
+         */
+        public double getMessagesPerSecond() {
+            return mMessages * 1e9 / mElapsedNanos;
+        }
+
+        /**
+         * @return the latencies of all moves.
+         */
+        public LatencyHistogram.Snapshot getLatencies() {
+            return mLatencies;
+        }
+
+        /**
+         * @return 'true' if all players have played all their games before the timeout.
+         */
+        public boolean isCompleted() {
+            return mCompleted;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("games: %d, messages: %d, elapsed: %d ms, %.0f messages/s, "
+                            + "p99: <%d us%s%n  moves: %s%n", mGames, mMessages,
+                    mElapsedNanos / 1000000, getMessagesPerSecond(),
+                    mLatencies.getPercentileNanos(99) / 1000, mCompleted ? "" : " (timed out)",
+                    mLatencies);
+        }
+    }
+
+    /**
+     * This method runs the load test with the given count of players - two thousand by default -
+     * and games per player - fifty by default - and prints the result.
+     */
+    public static void main(String[] args) throws Exception {
+
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int gamesPerPlayer = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        System.out.print(new GameServerLoadGenerator(players, gamesPerPlayer).run(1, 600000));
+    }
+}
@@ -0,0 +1,241 @@
+package com.neopoly.tictactoe.server;
+
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * This manager hosts any count of simultaneous games, each in a session with its own game logic.
+ * Game logics are single-threaded, so all calls of a session run one after another on its own
+ * 'SerialExecutor', while the sessions share the threads of one executor - a session costs no
+ * thread and no lock, only its entry in a 'ConcurrentHashMap'. Lookups never block and creating or
+ * closing sessions only locks the single bin of the map.
+ *
+ * Sessions which haven't been used for the idle timeout are closed by 'evictIdleSessions()', which
+ * the host calls periodically. The game logics of closed sessions are recycled by 'startNewGame()'
+ * for new sessions instead of being allocated again.
+ */
+public class GameSessionManager {
+
+    /** This exception completes the calls of sessions which don't exist or have been closed. */
+    public static class UnknownSessionException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /** The shared executor running the calls of all sessions. */
+    private final Executor mExecutor;
+    /** Creates the game logics if no recycled one is available. */
+    private final Supplier<? extends TicTacToeGameLogicInterface> mEngineFactory;
+    /** The time in nanoseconds after which an unused session is evicted. */
+    private final long mIdleTimeoutNanos;
+    /** The clock of the last use of the sessions in nanoseconds. */
+    private final LongSupplier mNanoClock;
+
+    /** The open sessions by their id. */
+    private final ConcurrentHashMap<Long, GameSession> mSessions = new ConcurrentHashMap<>();
+    /** The game logics of closed sessions - never more than the peak count of sessions. */
+    private final Queue<TicTacToeGameLogicInterface> mRecycledEngines =
+            new ConcurrentLinkedQueue<>();
+    /** The id of the last created session. */
+    private final AtomicLong mLastSessionId = new AtomicLong();
+
+    /**
+     * @param executor the shared executor running the calls of all sessions.
+     * @param idleTimeoutNanos the time in nanoseconds after which an unused session is evicted.
+     */
+    public GameSessionManager(Executor executor, long idleTimeoutNanos) {
+        this(executor, TicTacToeGameLogic::new, idleTimeoutNanos, System::nanoTime);
+    }
+
+    /**
+     * @param executor the shared executor running the calls of all sessions.
+     * @param engineFactory creates the game logics if no recycled one is available.
+     * @param idleTimeoutNanos the time in nanoseconds after which an unused session is evicted.
+     * @param nanoClock the clock of the last use of the sessions in nanoseconds.
+     */
+    public GameSessionManager(Executor executor,
+                              Supplier<? extends TicTacToeGameLogicInterface> engineFactory,
+                              long idleTimeoutNanos, LongSupplier nanoClock) {
+
+        if (idleTimeoutNanos <= 0) {
+            throw new IllegalArgumentException();
+        }
+        mExecutor = executor;
+        mEngineFactory = engineFactory;
+        mIdleTimeoutNanos = idleTimeoutNanos;
+        mNanoClock = nanoClock;
+    }
+
+    /**
+     * This method opens a session with a new game - played by a recycled game logic if available.
+     *
+     * @return the id of the new session.
+     */
+    public long createSession() {
+
+        TicTacToeGameLogicInterface engine = mRecycledEngines.poll();
+        if (engine == null) {
+            engine = mEngineFactory.get();
+        }
+        engine.startNewGame();
+
+        long sessionId = mLastSessionId.incrementAndGet();
+        mSessions.put(sessionId, new GameSession(engine, new SerialExecutor(mExecutor),
+                mNanoClock.getAsLong()));
+        return sessionId;
+    }
+
+    /**
+     * This method runs an action on the game logic of a session after all calls submitted to
+     * the session before. The action must not keep the game logic, because it is recycled after
+     * the session has been closed.
+     *
+     * @param sessionId the id of the session.
+     * @param action the action reading or changing the game logic.
+     * @return the future of the action's result - completed exceptionally by an
+     * 'UnknownSessionException' if the session doesn't exist or has been closed before, by the
+     * failure of the action or by a 'RejectedExecutionException' of the shared executor.
+     */
+    public <T> CompletableFuture<T> execute(long sessionId,
+                                            Function<TicTacToeGameLogicInterface, T> action) {
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        GameSession session = mSessions.get(sessionId);
+        if (session == null) {
+            future.completeExceptionally(new UnknownSessionException());
+            return future;
+        }
+        session.mLastUseNanos = mNanoClock.getAsLong();
+        try {
+            session.mSerialExecutor.execute(() -> {
+                if (session.mEngine == null) {
+                    future.completeExceptionally(new UnknownSessionException());
+                    return;
+                }
+                try {
+                    future.complete(action.apply(session.mEngine));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * This method routes a selection to the game of a session.
+     *
+     * @param sessionId the id of the session.
+     * @param field the selected field index from [0-8].
+     * @return the future of the 'GameState' after the selection.
+     */
+    public CompletableFuture<GameState> setFlagToField(long sessionId, int field) {
+        return execute(sessionId, engine -> engine.setFlagToField(field));
+    }
+
+    /**
+     * This method starts a new game in a session.
+     *
+     * @param sessionId the id of the session.
+     * @return the future completed after the new game has been started.
+     */
+    public CompletableFuture<Void> startNewGame(long sessionId) {
+        return execute(sessionId, engine -> {
+            engine.startNewGame();
+            return null;
+        });
+    }
+
+    /**
+     * This method closes a session. Calls submitted before still run, all later calls fail.
+     *
+     * @param sessionId the id of the session.
+     * @return 'true' if the session has been open.
+     */
+    public boolean closeSession(long sessionId) {
+
+        GameSession session = mSessions.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        close(session);
+        return true;
+    }
+
+    /**
+     * This method closes all sessions which haven't been used for the idle timeout.
+     *
+     * @return the count of closed sessions.
+     */
+    public int evictIdleSessions() {
+
+        long now = mNanoClock.getAsLong();
+        int evicted = 0;
+        for (Map.Entry<Long, GameSession> entry : mSessions.entrySet()) {
+            GameSession session = entry.getValue();
+            if (now - session.mLastUseNanos >= mIdleTimeoutNanos
+                    && mSessions.remove(entry.getKey(), session)) {
+                close(session);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * @return the count of open sessions.
+     */
+    public int getSessionCount() {
+        return mSessions.size();
+    }
+
+    /**
+     * This helper method recycles the game logic of a removed session after its pending calls.
+     */
+    private void close(GameSession session) {
+        session.mSerialExecutor.execute(() -> {
+            TicTacToeGameLogicInterface engine = session.mEngine;
+            session.mEngine = null;
+            engine.setGameLogicListener(null);
+            mRecycledEngines.offer(engine);
+        });
+    }
+
+    /**
+     * This class holds the state of one session.
+     */
+    private static class GameSession {
+
+        /** Runs the calls of this session one after another. */
+        private final SerialExecutor mSerialExecutor;
+        /**
+         * The game logic of this session or 'null' after it has been closed - only accessed by
+         * the calls of this session, which are ordered by the 'SerialExecutor'.
+         */
+        private TicTacToeGameLogicInterface mEngine;
+        /** The time of the last call of this session in nanoseconds. */
+        private volatile long mLastUseNanos;
+
+        GameSession(TicTacToeGameLogicInterface engine, SerialExecutor serialExecutor,
+                    long lastUseNanos) {
+            mEngine = engine;
+            mSerialExecutor = serialExecutor;
+            mLastUseNanos = lastUseNanos;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.neopoly.tictactoe.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This executor runs its tasks one after another in the order of submission on a shared executor,
+ * so the tasks of one game session never run concurrently and see all changes of the tasks before
+ * them, while any count of sessions share the threads of one executor. It holds no thread and no
+ * lock: an idle serial executor is just an empty queue.
+ */
+class SerialExecutor implements Executor {
+
+    /** The shared executor running the tasks. */
+    private final Executor mExecutor;
+    /** The submitted tasks which haven't been run yet. */
+    private final Queue<Runnable> mTasks = new ConcurrentLinkedQueue<>();
+    /** The count of submitted tasks which haven't finished yet. */
+    private final AtomicInteger mPendingTasks = new AtomicInteger();
+    /** Runs the submitted tasks until none is pending anymore. */
+    private final Runnable mDrain = this::drain;
+
+    SerialExecutor(Executor executor) {
+        mExecutor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+
+        // The task is queued before it is counted, so each counted task can be polled
+        mTasks.offer(task);
+        if (mPendingTasks.getAndIncrement() == 0) {
+            try {
+                mExecutor.execute(mDrain);
+            } catch (RejectedExecutionException e) {
+                // Take the task back, so the next submission schedules the drain again - tasks
+                // submitted in the meantime wait for this drain, so they run on this thread
+                mTasks.remove(task);
+                if (mPendingTasks.decrementAndGet() > 0) {
+                    drain();
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * This helper method runs the queued tasks - only one thread at a time, because it is
+     * scheduled only by the submission which raised the count of pending tasks from '0'.
+     */
+    private void drain() {
+        do {
+            try {
+                mTasks.poll().run();
+            } catch (Throwable e) {
+                // Each task reports its own failures - the following tasks run anyway
+            }
+        } while (mPendingTasks.decrementAndGet() > 0);
+    }
+}
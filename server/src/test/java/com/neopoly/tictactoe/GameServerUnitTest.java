@@ -0,0 +1,296 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.PackedPlayingField;
+import com.neopoly.tictactoe.server.GameProtocol;
+import com.neopoly.tictactoe.server.GameServer;
+import com.neopoly.tictactoe.server.GameServerLoadGenerator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.FutureTask;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the GameServer with blocking clients speaking the raw 'GameProtocol' and with the load
+ * generator.
+ */
+public class GameServerUnitTest {
+
+    /**An abbreviated notation for 'FieldFlag.FIRST_GAMERS_FLAG'. */
+    private static final FieldFlag X = FieldFlag.FIRST_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.SECOND_GAMERS_FLAG'. */
+    private static final FieldFlag O = FieldFlag.SECOND_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.EMPTY_FIELD'. */
+    private static final FieldFlag E = FieldFlag.EMPTY_FIELD;
+
+    private GameServer mServer;
+    private Thread mServerThread;
+
+    @Before
+    public void setUp() throws Exception {
+        mServer = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        mServerThread = new Thread(mServer);
+        mServerThread.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        mServer.close();
+        mServerThread.join();
+    }
+
+    @Test
+    /**
+     * Test that all frames keep their values in exactly 'FRAME_SIZE' bytes.
+     */
+    public void gameProtocol_allFrames_roundTrip() throws Exception {
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 * GameProtocol.FRAME_SIZE);
+        int packedPlayingField =
+                PackedPlayingField.pack(new FieldFlag[] {X, X, X, O, O, E, E, E, E}, E);
+        GameProtocol.putJoin(buffer);
+        GameProtocol.putMove(buffer, 8);
+        GameProtocol.putState(buffer, O, packedPlayingField, GameState.DOUBLE_WIN_FIRST, 0xff);
+        GameProtocol.putResign(buffer);
+        assertEquals(0, buffer.remaining());
+
+        int frame = 0;
+        assertEquals(GameProtocol.TYPE_JOIN, GameProtocol.getType(buffer, frame));
+        frame += GameProtocol.FRAME_SIZE;
+        assertEquals(GameProtocol.TYPE_MOVE, GameProtocol.getType(buffer, frame));
+        assertEquals(8, GameProtocol.getField(buffer, frame));
+        frame += GameProtocol.FRAME_SIZE;
+        assertEquals(GameProtocol.TYPE_STATE, GameProtocol.getType(buffer, frame));
+        assertEquals(O, GameProtocol.getGamer(buffer, frame));
+        assertEquals(packedPlayingField, GameProtocol.getPackedPlayingField(buffer, frame));
+        assertEquals(GameState.DOUBLE_WIN_FIRST, GameProtocol.getGameState(buffer, frame));
+        assertEquals(0xff, GameProtocol.getWinLines(buffer, frame));
+        frame += GameProtocol.FRAME_SIZE;
+        assertEquals(GameProtocol.TYPE_RESIGN, GameProtocol.getType(buffer, frame));
+    }
+
+    @Test
+    /**
+     * Test a whole game of two clients - including a move of the client not on turn - and a
+     * resignation in the next game:
+     *
+     *  X | X | X
+     * ---|---|---
+     *  O | O | □
+     * ---|---|---
+     *  □ | □ | □
+     */
+    public void run_twoClients_playGames() throws Exception {
+
+        try (SocketChannel first = connect(); SocketChannel second = connect()) {
+            SocketChannel[] gamers = startGame(first, second);
+
+            // The client not on turn only receives the unchanged state
+            send(gamers[1], GameProtocol.TYPE_MOVE, 4);
+            assertState(receive(gamers[1]), O, PackedPlayingField.EMPTY, GameState.OPEN, 0);
+
+            int[] sequence = new int[] {0, 3, 1, 4, 2};
+            FieldFlag[] playingField = new FieldFlag[] {E, E, E, E, E, E, E, E, E};
+            for (int turn = 0; turn < sequence.length; turn++) {
+                FieldFlag gamer = turn % 2 == 0 ? X : O;
+                playingField[sequence[turn]] = gamer;
+                boolean finished = turn == sequence.length - 1;
+                int expected = PackedPlayingField.pack(playingField,
+                        finished ? E : gamer.equals(X) ? O : X);
+                GameState gameState = finished ? GameState.WINNER_FIRST : GameState.OPEN;
+                int winLines = finished ? 1 : 0;                // 'GameLine.ROW_HEAD'
+
+                send(gamers[turn % 2], GameProtocol.TYPE_MOVE, sequence[turn]);
+                assertState(receive(gamers[0]), X, expected, gameState, winLines);
+                assertState(receive(gamers[1]), O, expected, gameState, winLines);
+            }
+
+            // After a finished game both can join again
+            gamers = startGame(first, second);
+            send(gamers[0], GameProtocol.TYPE_RESIGN, 0);
+            assertEquals(GameProtocol.TYPE_RESIGN, GameProtocol.getType(receive(gamers[1]), 0));
+
+            // A disconnection resigns as well
+            gamers = startGame(first, second);
+            gamers[1].close();
+            assertEquals(GameProtocol.TYPE_RESIGN, GameProtocol.getType(receive(gamers[0]), 0));
+        }
+    }
+
+    @Test
+    /**
+     * Test that a load test of some hundred players completes all games and measures all moves.
+     */
+    public void loadGenerator_manyPlayers_playsAllGames() throws Exception {
+
+        GameServerLoadGenerator.Result result =
+                new GameServerLoadGenerator(200, 10).run(3, 60000);
+        assertTrue(result.isCompleted());
+        assertEquals(200 * 10 / 2, result.getGames());
+
+        // Each game takes at least five and at most nine moves, each answered by two states
+        long moves = result.getLatencies().getCount();
+        assertTrue(moves >= 5 * result.getGames() && moves <= 9 * result.getGames());
+        assertEquals(2 * 200 * 10 + 3 * moves, result.getMessages());
+        assertTrue(result.getMessagesPerSecond() > 0);
+    }
+
+    @Test(timeout = 60000)
+    /**
+     * Test that a client on turn which doesn't read its frames is disconnected as soon as its
+     * write buffer is full - its opponent receives the resignation instead of the state of the
+     * ignored selections and the server keeps serving other clients.
+     */
+    public void run_nonReadingClient_isDisconnected() throws Exception {
+
+        try (SocketChannel first = connect(); SocketChannel second = connect()) {
+            SocketChannel[] gamers = startGame(first, second);
+
+            // The opponent reads all frames until the resignation in the background
+            final SocketChannel opponent = gamers[1];
+            FutureTask<Byte> opponentFrames = new FutureTask<>(() -> {
+                ByteBuffer frame = receive(opponent);
+                while (GameProtocol.getType(frame, 0) == GameProtocol.TYPE_STATE) {
+                    assertEquals(O, GameProtocol.getGamer(frame, 0));
+                    frame = receive(opponent);
+                }
+                return GameProtocol.getType(frame, 0);
+            });
+            new Thread(opponentFrames).start();
+
+            // Ignored selections of the first gamer are answered to both until it is disconnected
+            ByteBuffer moves = ByteBuffer.allocate(64 * GameProtocol.FRAME_SIZE);
+            while (moves.hasRemaining()) {
+                GameProtocol.putMove(moves, 9);
+            }
+            try {
+                while (true) {
+                    moves.clear();
+                    while (moves.hasRemaining()) {
+                        gamers[0].write(moves);
+                    }
+                }
+            } catch (IOException e) {
+                // Expected - the server has closed the connection
+            }
+            assertEquals(GameProtocol.TYPE_RESIGN, (byte) opponentFrames.get());
+
+            // The opponent can play a new game
+            try (SocketChannel third = connect()) {
+                startGame(opponent, third);
+            }
+        }
+    }
+
+    @Test
+    /**
+     * Test that a disconnection in the middle of a game and an unknown frame type - which
+     * disconnects the client - both pass a resignation to the opponent.
+     */
+    public void run_disconnectionAndUnknownFrame_resignGame() throws Exception {
+
+        try (SocketChannel first = connect(); SocketChannel second = connect()) {
+            SocketChannel[] gamers = startGame(first, second);
+            send(gamers[0], GameProtocol.TYPE_MOVE, 4);
+            receive(gamers[0]);
+            receive(gamers[1]);
+            send(gamers[1], GameProtocol.TYPE_MOVE, 0);
+            receive(gamers[0]);
+            receive(gamers[1]);
+            gamers[0].close();
+            assertEquals(GameProtocol.TYPE_RESIGN, GameProtocol.getType(receive(gamers[1]), 0));
+
+            try (SocketChannel third = connect()) {
+                gamers = startGame(gamers[1], third);
+                ByteBuffer unknown = ByteBuffer.allocate(GameProtocol.FRAME_SIZE);
+                unknown.put(0, (byte) 99);
+                gamers[1].write(unknown);
+                assertEquals(GameProtocol.TYPE_RESIGN,
+                        GameProtocol.getType(receive(gamers[0]), 0));
+                assertEquals(-1, gamers[1].read(ByteBuffer.allocate(GameProtocol.FRAME_SIZE)));
+            }
+        }
+    }
+
+    /**
+     * This helper method lets both clients join a new game - the server decides which of them
+     * joined first.
+     *
+     * @return the client of the first gamer followed by the client of the second gamer.
+     */
+    private static SocketChannel[] startGame(SocketChannel first, SocketChannel second)
+            throws IOException {
+
+        send(first, GameProtocol.TYPE_JOIN, 0);
+        send(second, GameProtocol.TYPE_JOIN, 0);
+        ByteBuffer firstState = receive(first);
+        ByteBuffer secondState = receive(second);
+        boolean firstX = GameProtocol.getGamer(firstState, 0).equals(X);
+        assertState(firstState, firstX ? X : O, PackedPlayingField.EMPTY, GameState.OPEN, 0);
+        assertState(secondState, firstX ? O : X, PackedPlayingField.EMPTY, GameState.OPEN, 0);
+        return firstX ? new SocketChannel[] {first, second} : new SocketChannel[] {second, first};
+    }
+
+    /**
+     * This helper method connects a blocking client to the server.
+     */
+    private SocketChannel connect() throws IOException {
+        return SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                mServer.getLocalPort()));
+    }
+
+    /**
+     * This helper method writes a join, move or resign frame.
+     */
+    private static void send(SocketChannel channel, byte type, int field) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate(GameProtocol.FRAME_SIZE);
+        if (type == GameProtocol.TYPE_MOVE) {
+            GameProtocol.putMove(buffer, field);
+        } else if (type == GameProtocol.TYPE_JOIN) {
+            GameProtocol.putJoin(buffer);
+        } else {
+            GameProtocol.putResign(buffer);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * This helper method reads the next frame.
+     */
+    private static ByteBuffer receive(SocketChannel channel) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate(GameProtocol.FRAME_SIZE);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                fail();
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * This helper method compares a received state frame.
+     */
+    private static void assertState(ByteBuffer frame, FieldFlag gamer, int packedPlayingField,
+                                    GameState gameState, int winLines) {
+        assertEquals(GameProtocol.TYPE_STATE, GameProtocol.getType(frame, 0));
+        assertEquals(gamer, GameProtocol.getGamer(frame, 0));
+        assertEquals(packedPlayingField, GameProtocol.getPackedPlayingField(frame, 0));
+        assertEquals(gameState, GameProtocol.getGameState(frame, 0));
+        assertEquals(winLines, GameProtocol.getWinLines(frame, 0));
+    }
+}
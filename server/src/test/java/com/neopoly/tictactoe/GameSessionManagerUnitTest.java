@@ -0,0 +1,179 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.PackedPlayingField;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+import com.neopoly.tictactoe.server.GameSessionManager;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the GameSessionManager with many concurrent sessions and idle sessions.
+ */
+public class GameSessionManagerUnitTest {
+
+    @Test
+    /**
+     * Test that the selections of many sessions submitted by several threads without waiting
+     * are played in the order of submission per session on a shared pool of threads:
+     *
+     *  X | X | X
+     * ---|---|---
+     *  O | O | □
+     * ---|---|---
+     *  □ | □ | □
+     */
+    public void setFlagToField_manyConcurrentSessions_isSerializedPerSession() throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ExecutorService clients = Executors.newFixedThreadPool(3);
+        AtomicInteger engines = new AtomicInteger();
+        GameSessionManager manager = new GameSessionManager(executor, () -> {
+            engines.incrementAndGet();
+            return new TicTacToeGameLogic();
+        }, TimeUnit.MINUTES.toNanos(1), System::nanoTime);
+        try {
+            int sessions = 3000;
+            int[] sequence = new int[] {0, 3, 1, 4, 2};
+            List<CompletableFuture<List<CompletableFuture<GameState>>>> clientFutures =
+                    new ArrayList<>();
+            for (int client = 0; client < 3; client++) {
+                clientFutures.add(CompletableFuture.supplyAsync(() -> {
+                    List<CompletableFuture<GameState>> results = new ArrayList<>();
+                    for (int session = 0; session < sessions / 3; session++) {
+                        long sessionId = manager.createSession();
+                        for (int field : sequence) {
+                            results.add(manager.setFlagToField(sessionId, field));
+                        }
+                        results.add(manager.execute(sessionId, engine ->
+                                engine.getFirstGamersFields() == 1 + 2 + 4
+                                        && engine.getWinLinesMask() == 1
+                                        ? GameState.WINNER_FIRST : GameState.OPEN));
+                    }
+                    return results;
+                }, clients));
+            }
+
+            for (CompletableFuture<List<CompletableFuture<GameState>>> client : clientFutures) {
+                List<CompletableFuture<GameState>> results = client.get();
+                for (int result = 0; result < results.size(); result++) {
+                    int turn = result % (sequence.length + 1);
+                    assertEquals(turn < sequence.length - 1 ? GameState.OPEN
+                            : GameState.WINNER_FIRST, results.get(result).get());
+                }
+            }
+            assertEquals(sessions, manager.getSessionCount());
+            assertEquals(sessions, engines.get());
+        } finally {
+            clients.shutdown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    /**
+     * Test that only idle sessions are evicted, that calls of closed sessions fail and that new
+     * sessions recycle the game logics of closed sessions with a new game.
+     */
+    public void evictIdleSessions_idleSessions_recycleEngines() throws Exception {
+
+        AtomicLong clock = new AtomicLong();
+        AtomicInteger engines = new AtomicInteger();
+        GameSessionManager manager = new GameSessionManager(Runnable::run, () -> {
+            engines.incrementAndGet();
+            return new TicTacToeGameLogic();
+        }, 100, clock::get);
+
+        long first = manager.createSession();
+        long second = manager.createSession();
+        long third = manager.createSession();
+        TicTacToeGameLogicInterface firstEngine = manager.execute(first, engine -> engine).get();
+        assertEquals(GameState.OPEN, manager.setFlagToField(first, 4).get());
+
+        clock.set(60);
+        manager.setFlagToField(second, 0);
+        assertEquals(0, manager.evictIdleSessions());
+        clock.set(100);
+        assertEquals(2, manager.evictIdleSessions());        // 'first' and 'third'
+        assertEquals(1, manager.getSessionCount());
+        assertFailsUnknown(manager.setFlagToField(first, 0));
+        assertFailsUnknown(manager.startNewGame(third));
+
+        // A new session gets a recycled game logic with a new game
+        long fourth = manager.createSession();
+        assertNotEquals(first, fourth);
+        int packedPlayingField =
+                manager.execute(fourth, engine -> engine.getPackedPlayingFieldState()).get();
+        assertEquals(PackedPlayingField.EMPTY, packedPlayingField);
+        manager.createSession();
+        assertEquals(3, engines.get());
+        assertTrue(firstEngine == manager.execute(fourth, engine -> engine).get()
+                || firstEngine == manager.execute(fourth + 1, engine -> engine).get());
+
+        assertTrue(manager.closeSession(second));
+        assertFalse(manager.closeSession(second));
+        assertFailsUnknown(manager.setFlagToField(second, 1));
+        assertEquals(2, manager.getSessionCount());
+    }
+
+    @Test
+    /**
+     * Test that neither an 'Error' of an action nor a rejection of the shared executor blocks the
+     * later calls of a session.
+     */
+    public void execute_failingActionOrExecutor_keepsSessionUsable() throws Exception {
+
+        AtomicInteger rejections = new AtomicInteger(1);
+        GameSessionManager manager = new GameSessionManager(task -> {
+            if (rejections.getAndDecrement() > 0) {
+                throw new RejectedExecutionException();
+            }
+            task.run();
+        }, TicTacToeGameLogic::new, 100, System::nanoTime);
+        long session = manager.createSession();
+
+        try {
+            manager.setFlagToField(session, 4).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        try {
+            manager.execute(session, engine -> {
+                throw new AssertionError();
+            }).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof AssertionError);
+        }
+        assertEquals(GameState.OPEN, manager.setFlagToField(session, 4).get());
+        assertEquals(1 << 4, (int) manager.execute(session,
+                engine -> engine.getFirstGamersFields()).get());
+    }
+
+    /**
+     * This helper method asserts that a call failed because its session is unknown.
+     */
+    private static void assertFailsUnknown(CompletableFuture<?> future) throws Exception {
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof GameSessionManager.UnknownSessionException);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.neopoly.tictactoe.simulation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class collects the metrics of all game logics instrumented by 'InstrumentedGameLogic':
+ * the counts of started games, valid and invalid selections, finished games, loaded playing
+ * fields and rejected playing fields, and the latencies of 'setFlagToField' and
+ * 'initPlayingFieldState'. All counters are 'LongAdder's, so any count of threads can share one
+ * instance without contending on a shared counter - they are only summed up by 'snapshot()'.
+ */
+public class GameLogicMetrics {
+
+    /** The count of calls of 'startNewGame'. */
+    private final LongAdder mGamesStarted = new LongAdder();
+    /** The count of selections which flagged a field. */
+    private final LongAdder mMoves = new LongAdder();
+    /** The count of selections which have been ignored by the game logic. */
+    private final LongAdder mInvalidMoves = new LongAdder();
+    /** The count of selections which finished a game. */
+    private final LongAdder mGamesFinished = new LongAdder();
+    /** The count of playing fields which have been loaded. */
+    private final LongAdder mPlayingFieldsLoaded = new LongAdder();
+    /** The count of playing fields which have been rejected with a 'NoInitialStateException'. */
+    private final LongAdder mNoInitialStateExceptions = new LongAdder();
+    /** The latencies of all calls of 'setFlagToField'. */
+    private final LatencyHistogram mSetFlagToFieldLatencies = new LatencyHistogram();
+    /** The latencies of all calls of 'initPlayingFieldState'. */
+    private final LatencyHistogram mInitPlayingFieldStateLatencies = new LatencyHistogram();
+
+    void recordGameStarted() {
+        mGamesStarted.increment();
+    }
+
+    void recordMove(boolean valid, boolean finished, long nanos) {
+        if (valid) {
+            mMoves.increment();
+            if (finished) {
+                mGamesFinished.increment();
+            }
+        } else {
+            mInvalidMoves.increment();
+        }
+        mSetFlagToFieldLatencies.record(nanos);
+    }
+
+    void recordPlayingFieldLoad(boolean loaded, long nanos) {
+        if (loaded) {
+            mPlayingFieldsLoaded.increment();
+        } else {
+            mNoInitialStateExceptions.increment();
+        }
+        mInitPlayingFieldStateLatencies.record(nanos);
+    }
+
+    /**
+     * This method reads all counters once without blocking the instrumented game logics. Calls
+     * running during the reading may be counted only partially, but the snapshot is exact once
+     * all instrumented threads have finished.
+     *
+     * @return the current metrics.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(mGamesStarted.sum(), mMoves.sum(), mInvalidMoves.sum(),
+                mGamesFinished.sum(), mPlayingFieldsLoaded.sum(), mNoInitialStateExceptions.sum(),
+                mSetFlagToFieldLatencies.snapshot(), mInitPlayingFieldStateLatencies.snapshot());
+    }
+
+    /**
+     * This immutable snapshot holds all metrics at the time they have been read.
+     */
+    public static class Snapshot {
+
+        /** The count of calls of 'startNewGame'. */
+        private final long mGamesStarted;
+        /** The count of selections which flagged a field. */
+        private final long mMoves;
+        /** The count of selections which have been ignored by the game logic. */
+        private final long mInvalidMoves;
+        /** The count of selections which finished a game. */
+        private final long mGamesFinished;
+        /** The count of playing fields which have been loaded. */
+        private final long mPlayingFieldsLoaded;
+        /** The count of playing fields which have been rejected. */
+        private final long mNoInitialStateExceptions;
+        /** The latencies of all calls of 'setFlagToField'. */
+        private final LatencyHistogram.Snapshot mSetFlagToFieldLatencies;
+        /** The latencies of all calls of 'initPlayingFieldState'. */
+        private final LatencyHistogram.Snapshot mInitPlayingFieldStateLatencies;
+
+        Snapshot(long gamesStarted, long moves, long invalidMoves, long gamesFinished,
+                 long playingFieldsLoaded, long noInitialStateExceptions,
+                 LatencyHistogram.Snapshot setFlagToFieldLatencies,
+                 LatencyHistogram.Snapshot initPlayingFieldStateLatencies) {
+            mGamesStarted = gamesStarted;
+            mMoves = moves;
+            mInvalidMoves = invalidMoves;
+            mGamesFinished = gamesFinished;
+            mPlayingFieldsLoaded = playingFieldsLoaded;
+            mNoInitialStateExceptions = noInitialStateExceptions;
+            mSetFlagToFieldLatencies = setFlagToFieldLatencies;
+            mInitPlayingFieldStateLatencies = initPlayingFieldStateLatencies;
+        }
+
+        /**
+         * @return the count of calls of 'startNewGame'.
+         */
+        public long getGamesStarted() {
+            return mGamesStarted;
+        }
+
+        /**
+         * @return the count of selections which flagged a field.
+         */
+        public long getMoves() {
+            return mMoves;
+        }
+
+        /**
+         * @return the count of selections which have been ignored - selections of flagged fields,
+         * of fields out of range or in finished games.
+         */
+        public long getInvalidMoves() {
+            return mInvalidMoves;
+        }
+
+        /**
+         * @return the count of selections which finished a game.
+         */
+        public long getGamesFinished() {
+            return mGamesFinished;
+        }
+
+        /**
+         * @return the count of playing fields which have been loaded.
+         */
+        public long getPlayingFieldsLoaded() {
+            return mPlayingFieldsLoaded;
+        }
+
+        /**
+         * @return the count of playing fields which have been rejected with a
+         * 'NoInitialStateException'.
+         */
+        public long getNoInitialStateExceptions() {
+            return mNoInitialStateExceptions;
+        }
+
+        /**
+         * @return the latencies of all calls of 'setFlagToField'.
+         */
+        public LatencyHistogram.Snapshot getSetFlagToFieldLatencies() {
+            return mSetFlagToFieldLatencies;
+        }
+
+        /**
+         * @return the latencies of all calls of 'initPlayingFieldState'.
+         */
+        public LatencyHistogram.Snapshot getInitPlayingFieldStateLatencies() {
+            return mInitPlayingFieldStateLatencies;
+        }
+
+        @Override
+        public String toString() {
+            return "games started: " + mGamesStarted + ", finished: " + mGamesFinished
+                    + ", moves: " + mMoves + ", invalid moves: " + mInvalidMoves + '\n'
+                    + "playing fields loaded: " + mPlayingFieldsLoaded
+                    + ", rejected: " + mNoInitialStateExceptions + '\n'
+                    + "  setFlagToField: " + mSetFlagToFieldLatencies + '\n'
+                    + "  initPlayingFieldState: " + mInitPlayingFieldStateLatencies + '\n';
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.neopoly.tictactoe.simulation;
+
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.PositionOutcomeTable;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class walks the complete game tree of the 'TicTacToeGameLogic' - with its early
+ * 'GameState.GAME_OVER' as soon as no line can be won anymore - in parallel on a 'ForkJoinPool'.
+ * The tree is split into one task per move sequence of the 'splitDepth' first selections. Each
+ * task replays its sequence on its own game logic instance, walks its subtree by 'makeMove(field)'
+ * and 'unmakeMove()' and returns its own statistics, which are merged while joining the tasks, so
+ * the tasks share no mutable state. Running it with different parallelism levels measures the
+ * scaling of the game logic across cores.
+ */
+public class GameTreeEnumerator {
+
+    /** The default count of first selections which are split into separate tasks. */
+    public static final int DEFAULT_SPLIT_DEPTH = 3;
+
+    /** The count of worker threads of the 'ForkJoinPool'. */
+    private final int mParallelism;
+    /** The count of first selections which are split into separate tasks. */
+    private final int mSplitDepth;
+
+    /**
+     * @param parallelism the count of worker threads.
+     */
+    public GameTreeEnumerator(int parallelism) {
+        this(parallelism, DEFAULT_SPLIT_DEPTH);
+    }
+
+    /**
+     * @param parallelism the count of worker threads.
+     * @param splitDepth the count of first selections which are split into separate tasks.
+     */
+    public GameTreeEnumerator(int parallelism, int splitDepth) {
+
+        if (parallelism < 1 || splitDepth < 0) {
+            throw new IllegalArgumentException();
+        }
+        mParallelism = parallelism;
+        mSplitDepth = splitDepth;
+    }
+
+    /**
+     * This method walks the complete game tree and measures the elapsed time.
+     *
+     * @return the statistics of the whole game tree.
+     */
+    public GameTreeStatistics enumerate() {
+
+        ForkJoinPool pool = new ForkJoinPool(mParallelism);
+        try {
+            long startNanos = System.nanoTime();
+            GameTreeStatistics statistics =
+                    pool.invoke(new EnumerationTask(new int[0], mSplitDepth));
+            statistics.setElapsedNanos(System.nanoTime() - startNanos);
+            return statistics;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * This task handles the subtree of one move sequence - it forks a new task for each next
+     * selection until the split depth is reached and walks the remaining subtree sequentially.
+     */
+    private static class EnumerationTask extends RecursiveTask<GameTreeStatistics> {
+
+        private static final long serialVersionUID = 1L;
+
+        /** The move sequence which leads to the root of this task's subtree. */
+        private final int[] mSequence;
+        /** The count of selections which are still split into separate tasks. */
+        private final int mRemainingSplitDepth;
+
+        EnumerationTask(int[] sequence, int remainingSplitDepth) {
+            mSequence = sequence;
+            mRemainingSplitDepth = remainingSplitDepth;
+        }
+
+        @Override
+        protected GameTreeStatistics compute() {
+
+            GameTreeStatistics statistics = new GameTreeStatistics();
+            TicTacToeGameLogic gameLogic = new TicTacToeGameLogic();
+            int position = 0;
+            for (int field : mSequence) {
+                position += gamersFlag(gameLogic) * PositionOutcomeTable.getFieldWeight(field);
+                gameLogic.setFlagToField(field);
+            }
+
+            if (mRemainingSplitDepth == 0) {
+                walk(gameLogic, position, statistics);
+                return statistics;
+            }
+
+            List<EnumerationTask> subtasks = new ArrayList<>();
+            int legalMoves = gameLogic.getLegalMoves();
+            int flag = gamersFlag(gameLogic);
+            for (int field = 0; field < TicTacToeGameLogic.TOTAL_FIELD_COUNT; field++) {
+                if ((legalMoves & (1 << field)) != 0) {
+                    gameLogic.makeMove(field);
+                    statistics.addSequence();
+                    if (gameLogic.getGameState().equals(GameState.OPEN)) {
+                        int[] sequence = new int[mSequence.length + 1];
+                        System.arraycopy(mSequence, 0, sequence, 0, mSequence.length);
+                        sequence[mSequence.length] = field;
+                        EnumerationTask subtask =
+                                new EnumerationTask(sequence, mRemainingSplitDepth - 1);
+                        subtask.fork();
+                        subtasks.add(subtask);
+                    } else {
+                        statistics.addFinishedGame(gameLogic.getGameState(),
+                                position + flag * PositionOutcomeTable.getFieldWeight(field));
+                    }
+                    gameLogic.unmakeMove();
+                }
+            }
+
+            for (EnumerationTask subtask : subtasks) {
+                statistics.merge(subtask.join());
+            }
+            return statistics;
+        }
+
+        /**
+         * This helper method walks the subtree of the current game sequentially.
+         *
+         * @param position the base-3 encoding of the current playing field.
+         */
+        private static void walk(TicTacToeGameLogic gameLogic, int position,
+                                 GameTreeStatistics statistics) {
+
+            int legalMoves = gameLogic.getLegalMoves();
+            int flag = gamersFlag(gameLogic);
+            while (legalMoves != 0) {
+                int field = Integer.numberOfTrailingZeros(legalMoves);
+                legalMoves &= legalMoves - 1;
+
+                gameLogic.makeMove(field);
+                statistics.addSequence();
+                int nextPosition = position + flag * PositionOutcomeTable.getFieldWeight(field);
+                if (gameLogic.getGameState().equals(GameState.OPEN)) {
+                    walk(gameLogic, nextPosition, statistics);
+                } else {
+                    statistics.addFinishedGame(gameLogic.getGameState(), nextPosition);
+                }
+                gameLogic.unmakeMove();
+            }
+        }
+
+        /**
+         * @return the base-3 digit of the gamer on turn - '1' for the first, '2' for the second.
+         */
+        private static int gamersFlag(TicTacToeGameLogic gameLogic) {
+            return Integer.bitCount(gameLogic.getLegalMoves()) % 2 == 1 ? 1 : 2;
+        }
+    }
+
+    /**
+     * This method walks the game tree with each parallelism level from one worker thread up to the
+     * count of available processors and prints the statistics and the speedup of each run.
+     */
+    public static void main(String[] args) {
+
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        // Warm up the game logic before measuring
+        new GameTreeEnumerator(processors).enumerate();
+
+        long sequentialNanos = 0;
+        for (int parallelism = 1; parallelism <= processors; parallelism *= 2) {
+            GameTreeStatistics statistics = new GameTreeEnumerator(parallelism).enumerate();
+            if (parallelism == 1) {
+                sequentialNanos = statistics.getElapsedNanos();
+                System.out.print(statistics);
+            }
+            System.out.printf("parallelism %d: %d ms, speedup %.2f%n", parallelism,
+                    statistics.getElapsedNanos() / 1000000,
+                    (double) sequentialNanos / statistics.getElapsedNanos());
+        }
+    }
+}
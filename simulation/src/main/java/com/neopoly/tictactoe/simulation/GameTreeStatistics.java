@@ -0,0 +1,127 @@
+package com.neopoly.tictactoe.simulation;
+
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.PositionOutcomeTable;
+
+import java.util.BitSet;
+
+/**
+ * This class collects the statistics of a walked game tree: the count of all move sequences, the
+ * count of finished games and of distinct final playing field states per 'GameState'. Each task of
+ * a parallel enumeration fills its own instance, which are merged when the tasks are joined.
+ */
+public class GameTreeStatistics {
+
+    /** The count of all 'GameState's - cached to avoid the 'values()'-copy. */
+    private static final int GAME_STATES_COUNT = GameState.values().length;
+
+    /** The count of all move sequences - each valid selection extends one sequence. */
+    private long mSequencesCount;
+    /** The count of finished games - move sequences which end a game - per 'GameState' ordinal. */
+    private final long[] mFinishedGamesCounts = new long[GAME_STATES_COUNT];
+    /** The base-3 encodings of all final playing field states per 'GameState' ordinal. */
+    private final BitSet[] mFinalPositions = new BitSet[GAME_STATES_COUNT];
+    /** The duration of the enumeration in nanoseconds. */
+    private long mElapsedNanos;
+
+    GameTreeStatistics() {
+        for (int state = 0; state < GAME_STATES_COUNT; state++) {
+            mFinalPositions[state] = new BitSet(PositionOutcomeTable.POSITIONS_COUNT);
+        }
+    }
+
+    void addSequence() {
+        mSequencesCount++;
+    }
+
+    void addFinishedGame(GameState gameState, int position) {
+        mFinishedGamesCounts[gameState.ordinal()]++;
+        mFinalPositions[gameState.ordinal()].set(position);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        mElapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * This method adds all counts of another instance to this one.
+     *
+     * @param other the statistics of another part of the game tree.
+     * @return this instance.
+     */
+    GameTreeStatistics merge(GameTreeStatistics other) {
+
+        mSequencesCount += other.mSequencesCount;
+        for (int state = 0; state < GAME_STATES_COUNT; state++) {
+            mFinishedGamesCounts[state] += other.mFinishedGamesCounts[state];
+            mFinalPositions[state].or(other.mFinalPositions[state]);
+        }
+        return this;
+    }
+
+    /**
+     * @return the count of all distinct move sequences from the empty playing field on.
+     */
+    public long getSequencesCount() {
+        return mSequencesCount;
+    }
+
+    /**
+     * @return the count of all distinct move sequences which end a game.
+     */
+    public long getFinishedGamesCount() {
+
+        long count = 0;
+        for (long finishedGames : mFinishedGamesCounts) {
+            count += finishedGames;
+        }
+        return count;
+    }
+
+    /**
+     * @param gameState the final 'GameState' of the counted games.
+     * @return the count of distinct move sequences which end a game in the given state.
+     */
+    public long getFinishedGamesCount(GameState gameState) {
+        return mFinishedGamesCounts[gameState.ordinal()];
+    }
+
+    /**
+     * @param gameState the 'GameState' of the counted playing field states.
+     * @return the count of distinct playing field states which end a game in the given state.
+     */
+    public int getFinalPositionsCount(GameState gameState) {
+        return mFinalPositions[gameState.ordinal()].cardinality();
+    }
+
+    /**
+     * @return the count of distinct move sequences which end with a 'double win'.
+     */
+    public long getDoubleWinsCount() {
+        return getFinishedGamesCount(GameState.DOUBLE_WIN_FIRST);
+    }
+
+    /**
+     * @return the duration of the enumeration in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return mElapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder report = new StringBuilder();
+        report.append("move sequences: ").append(mSequencesCount)
+                .append(", finished games: ").append(getFinishedGamesCount())
+                .append(", elapsed: ").append(mElapsedNanos / 1000000).append(" ms\n");
+        for (GameState gameState : GameState.values()) {
+            if (!gameState.equals(GameState.OPEN)) {
+                report.append("  ").append(gameState)
+                        .append(": ").append(getFinishedGamesCount(gameState)).append(" games, ")
+                        .append(getFinalPositionsCount(gameState)).append(" positions\n");
+            }
+        }
+        return report.toString();
+    }
+}
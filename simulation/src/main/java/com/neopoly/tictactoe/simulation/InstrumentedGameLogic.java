@@ -0,0 +1,166 @@
+package com.neopoly.tictactoe.simulation;
+
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.GameLine;
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * This decorator records the calls of a game logic into a shared 'GameLogicMetrics' and passes
+ * them on unchanged. The instrumentation is optional: 'instrument' returns the game logic itself
+ * without metrics, so code running uninstrumented doesn't pay even for a check.
+ */
+public class InstrumentedGameLogic implements TicTacToeGameLogicInterface {
+
+    /** The instrumented game logic. */
+    private final TicTacToeGameLogicInterface mGameLogic;
+    /** The metrics recording the calls - possibly shared with other threads. */
+    private final GameLogicMetrics mMetrics;
+
+    public InstrumentedGameLogic(TicTacToeGameLogicInterface gameLogic, GameLogicMetrics metrics) {
+        mGameLogic = gameLogic;
+        mMetrics = metrics;
+    }
+
+    /**
+     * @param gameLogic the game logic to instrument.
+     * @param metrics the metrics recording the calls or 'null' to turn the instrumentation off.
+     * @return the instrumented game logic or the given game logic itself without metrics.
+     */
+    public static TicTacToeGameLogicInterface instrument(TicTacToeGameLogicInterface gameLogic,
+                                                         GameLogicMetrics metrics) {
+        return metrics == null ? gameLogic : new InstrumentedGameLogic(gameLogic, metrics);
+    }
+
+    @Override
+    public int getFieldCount() {
+        return mGameLogic.getFieldCount();
+    }
+
+    @Override
+    public void startNewGame() {
+        mGameLogic.startNewGame();
+        mMetrics.recordGameStarted();
+    }
+
+    @Override
+    public FieldFlag initPlayingFieldState(FieldFlag[] playingFieldState)
+            throws NoInitialStateException {
+
+        long start = System.nanoTime();
+        try {
+            FieldFlag nextGamer = mGameLogic.initPlayingFieldState(playingFieldState);
+            mMetrics.recordPlayingFieldLoad(true, System.nanoTime() - start);
+            return nextGamer;
+        } catch (NoInitialStateException e) {
+            mMetrics.recordPlayingFieldLoad(false, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public FieldFlag initPlayingFieldState(int packedPlayingField)
+            throws NoInitialStateException {
+
+        long start = System.nanoTime();
+        try {
+            FieldFlag nextGamer = mGameLogic.initPlayingFieldState(packedPlayingField);
+            mMetrics.recordPlayingFieldLoad(true, System.nanoTime() - start);
+            return nextGamer;
+        } catch (NoInitialStateException e) {
+            mMetrics.recordPlayingFieldLoad(false, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public GameState setFlagToField(int field) {
+
+        // A selection is valid if it flagged a field - the game logic ignores all others
+        int flaggedFields = getFlaggedFields();
+        long start = System.nanoTime();
+        GameState gameState = mGameLogic.setFlagToField(field);
+        long nanos = System.nanoTime() - start;
+        mMetrics.recordMove(getFlaggedFields() != flaggedFields,
+                !gameState.equals(GameState.OPEN), nanos);
+        return gameState;
+    }
+
+    /**
+     * This helper method reads the mask of all flagged fields without allocating the playing field.
+     */
+    private int getFlaggedFields() {
+        return mGameLogic.getFirstGamersFields() | mGameLogic.getSecondGamersFields();
+    }
+
+    @Override
+    public GameLine[] getWinLines() {
+        return mGameLogic.getWinLines();
+    }
+
+    @Override
+    public FieldFlag[] getPlayingFieldState() {
+        return mGameLogic.getPlayingFieldState();
+    }
+
+    @Override
+    public FieldFlag getFieldFlag(int field) {
+        return mGameLogic.getFieldFlag(field);
+    }
+
+    @Override
+    public int getFirstGamersFields() {
+        return mGameLogic.getFirstGamersFields();
+    }
+
+    @Override
+    public int getSecondGamersFields() {
+        return mGameLogic.getSecondGamersFields();
+    }
+
+    @Override
+    public int getWinLinesMask() {
+        return mGameLogic.getWinLinesMask();
+    }
+
+    @Override
+    public String getPrintablePlayingFieldState() {
+        return mGameLogic.getPrintablePlayingFieldState();
+    }
+
+    @Override
+    public String getPrintablePlayingFieldState(char firstGamer, char secondGamer) {
+        return mGameLogic.getPrintablePlayingFieldState(firstGamer, secondGamer);
+    }
+
+    @Override
+    public int getPackedPlayingFieldState() {
+        return mGameLogic.getPackedPlayingFieldState();
+    }
+
+    @Override
+    public void appendPrintablePlayingFieldState(StringBuilder out, char firstGamer,
+                                                 char secondGamer) {
+        mGameLogic.appendPrintablePlayingFieldState(out, firstGamer, secondGamer);
+    }
+
+    @Override
+    public void appendPrintablePlayingFieldState(CharBuffer out, char firstGamer,
+                                                 char secondGamer) {
+        mGameLogic.appendPrintablePlayingFieldState(out, firstGamer, secondGamer);
+    }
+
+    @Override
+    public void appendPrintablePlayingFieldState(Appendable out, char firstGamer,
+                                                 char secondGamer) throws IOException {
+        mGameLogic.appendPrintablePlayingFieldState(out, firstGamer, secondGamer);
+    }
+
+    @Override
+    public void setGameLogicListener(GameLogicListener listener) {
+        mGameLogic.setGameLogicListener(listener);
+    }
+}
@@ -0,0 +1,142 @@
+package com.neopoly.tictactoe.simulation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This histogram records latencies in nanoseconds into a fixed set of buckets with power-of-two
+ * bounds: the bucket '0' counts latencies of '0', the bucket 'n' latencies from [2^(n-1), 2^n)
+ * and the last bucket all latencies from 2^(BUCKET_COUNT-2) - about half a second - upwards. Each
+ * bucket is a 'LongAdder', so recording threads never block or contend on a shared counter.
+ */
+public class LatencyHistogram {
+
+    /** The count of buckets. */
+    public static final int BUCKET_COUNT = 31;
+
+    /** The count of latencies per bucket. */
+    private final LongAdder[] mBuckets = new LongAdder[BUCKET_COUNT];
+    /** The sum of all recorded latencies in nanoseconds. */
+    private final LongAdder mTotalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            mBuckets[bucket] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param nanos the latency to record - negative latencies are recorded as '0'.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        mBuckets[getBucket(nanos)].increment();
+        mTotalNanos.add(nanos);
+    }
+
+    /**
+     * @param nanos a latency in nanoseconds of at least '0'.
+     * @return the bucket counting the latency.
+     */
+    static int getBucket(long nanos) {
+        return Math.min(64 - Long.numberOfLeadingZeros(nanos), BUCKET_COUNT - 1);
+    }
+
+    /**
+     * This method reads all buckets once. Latencies recorded during the reading may be missing,
+     * but each of them is contained either completely - in its bucket and the total - or not at
+     * all once all recording threads have finished.
+     *
+     * @return the current counts of all buckets.
+     */
+    public Snapshot snapshot() {
+
+        long[] counts = new long[BUCKET_COUNT];
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts[bucket] = mBuckets[bucket].sum();
+        }
+        return new Snapshot(counts, mTotalNanos.sum());
+    }
+
+    /**
+     * This immutable snapshot holds the counts of all buckets at the time it has been read.
+     */
+    public static class Snapshot {
+
+        /** The count of latencies per bucket. */
+        private final long[] mCounts;
+        /** The count of all latencies. */
+        private final long mCount;
+        /** The sum of all latencies in nanoseconds. */
+        private final long mTotalNanos;
+
+        Snapshot(long[] counts, long totalNanos) {
+            mCounts = counts;
+            mTotalNanos = totalNanos;
+            long count = 0;
+            for (long bucketCount : counts) {
+                count += bucketCount;
+            }
+            mCount = count;
+        }
+
+        /**
+         * @return the count of all recorded latencies.
+         */
+        public long getCount() {
+            return mCount;
+        }
+
+        /**
+         * @param bucket the bucket from [0-BUCKET_COUNT).
+         * @return the count of latencies recorded in the bucket.
+         */
+        public long getCount(int bucket) {
+            return mCounts[bucket];
+        }
+
+        /**
+         * @param bucket the bucket from [0-BUCKET_COUNT).
+         * @return the exclusive upper bound of the latencies in the bucket in nanoseconds -
+         * 'Long.MAX_VALUE' for the last bucket.
+         */
+        public static long getUpperBoundNanos(int bucket) {
+            return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << bucket;
+        }
+
+        /**
+         * @return the average latency in nanoseconds or '0' if nothing has been recorded.
+         */
+        public double getMeanNanos() {
+            return mCount == 0 ? 0 : (double) mTotalNanos / mCount;
+        }
+
+        /**
+         * @param percentile the percentile from (0-100].
+         * @return the upper bound of the bucket containing the latency of the given percentile in
+         * nanoseconds or '0' if nothing has been recorded.
+         */
+        public long getPercentileNanos(double percentile) {
+
+            if (mCount == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile / 100 * mCount);
+            long count = 0;
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                count += mCounts[bucket];
+                if (count >= rank && mCounts[bucket] > 0) {
+                    return getUpperBoundNanos(bucket);
+                }
+            }
+            return getUpperBoundNanos(BUCKET_COUNT - 1);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count: %d, mean: %.0f ns, p50: <%d ns, p99: <%d ns",
+                    mCount, getMeanNanos(), getPercentileNanos(50), getPercentileNanos(99));
+        }
+    }
+}
@@ -0,0 +1,603 @@
+package com.neopoly.tictactoe.simulation;
+
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.GameEngine;
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * This class represents a computer gamer which selects its fields by a Monte Carlo tree search
+ * with the UCT selection rule - it needs no knowledge about the game beyond the 'GameEngine' and
+ * scales with the available cores instead of the size of the game tree. It plays on any playing
+ * field of the plugged in engine, from the 3x3-game logics up to an 'MnkGameLogic' with five in a
+ * row on 15x15 fields. The search runs root parallel: each thread owns a search tree, an engine
+ * instance and a 'SplittableRandom', and the visit counts of the first selections are summed up
+ * after all threads reached the iteration or time budget. The trees are stored in preallocated
+ * arrays sized by the count of nodes only - the children of a node form one block of nodes, one
+ * per empty field, whose untried nodes are kept at its front - and each iteration replays the
+ * current game by 'setFlagToField(field)', so no objects are allocated within the iterations and
+ * their random playouts. An instance is not thread-safe and should be shut down by 'shutdown()'
+ * if it is not needed anymore.
+ */
+public class MonteCarloTreeSearchGamer {
+
+    /** The default count of iterations per thread and search. */
+    public static final int DEFAULT_ITERATION_BUDGET = 10000;
+    /** The default exploration constant of the UCT selection rule - the square root of two. */
+    public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+    /** The default count of nodes of each thread's search tree. */
+    public static final int DEFAULT_NODES_CAPACITY = 1 << 16;
+
+    /** The count of iterations between two checks of the time budget. */
+    private static final int TIME_CHECK_INTERVAL = 64;
+
+    /** The searchers - one per thread - each with its own tree, engine and random numbers. */
+    private final Searcher[] mSearchers;
+    /** The executor running the searchers. */
+    private final ExecutorService mExecutor;
+    /** The count of fields of the playing field of the engines. */
+    private final int mFieldCount;
+
+    /** The count of iterations per thread and search or '0' if only the time budget counts. */
+    private int mIterationBudget = DEFAULT_ITERATION_BUDGET;
+    /** The duration of a search in nanoseconds or '0' if only the iteration budget counts. */
+    private long mTimeBudgetNanos;
+
+    /**
+     * @param engineFactory creates one engine instance per thread.
+     * @param threads the count of threads searching in parallel.
+     * @param seed the seed of the random playouts - equal seeds lead to equal single thread
+     *             searches with an iteration budget.
+     */
+    public MonteCarloTreeSearchGamer(Supplier<? extends GameEngine> engineFactory, int threads,
+                                     long seed) {
+        this(engineFactory, threads, seed, DEFAULT_EXPLORATION, DEFAULT_NODES_CAPACITY);
+    }
+
+    /**
+     * @param engineFactory creates one engine instance per thread - all with the same count of
+     *                      fields.
+     * @param threads the count of threads searching in parallel.
+     * @param seed the seed of the random playouts.
+     * @param exploration the exploration constant of the UCT selection rule.
+     * @param nodesCapacity the count of nodes of each thread's search tree - iterations reaching
+     *                      a leaf whose children don't fit into the tree anymore continue with a
+     *                      random playout from the reached leaf.
+     */
+    public MonteCarloTreeSearchGamer(Supplier<? extends GameEngine> engineFactory, int threads,
+                                     long seed, double exploration, int nodesCapacity) {
+
+        if (threads < 1 || nodesCapacity < 2) {
+            throw new IllegalArgumentException();
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        mSearchers = new Searcher[threads];
+        for (int thread = 0; thread < threads; thread++) {
+            mSearchers[thread] = new Searcher(engineFactory.get(), random.split(), exploration,
+                    nodesCapacity);
+        }
+        mFieldCount = mSearchers[0].mEngine.getFieldCount();
+        for (Searcher searcher : mSearchers) {
+            if (searcher.mEngine.getFieldCount() != mFieldCount) {
+                throw new IllegalArgumentException("The engines differ in their count of fields.");
+            }
+        }
+        mExecutor = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * @param iterationBudget the count of iterations per thread and search or '0' to search
+     *                        until the time budget is reached.
+     */
+    public void setIterationBudget(int iterationBudget) {
+        mIterationBudget = iterationBudget;
+    }
+
+    /**
+     * @param timeBudgetMillis the duration of a search in milliseconds or '0' to search until the
+     *                         iteration budget is reached.
+     */
+    public void setTimeBudget(long timeBudgetMillis) {
+        mTimeBudgetNanos = timeBudgetMillis * 1000000;
+    }
+
+    /**
+     * This method selects a field for the gamer on turn in the given playing field state.
+     *
+     * @param playingFieldState an array of 'FieldFlags' - one per field of the engine -
+     *                          representing a valid and open game.
+     * @return the index of the most visited first selection.
+     * @throws TicTacToeGameLogicInterface.NoInitialStateException if the playing field state is
+     * not valid or the game is not open.
+     */
+    public int selectField(FieldFlag[] playingFieldState)
+            throws TicTacToeGameLogicInterface.NoInitialStateException {
+        return search(playingFieldState).getSelectedField();
+    }
+
+    /**
+     * This method searches the given playing field state on all threads until the budget is
+     * reached and sums up the visits of the first selections of all search trees.
+     *
+     * @param playingFieldState an array of 'FieldFlags' - one per field of the engine -
+     *                          representing a valid and open game.
+     * @return the result of the search including the count of playouts and the elapsed time.
+     * @throws TicTacToeGameLogicInterface.NoInitialStateException if the playing field state is
+     * not valid or the game is not open.
+     */
+    public SearchResult search(FieldFlag[] playingFieldState)
+            throws TicTacToeGameLogicInterface.NoInitialStateException {
+
+        if (mIterationBudget <= 0 && mTimeBudgetNanos <= 0) {
+            throw new IllegalStateException("Neither an iteration nor a time budget is set.");
+        }
+        if (playingFieldState.length != mFieldCount) {
+            throw new TicTacToeGameLogicInterface.NoInitialStateException();
+        }
+
+        // Derive a selection sequence leading to the state - alternating the gamers' fields
+        int[] sequence = new int[mFieldCount];
+        int sequenceLength = 0;
+        int flaggedCount = 0;
+        int firstsField = -1;
+        int secondsField = -1;
+        do {
+            firstsField = nextField(playingFieldState, FieldFlag.FIRST_GAMERS_FLAG, firstsField);
+            if (firstsField != -1) {
+                sequence[sequenceLength++] = firstsField;
+                secondsField = nextField(playingFieldState, FieldFlag.SECOND_GAMERS_FLAG,
+                        secondsField);
+                if (secondsField != -1) {
+                    sequence[sequenceLength++] = secondsField;
+                }
+            }
+        } while (firstsField != -1 && secondsField != -1);
+        for (FieldFlag fieldFlag : playingFieldState) {
+            if (!FieldFlag.EMPTY_FIELD.equals(fieldFlag)) {
+                flaggedCount++;
+            }
+        }
+
+        // Validate the state once - all flags are part of the sequence and it leads to an open game
+        GameEngine engine = mSearchers[0].mEngine;
+        engine.startNewGame();
+        boolean valid = flaggedCount == sequenceLength;
+        for (int turn = 0; valid && turn < sequenceLength; turn++) {
+            valid = engine.setFlagToField(sequence[turn]).equals(GameState.OPEN);
+        }
+        if (!valid) {
+            throw new TicTacToeGameLogicInterface.NoInitialStateException();
+        }
+
+        long startNanos = System.nanoTime();
+        long deadlineNanos = mTimeBudgetNanos > 0 ? startNanos + mTimeBudgetNanos : 0;
+
+        List<Future<?>> futures = new ArrayList<>(mSearchers.length);
+        for (Searcher searcher : mSearchers) {
+            searcher.prepare(sequence, sequenceLength, mIterationBudget, deadlineNanos);
+            futures.add(mExecutor.submit(searcher));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        long[] visits = new long[mFieldCount];
+        long playouts = 0;
+        for (Searcher searcher : mSearchers) {
+            searcher.addRootVisits(visits);
+            playouts += searcher.mPlayouts;
+        }
+        return new SearchResult(visits, playouts, elapsedNanos, mSearchers.length);
+    }
+
+    /**
+     * This helper method finds the next field flagged by the given gamer.
+     *
+     * @return the index of the next field after 'previousField' or '-1' if there is none.
+     */
+    private static int nextField(FieldFlag[] playingFieldState, FieldFlag flag,
+                                 int previousField) {
+
+        for (int field = previousField + 1; field < playingFieldState.length; field++) {
+            if (flag.equals(playingFieldState[field])) {
+                return field;
+            }
+        }
+        return -1;
+    }
+
+    /** This method stops the threads of this gamer - no further searches are possible. */
+    public void shutdown() {
+        mExecutor.shutdown();
+    }
+
+    /**
+     * The search of one thread on its own tree. The nodes are stored in parallel arrays indexed by
+     * the node index, with the root at index '0'. The children of a node are created all at once
+     * as a block of consecutive nodes when it is reached the first time - the untried ones at the
+     * front of the block, so an untried node is exchanged with the last untried one when it gets
+     * selected. Untried nodes have no visits and no children, so their exchange only swaps their
+     * fields.
+     */
+    private static class Searcher implements Runnable {
+
+        /** The engine replaying the game in each iteration. */
+        private final GameEngine mEngine;
+        /** The source of random numbers of this thread. */
+        private final SplittableRandom mRandom;
+        /** The exploration constant of the UCT selection rule. */
+        private final double mExploration;
+
+        /** The field selected to reach each node. */
+        private final int[] mFields;
+        /** The index of the first child node of each node or '0' if it has no children yet. */
+        private final int[] mFirstChildren;
+        /** The count of child nodes of each node. */
+        private final int[] mChildrenCounts;
+        /** The count of child nodes of each node which have not been selected yet. */
+        private final int[] mUntriedCounts;
+        /** The count of iterations passing each node. */
+        private final int[] mVisits;
+        /** The sum of the rewards of each node from the view of the gamer who selected it. */
+        private final double[] mRewards;
+        /** The count of used nodes. */
+        private int mNodesCount;
+
+        /** The selection sequence leading to the searched game. */
+        private final int[] mSequence;
+        /** The count of valid entries in the array 'mSequence'. */
+        private int mSequenceLength;
+        /** The nodes passed by the current iteration. */
+        private final int[] mPath;
+
+        /** The empty fields of the searched game in ascending order. */
+        private final int[] mRootEmptyFields;
+        /** The count of valid entries in the array 'mRootEmptyFields'. */
+        private int mRootEmptyCount;
+        /** The empty fields of the current iteration in no particular order. */
+        private final int[] mEmptyFields;
+        /** The position of each field in the array 'mEmptyFields' while it is empty. */
+        private final int[] mEmptyPositions;
+        /** The count of valid entries in the array 'mEmptyFields'. */
+        private int mEmptyCount;
+
+        /** The count of iterations of the current search or '0' for no limit. */
+        private int mIterationBudget;
+        /** The end of the current search as 'System.nanoTime()' or '0' for no limit. */
+        private long mDeadlineNanos;
+        /** The count of playouts of the last search. */
+        private long mPlayouts;
+
+        Searcher(GameEngine engine, SplittableRandom random, double exploration,
+                 int nodesCapacity) {
+
+            mEngine = engine;
+            mRandom = random;
+            mExploration = exploration;
+            mFields = new int[nodesCapacity];
+            mFirstChildren = new int[nodesCapacity];
+            mChildrenCounts = new int[nodesCapacity];
+            mUntriedCounts = new int[nodesCapacity];
+            mVisits = new int[nodesCapacity];
+            mRewards = new double[nodesCapacity];
+
+            int fieldCount = engine.getFieldCount();
+            mSequence = new int[fieldCount];
+            mPath = new int[fieldCount + 1];
+            mRootEmptyFields = new int[fieldCount];
+            mEmptyFields = new int[fieldCount];
+            mEmptyPositions = new int[fieldCount];
+        }
+
+        void prepare(int[] sequence, int sequenceLength, int iterationBudget, long deadlineNanos) {
+
+            System.arraycopy(sequence, 0, mSequence, 0, sequenceLength);
+            mSequenceLength = sequenceLength;
+            mIterationBudget = iterationBudget;
+            mDeadlineNanos = deadlineNanos;
+            mPlayouts = 0;
+
+            // Collect the empty fields of the searched game
+            mEngine.startNewGame();
+            for (int turn = 0; turn < sequenceLength; turn++) {
+                mEngine.setFlagToField(sequence[turn]);
+            }
+            mRootEmptyCount = 0;
+            for (int field = 0; field < mRootEmptyFields.length; field++) {
+                if (mEngine.getFieldFlag(field).equals(FieldFlag.EMPTY_FIELD)) {
+                    mRootEmptyFields[mRootEmptyCount++] = field;
+                }
+            }
+
+            // Clear the tree and create the root
+            mNodesCount = 1;
+            mFirstChildren[0] = 0;
+            mChildrenCounts[0] = 0;
+            mUntriedCounts[0] = 0;
+            mVisits[0] = 0;
+            mRewards[0] = 0;
+        }
+
+        @Override
+        public void run() {
+
+            for (int iteration = 0; mIterationBudget <= 0 || iteration < mIterationBudget;
+                 iteration++) {
+                if (mDeadlineNanos != 0 && iteration % TIME_CHECK_INTERVAL == 0
+                        && System.nanoTime() - mDeadlineNanos >= 0) {
+                    break;
+                }
+                iterate();
+            }
+        }
+
+        /**
+         * This helper method performs one iteration: selection, expansion, random playout and
+         * backpropagation of the reward.
+         */
+        private void iterate() {
+
+            mEngine.startNewGame();
+            for (int turn = 0; turn < mSequenceLength; turn++) {
+                mEngine.setFlagToField(mSequence[turn]);
+            }
+            System.arraycopy(mRootEmptyFields, 0, mEmptyFields, 0, mRootEmptyCount);
+            mEmptyCount = mRootEmptyCount;
+            for (int position = 0; position < mEmptyCount; position++) {
+                mEmptyPositions[mEmptyFields[position]] = position;
+            }
+            GameState gameState = GameState.OPEN;
+
+            // Selection - descend through fully expanded nodes by the UCT rule
+            int node = 0;
+            int depth = 0;
+            mPath[0] = node;
+            while (gameState.equals(GameState.OPEN)) {
+                if (mChildrenCounts[node] == 0 && !expand(node)) {
+                    break;                              // The tree is full - continue the playout
+                }
+                int child;
+                if (mUntriedCounts[node] > 0) {
+                    child = selectUntriedChild(node);
+                } else {
+                    child = selectChild(node);
+                }
+                node = child;
+                gameState = flag(mFields[node]);
+                mPath[++depth] = node;
+                if (mVisits[node] == 0) {
+                    break;                              // Expansion - the new node is reached
+                }
+            }
+
+            // Playout - random selections until the game ends
+            while (gameState.equals(GameState.OPEN)) {
+                gameState = flag(mEmptyFields[mRandom.nextInt(mEmptyCount)]);
+            }
+            mPlayouts++;
+
+            // Backpropagation - the gamer who selected a node is on turn in its parent
+            double firstGamersReward;
+            switch (gameState) {
+                case WINNER_FIRST: case DOUBLE_WIN_FIRST:
+                    firstGamersReward = 1;
+                    break;
+                case WINNER_SECOND:
+                    firstGamersReward = 0;
+                    break;
+                default:
+                    firstGamersReward = 0.5;
+            }
+            for (int step = 0; step <= depth; step++) {
+                int pathNode = mPath[step];
+                mVisits[pathNode]++;
+                // The node at 'step' has been selected by the gamer of turn 'length + step - 1'
+                boolean selectedByFirst = (mSequenceLength + step) % 2 == 1;
+                mRewards[pathNode] += selectedByFirst ? firstGamersReward : 1 - firstGamersReward;
+            }
+        }
+
+        /**
+         * This helper method creates the untried children of a node - one per empty field - if
+         * they fit into the tree.
+         *
+         * @return true if the node has children now.
+         */
+        private boolean expand(int node) {
+
+            if (mVisits.length - mNodesCount < mEmptyCount) {
+                return false;
+            }
+            int firstChild = mNodesCount;
+            for (int position = 0; position < mEmptyCount; position++) {
+                int child = firstChild + position;
+                mFields[child] = mEmptyFields[position];
+                mFirstChildren[child] = 0;
+                mChildrenCounts[child] = 0;
+                mUntriedCounts[child] = 0;
+                mVisits[child] = 0;
+                mRewards[child] = 0;
+            }
+            mNodesCount += mEmptyCount;
+            mFirstChildren[node] = firstChild;
+            mChildrenCounts[node] = mEmptyCount;
+            mUntriedCounts[node] = mEmptyCount;
+            return true;
+        }
+
+        /**
+         * This helper method selects one of the untried children of a node with equal probability
+         * and moves it behind the remaining untried children.
+         *
+         * @return the selected child.
+         */
+        private int selectUntriedChild(int node) {
+
+            int lastUntried = mFirstChildren[node] + --mUntriedCounts[node];
+            int child = mFirstChildren[node] + mRandom.nextInt(mUntriedCounts[node] + 1);
+            int field = mFields[child];
+            mFields[child] = mFields[lastUntried];
+            mFields[lastUntried] = field;
+            return lastUntried;
+        }
+
+        /**
+         * This helper method selects the child of a fully expanded node with the highest upper
+         * confidence bound.
+         *
+         * @return the selected child.
+         */
+        private int selectChild(int node) {
+
+            double logVisits = Math.log(mVisits[node]);
+            double bestValue = Double.NEGATIVE_INFINITY;
+            int bestChild = -1;
+            int endChild = mFirstChildren[node] + mChildrenCounts[node];
+            for (int child = mFirstChildren[node]; child < endChild; child++) {
+                double value = mRewards[child] / mVisits[child]
+                        + mExploration * Math.sqrt(logVisits / mVisits[child]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestChild = child;
+                }
+            }
+            return bestChild;
+        }
+
+        /**
+         * This helper method flags an empty field for the gamer on turn and removes it from the
+         * empty fields by moving the last empty field to its position.
+         *
+         * @return the 'GameState' after the selection.
+         */
+        private GameState flag(int field) {
+
+            int position = mEmptyPositions[field];
+            int lastField = mEmptyFields[--mEmptyCount];
+            mEmptyFields[position] = lastField;
+            mEmptyPositions[lastField] = position;
+            return mEngine.setFlagToField(field);
+        }
+
+        void addRootVisits(long[] visits) {
+
+            int endChild = mFirstChildren[0] + mChildrenCounts[0];
+            for (int child = mFirstChildren[0]; child < endChild; child++) {
+                visits[mFields[child]] += mVisits[child];
+            }
+        }
+    }
+
+    /**
+     * The result of one search: the summed up visits of the first selections, the count of
+     * playouts and the elapsed time.
+     */
+    public static class SearchResult {
+
+        /** The visits of each first selection summed up over all threads. */
+        private final long[] mVisits;
+        /** The count of playouts of all threads. */
+        private final long mPlayouts;
+        /** The duration of the search in nanoseconds. */
+        private final long mElapsedNanos;
+        /** The count of threads of the search. */
+        private final int mThreads;
+
+        SearchResult(long[] visits, long playouts, long elapsedNanos, int threads) {
+            mVisits = visits;
+            mPlayouts = playouts;
+            mElapsedNanos = elapsedNanos;
+            mThreads = threads;
+        }
+
+        /**
+         * @return the index of the most visited first selection.
+         */
+        public int getSelectedField() {
+
+            int selectedField = -1;
+            for (int field = 0; field < mVisits.length; field++) {
+                if (mVisits[field] > 0
+                        && (selectedField == -1 || mVisits[field] > mVisits[selectedField])) {
+                    selectedField = field;
+                }
+            }
+            return selectedField;
+        }
+
+        /**
+         * @param field the index of a first selection.
+         * @return the count of iterations starting with the given field.
+         */
+        public long getVisits(int field) {
+            return mVisits[field];
+        }
+
+        public long getPlayouts() {
+            return mPlayouts;
+        }
+
+        public long getElapsedNanos() {
+            return mElapsedNanos;
+        }
+
+        public int getThreads() {
+            return mThreads;
+        }
+
+        /**
+         * @return the count of playouts per second and thread - the throughput of one core.
+         */
+        public double getPlayoutsPerSecondPerThread() {
+            return mPlayouts * 1e9 / mElapsedNanos / mThreads;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("field %d, %d playouts on %d threads in %d ms, "
+                            + "%.0f playouts/s per thread", getSelectedField(), mPlayouts,
+                    mThreads, mElapsedNanos / 1000000, getPlayoutsPerSecondPerThread());
+        }
+    }
+
+    /**
+     * This method searches the empty playing field for one second with each count of threads from
+     * one up to the count of available processors and prints the playouts per second and thread.
+     */
+    public static void main(String[] args) throws Exception {
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        FieldFlag[] emptyPlayingField =
+                new FieldFlag[TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT];
+        Arrays.fill(emptyPlayingField, FieldFlag.EMPTY_FIELD);
+
+        for (int threads = 1; threads <= processors; threads *= 2) {
+            MonteCarloTreeSearchGamer gamer = new MonteCarloTreeSearchGamer(
+                    TicTacToeGameLogic::new, threads, 1);
+            gamer.setIterationBudget(0);
+            gamer.setTimeBudget(1000);
+            gamer.search(emptyPlayingField);      // warm up
+            System.out.println(gamer.search(emptyPlayingField));
+            gamer.shutdown();
+        }
+    }
+}
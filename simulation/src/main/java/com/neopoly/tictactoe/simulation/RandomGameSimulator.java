@@ -0,0 +1,178 @@
+package com.neopoly.tictactoe.simulation;
+
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * This class simulates a large count of games in which both gamers select random empty fields by
+ * 'setFlagToField(field)'. The games are divided into chunks of 'CHUNK_SIZE' games, each with its
+ * own 'SplittableRandom' split from the seed in the order of the chunks, and the chunks are
+ * distributed round robin to the threads. Each thread plays its chunks on its own game logic
+ * instance and counts them in its own statistics, which are merged after all threads have
+ * finished - so the results of a seed are the same for each count of threads.
+ */
+public class RandomGameSimulator {
+
+    /** The count of games sharing one 'SplittableRandom'. */
+    public static final int CHUNK_SIZE = 1 << 16;
+
+    /** The mask of all fields of the playing field. */
+    private static final int ALL_FIELDS = (1 << TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT) - 1;
+
+    /** Creates one game logic instance per thread. */
+    private final Supplier<? extends TicTacToeGameLogicInterface> mEngineFactory;
+    /** The count of threads simulating in parallel. */
+    private final int mThreads;
+
+    /**
+     * @param threads the count of threads simulating in parallel.
+     */
+    public RandomGameSimulator(int threads) {
+        this(TicTacToeGameLogic::new, threads);
+    }
+
+    /**
+     * @param engineFactory creates one game logic instance per thread.
+     * @param threads the count of threads simulating in parallel.
+     */
+    public RandomGameSimulator(Supplier<? extends TicTacToeGameLogicInterface> engineFactory,
+                               int threads) {
+
+        if (threads < 1) {
+            throw new IllegalArgumentException();
+        }
+        mEngineFactory = engineFactory;
+        mThreads = threads;
+    }
+
+    /**
+     * This method simulates the given count of random games and measures the elapsed time.
+     *
+     * @param games the count of games to simulate.
+     * @param seed the seed of the random selections.
+     * @return the merged statistics of all threads.
+     */
+    public RandomGameStatistics simulate(long games, long seed) {
+
+        // Split the random number generators in the order of the chunks, independent from threads
+        int chunks = (int) ((games + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        SplittableRandom[] chunkRandoms = new SplittableRandom[chunks];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            chunkRandoms[chunk] = random.split();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(mThreads);
+        try {
+            long startNanos = System.nanoTime();
+            List<Future<RandomGameStatistics>> futures = new ArrayList<>(mThreads);
+            for (int thread = 0; thread < mThreads; thread++) {
+                futures.add(executor.submit(new SimulationTask(mEngineFactory.get(), chunkRandoms,
+                        thread, mThreads, games)));
+            }
+
+            RandomGameStatistics statistics = new RandomGameStatistics();
+            for (Future<RandomGameStatistics> future : futures) {
+                statistics.merge(future.get());
+            }
+            statistics.setElapsedNanos(System.nanoTime() - startNanos);
+            return statistics;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * The simulation of one thread - every 'threads'-th chunk starting at chunk 'firstChunk'.
+     */
+    private static class SimulationTask implements Callable<RandomGameStatistics> {
+
+        /** The game logic of this thread. */
+        private final TicTacToeGameLogicInterface mGameLogic;
+        /** The random number generators of all chunks. */
+        private final SplittableRandom[] mChunkRandoms;
+        /** The first chunk of this thread. */
+        private final int mFirstChunk;
+        /** The distance between two chunks of this thread. */
+        private final int mChunkStep;
+        /** The count of all games of the simulation. */
+        private final long mGames;
+
+        SimulationTask(TicTacToeGameLogicInterface gameLogic, SplittableRandom[] chunkRandoms,
+                       int firstChunk, int chunkStep, long games) {
+            mGameLogic = gameLogic;
+            mChunkRandoms = chunkRandoms;
+            mFirstChunk = firstChunk;
+            mChunkStep = chunkStep;
+            mGames = games;
+        }
+
+        @Override
+        public RandomGameStatistics call() {
+
+            RandomGameStatistics statistics = new RandomGameStatistics();
+            for (int chunk = mFirstChunk; chunk < mChunkRandoms.length; chunk += mChunkStep) {
+                SplittableRandom random = mChunkRandoms[chunk];
+                long games = Math.min(CHUNK_SIZE, mGames - (long) chunk * CHUNK_SIZE);
+                for (long game = 0; game < games; game++) {
+                    playGame(random, statistics);
+                }
+            }
+            return statistics;
+        }
+
+        /**
+         * This helper method plays one game with random selections of both gamers.
+         */
+        private void playGame(SplittableRandom random, RandomGameStatistics statistics) {
+
+            mGameLogic.startNewGame();
+            GameState gameState = GameState.OPEN;
+            int emptyFields = ALL_FIELDS;
+            int gameLength = 0;
+            while (gameState.equals(GameState.OPEN)) {
+                // Select the n-th empty field
+                int fields = emptyFields;
+                for (int skip = random.nextInt(Integer.bitCount(fields)); skip > 0; skip--) {
+                    fields &= fields - 1;
+                }
+                int field = Integer.numberOfTrailingZeros(fields);
+
+                gameState = mGameLogic.setFlagToField(field);
+                emptyFields &= ~(1 << field);
+                gameLength++;
+            }
+            statistics.addGame(gameState, gameLength);
+        }
+    }
+
+    /**
+     * This method simulates the given count of games - ten million by default - with each count of
+     * threads from one up to the count of available processors and prints the statistics.
+     */
+    public static void main(String[] args) {
+
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 10000000L;
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= processors; threads *= 2) {
+            System.out.println("threads: " + threads);
+            System.out.print(new RandomGameSimulator(threads).simulate(games, 1));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.neopoly.tictactoe.simulation;
+
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+
+/**
+ * This class collects the statistics of simulated random games: the count of games per final
+ * 'GameState' and per game length. Each thread of a simulation fills its own instance, which are
+ * merged after all threads have finished.
+ */
+public class RandomGameStatistics {
+
+    /** The count of all 'GameState's - cached to avoid the 'values()'-copy. */
+    private static final int GAME_STATES_COUNT = GameState.values().length;
+
+    /** The count of games per final 'GameState' ordinal. */
+    private final long[] mGamesCounts = new long[GAME_STATES_COUNT];
+    /** The count of games per count of selections [0-9]. */
+    private final long[] mGameLengthCounts =
+            new long[TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT + 1];
+    /** The duration of the simulation in nanoseconds. */
+    private long mElapsedNanos;
+
+    void addGame(GameState gameState, int gameLength) {
+        mGamesCounts[gameState.ordinal()]++;
+        mGameLengthCounts[gameLength]++;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        mElapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * This method adds all counts of another instance to this one.
+     *
+     * @param other the statistics of another part of the simulation.
+     * @return this instance.
+     */
+    RandomGameStatistics merge(RandomGameStatistics other) {
+
+        for (int state = 0; state < GAME_STATES_COUNT; state++) {
+            mGamesCounts[state] += other.mGamesCounts[state];
+        }
+        for (int length = 0; length < mGameLengthCounts.length; length++) {
+            mGameLengthCounts[length] += other.mGameLengthCounts[length];
+        }
+        return this;
+    }
+
+    /**
+     * @return the count of all simulated games.
+     */
+    public long getGamesCount() {
+
+        long count = 0;
+        for (long games : mGamesCounts) {
+            count += games;
+        }
+        return count;
+    }
+
+    /**
+     * @param gameState the final 'GameState' of the counted games.
+     * @return the count of simulated games which ended in the given state.
+     */
+    public long getGamesCount(GameState gameState) {
+        return mGamesCounts[gameState.ordinal()];
+    }
+
+    /**
+     * @param gameLength a count of selections [0-9].
+     * @return the count of simulated games which ended after the given count of selections.
+     */
+    public long getGameLengthCount(int gameLength) {
+        return mGameLengthCounts[gameLength];
+    }
+
+    /**
+     * @return the average count of selections per game.
+     */
+    public double getAverageGameLength() {
+
+        long selections = 0;
+        for (int length = 0; length < mGameLengthCounts.length; length++) {
+            selections += length * mGameLengthCounts[length];
+        }
+        return (double) selections / getGamesCount();
+    }
+
+    /**
+     * @return the duration of the simulation in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return mElapsedNanos;
+    }
+
+    /**
+     * @return the count of simulated games per second.
+     */
+    public double getGamesPerSecond() {
+        return getGamesCount() * 1e9 / mElapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+
+        long games = getGamesCount();
+        StringBuilder report = new StringBuilder();
+        report.append("games: ").append(games)
+                .append(", elapsed: ").append(mElapsedNanos / 1000000).append(" ms, ")
+                .append(String.format("%.0f games/s", getGamesPerSecond())).append('\n');
+        for (GameState gameState : GameState.values()) {
+            if (!gameState.equals(GameState.OPEN)) {
+                report.append(String.format("  %s: %d (%.2f%%)%n", gameState,
+                        getGamesCount(gameState), 100.0 * getGamesCount(gameState) / games));
+            }
+        }
+        report.append(String.format("  average length: %.3f, lengths:",
+                getAverageGameLength()));
+        for (int length = 0; length < mGameLengthCounts.length; length++) {
+            if (mGameLengthCounts[length] > 0) {
+                report.append(' ').append(length).append('=').append(mGameLengthCounts[length]);
+            }
+        }
+        return report.append('\n').toString();
+    }
+}
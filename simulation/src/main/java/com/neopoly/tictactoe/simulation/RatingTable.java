@@ -0,0 +1,262 @@
+package com.neopoly.tictactoe.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class aggregates the results of the matches of a tournament for all strategies - a match
+ * being all rounds of one pairing. It is thread-safe: the threads of a tournament add their
+ * finished matches concurrently, and the standings can be read at any time. All ratings are sums
+ * of the match results, so they don't depend on the order in which the matches are added.
+ */
+public class RatingTable {
+
+    /** The points of a won match - a drawn match counts half of them. */
+    public static final int MATCH_POINTS_WIN = 2;
+
+    /** The names of the strategies in the order of the tournament. */
+    private final String[] mNames;
+    /** The count of won matches per strategy. */
+    private final LongAdder[] mMatchesWon;
+    /** The count of drawn matches per strategy. */
+    private final LongAdder[] mMatchesDrawn;
+    /** The count of lost matches per strategy. */
+    private final LongAdder[] mMatchesLost;
+    /** The points of all rounds per strategy - a 'double win' counts two. */
+    private final LongAdder[] mPoints;
+    /** The points of the opponents in all rounds per strategy. */
+    private final LongAdder[] mPointsAgainst;
+    /** The count of played rounds per strategy. */
+    private final LongAdder[] mGames;
+    /** The duration of the tournament in nanoseconds. */
+    private volatile long mElapsedNanos;
+
+    /**
+     * @param names the names of the strategies in the order of the tournament.
+     */
+    RatingTable(String[] names) {
+
+        mNames = names.clone();
+        mMatchesWon = newAdders(names.length);
+        mMatchesDrawn = newAdders(names.length);
+        mMatchesLost = newAdders(names.length);
+        mPoints = newAdders(names.length);
+        mPointsAgainst = newAdders(names.length);
+        mGames = newAdders(names.length);
+    }
+
+    /**
+     * This method adds the result of a finished match - it may be called from any thread.
+     *
+     * @param first the index of the first strategy of the pairing.
+     * @param second the index of the second strategy of the pairing.
+     * @param firstPoints the points of the first strategy in all rounds.
+     * @param secondPoints the points of the second strategy in all rounds.
+     * @param games the count of played rounds.
+     */
+    void addMatch(int first, int second, int firstPoints, int secondPoints, int games) {
+
+        if (firstPoints > secondPoints) {
+            mMatchesWon[first].increment();
+            mMatchesLost[second].increment();
+        } else if (firstPoints < secondPoints) {
+            mMatchesLost[first].increment();
+            mMatchesWon[second].increment();
+        } else {
+            mMatchesDrawn[first].increment();
+            mMatchesDrawn[second].increment();
+        }
+        mPoints[first].add(firstPoints);
+        mPointsAgainst[first].add(secondPoints);
+        mPoints[second].add(secondPoints);
+        mPointsAgainst[second].add(firstPoints);
+        mGames[first].add(games);
+        mGames[second].add(games);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        mElapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the standings of all strategies ordered by their match points, their point
+     * difference and finally their order in the tournament.
+     */
+    public List<Standing> getStandings() {
+
+        List<Standing> standings = new ArrayList<>(mNames.length);
+        for (int strategy = 0; strategy < mNames.length; strategy++) {
+            standings.add(new Standing(strategy, mNames[strategy], mMatchesWon[strategy].sum(),
+                    mMatchesDrawn[strategy].sum(), mMatchesLost[strategy].sum(),
+                    mPoints[strategy].sum(), mPointsAgainst[strategy].sum(),
+                    mGames[strategy].sum()));
+        }
+        Collections.sort(standings, (standing, other) -> {
+            int order = Long.compare(other.getMatchPoints(), standing.getMatchPoints());
+            if (order == 0) {
+                order = Long.compare(other.mPoints - other.mPointsAgainst,
+                        standing.mPoints - standing.mPointsAgainst);
+            }
+            return order != 0 ? order : Integer.compare(standing.mIndex, other.mIndex);
+        });
+        return standings;
+    }
+
+    /**
+     * @return the count of all played rounds.
+     */
+    public long getGamesCount() {
+
+        long count = 0;
+        for (LongAdder games : mGames) {
+            count += games.sum();
+        }
+        return count / 2;                                   // Each round is counted by both
+    }
+
+    /**
+     * @return the duration of the tournament in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return mElapsedNanos;
+    }
+
+    /**
+     * @return the count of played rounds per second.
+     */
+    public double getGamesPerSecond() {
+        return getGamesCount() * 1e9 / mElapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder report = new StringBuilder();
+        report.append("games: ").append(getGamesCount())
+                .append(", elapsed: ").append(mElapsedNanos / 1000000).append(" ms, ")
+                .append(String.format("%.0f games/s", getGamesPerSecond())).append('\n');
+        int rank = 0;
+        for (Standing standing : getStandings()) {
+            report.append(String.format("  %2d. %-24s %3d  (%d-%d-%d)  points %d:%d  %.1f%%%n",
+                    ++rank, standing.mName, standing.getMatchPoints(), standing.mMatchesWon,
+                    standing.mMatchesDrawn, standing.mMatchesLost, standing.mPoints,
+                    standing.mPointsAgainst, 100 * standing.getPointsShare()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * This helper method creates the given count of adders.
+     */
+    private static LongAdder[] newAdders(int count) {
+
+        LongAdder[] adders = new LongAdder[count];
+        for (int index = 0; index < count; index++) {
+            adders[index] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * This class holds the results of one strategy at the time the standings have been read.
+     */
+    public static class Standing {
+
+        /** The index of the strategy in the tournament. */
+        private final int mIndex;
+        /** The name of the strategy. */
+        private final String mName;
+        /** The count of won matches. */
+        private final long mMatchesWon;
+        /** The count of drawn matches. */
+        private final long mMatchesDrawn;
+        /** The count of lost matches. */
+        private final long mMatchesLost;
+        /** The points of all rounds. */
+        private final long mPoints;
+        /** The points of the opponents in all rounds. */
+        private final long mPointsAgainst;
+        /** The count of played rounds. */
+        private final long mGames;
+
+        Standing(int index, String name, long matchesWon, long matchesDrawn, long matchesLost,
+                 long points, long pointsAgainst, long games) {
+            mIndex = index;
+            mName = name;
+            mMatchesWon = matchesWon;
+            mMatchesDrawn = matchesDrawn;
+            mMatchesLost = matchesLost;
+            mPoints = points;
+            mPointsAgainst = pointsAgainst;
+            mGames = games;
+        }
+
+        /**
+         * @return the name of the strategy.
+         */
+        public String getName() {
+            return mName;
+        }
+
+        /**
+         * @return the count of won matches.
+         */
+        public long getMatchesWon() {
+            return mMatchesWon;
+        }
+
+        /**
+         * @return the count of drawn matches.
+         */
+        public long getMatchesDrawn() {
+            return mMatchesDrawn;
+        }
+
+        /**
+         * @return the count of lost matches.
+         */
+        public long getMatchesLost() {
+            return mMatchesLost;
+        }
+
+        /**
+         * @return the points of all matches - 'MATCH_POINTS_WIN' per won and half of them per
+         * drawn match.
+         */
+        public long getMatchPoints() {
+            return MATCH_POINTS_WIN * mMatchesWon + MATCH_POINTS_WIN / 2 * mMatchesDrawn;
+        }
+
+        /**
+         * @return the points of all rounds - a 'double win' counts two.
+         */
+        public long getPoints() {
+            return mPoints;
+        }
+
+        /**
+         * @return the points of the opponents in all rounds.
+         */
+        public long getPointsAgainst() {
+            return mPointsAgainst;
+        }
+
+        /**
+         * @return the share [0-1] of the strategy in the points of all its rounds - '0.5' if
+         * nobody has scored.
+         */
+        public double getPointsShare() {
+            long total = mPoints + mPointsAgainst;
+            return total == 0 ? 0.5 : (double) mPoints / total;
+        }
+
+        /**
+         * @return the count of played rounds.
+         */
+        public long getGames() {
+            return mGames;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.neopoly.tictactoe.simulation;
+
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class runs round robin tournaments of computer strategies: each strategy plays a match of
+ * the same count of rounds against each other strategy. The rounds of a match follow the rules of
+ * the app - the first strategy of a pairing begins the first round, after a tied score the
+ * beginner alternates and otherwise the trailing strategy begins, and a 'double win' counts two.
+ * Each pairing gets its own 'SplittableRandom' split from the seed in the order of the pairings.
+ * The threads take the next open pairing until all are played, each with its own game logic and
+ * players, and add the finished matches to a shared 'RatingTable' - so the results of a seed are
+ * the same for each count of threads.
+ */
+public class TournamentRunner {
+
+    /** The strategies taking part in the tournament. */
+    private final TournamentStrategy[] mStrategies;
+    /** The count of threads playing in parallel. */
+    private final int mThreads;
+
+    /**
+     * @param strategies the strategies taking part in the tournament - at least two.
+     * @param threads the count of threads playing in parallel.
+     */
+    public TournamentRunner(List<? extends TournamentStrategy> strategies, int threads) {
+
+        if (strategies.size() < 2 || threads < 1) {
+            throw new IllegalArgumentException();
+        }
+        mStrategies = strategies.toArray(new TournamentStrategy[strategies.size()]);
+        mThreads = threads;
+    }
+
+    /**
+     * This method plays all matches of the tournament and measures the elapsed time.
+     *
+     * @param roundsPerPairing the count of rounds of each match.
+     * @param seed the seed of the random selections.
+     * @return the rating table of all matches.
+     */
+    public RatingTable run(int roundsPerPairing, long seed) {
+
+        if (roundsPerPairing < 1) {
+            throw new IllegalArgumentException();
+        }
+
+        // Split the random number generators in the order of the pairings, independent from threads
+        int strategies = mStrategies.length;
+        int[][] pairings = new int[strategies * (strategies - 1) / 2][];
+        SplittableRandom[] pairingRandoms = new SplittableRandom[pairings.length];
+        SplittableRandom random = new SplittableRandom(seed);
+        int pairing = 0;
+        for (int first = 0; first < strategies; first++) {
+            for (int second = first + 1; second < strategies; second++) {
+                pairings[pairing] = new int[] {first, second};
+                pairingRandoms[pairing++] = random.split();
+            }
+        }
+
+        String[] names = new String[strategies];
+        for (int strategy = 0; strategy < strategies; strategy++) {
+            names[strategy] = mStrategies[strategy].getName();
+        }
+        RatingTable ratingTable = new RatingTable(names);
+        AtomicInteger nextPairing = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(mThreads);
+        try {
+            long startNanos = System.nanoTime();
+            List<Future<Void>> futures = new ArrayList<>(mThreads);
+            for (int thread = 0; thread < mThreads; thread++) {
+                futures.add(executor.submit(new MatchTask(mStrategies, pairings, pairingRandoms,
+                        nextPairing, roundsPerPairing, ratingTable)));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+            ratingTable.setElapsedNanos(System.nanoTime() - startNanos);
+            return ratingTable;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * The matches of one thread - the next open pairing until all are played.
+     */
+    private static class MatchTask implements Callable<Void> {
+
+        /** The strategies taking part in the tournament. */
+        private final TournamentStrategy[] mStrategies;
+        /** The indices of both strategies of all pairings. */
+        private final int[][] mPairings;
+        /** The random number generators of all pairings. */
+        private final SplittableRandom[] mPairingRandoms;
+        /** The index of the next open pairing shared by all threads. */
+        private final AtomicInteger mNextPairing;
+        /** The count of rounds of each match. */
+        private final int mRounds;
+        /** The rating table shared by all threads. */
+        private final RatingTable mRatingTable;
+        /** The game logic of this thread. */
+        private final TicTacToeGameLogic mGameLogic = new TicTacToeGameLogic();
+        /** The players of this thread per strategy - created with their first match. */
+        private final TournamentStrategy.Player[] mPlayers;
+
+        MatchTask(TournamentStrategy[] strategies, int[][] pairings,
+                  SplittableRandom[] pairingRandoms, AtomicInteger nextPairing, int rounds,
+                  RatingTable ratingTable) {
+            mStrategies = strategies;
+            mPairings = pairings;
+            mPairingRandoms = pairingRandoms;
+            mNextPairing = nextPairing;
+            mRounds = rounds;
+            mRatingTable = ratingTable;
+            mPlayers = new TournamentStrategy.Player[strategies.length];
+        }
+
+        @Override
+        public Void call() {
+
+            for (int pairing = mNextPairing.getAndIncrement(); pairing < mPairings.length;
+                 pairing = mNextPairing.getAndIncrement()) {
+                playMatch(mPairings[pairing][0], mPairings[pairing][1], mPairingRandoms[pairing]);
+            }
+            return null;
+        }
+
+        /**
+         * This helper method plays all rounds of a pairing and adds the match to the rating table.
+         */
+        private void playMatch(int first, int second, SplittableRandom random) {
+
+            TournamentStrategy.Player firstPlayer = getPlayer(first);
+            TournamentStrategy.Player secondPlayer = getPlayer(second);
+            int firstPoints = 0;
+            int secondPoints = 0;
+            boolean firstBegins = false;            // Toggled before the first round
+
+            for (int round = 0; round < mRounds; round++) {
+                // Determine the beginner like 'PlayingFieldActivity.determineFirstGamer()'
+                if (firstPoints == secondPoints) {
+                    firstBegins = !firstBegins;
+                } else {
+                    firstBegins = firstPoints < secondPoints;
+                }
+
+                GameState gameState = firstBegins ? playRound(firstPlayer, secondPlayer, random)
+                        : playRound(secondPlayer, firstPlayer, random);
+                int beginnersPoints = 0;
+                int othersPoints = 0;
+                switch (gameState) {
+                    case WINNER_FIRST:
+                        beginnersPoints = 1;
+                        break;
+                    case DOUBLE_WIN_FIRST:
+                        beginnersPoints = 2;
+                        break;
+                    case WINNER_SECOND:
+                        othersPoints = 1;
+                        break;
+                    default:
+                        break;
+                }
+                firstPoints += firstBegins ? beginnersPoints : othersPoints;
+                secondPoints += firstBegins ? othersPoints : beginnersPoints;
+            }
+            mRatingTable.addMatch(first, second, firstPoints, secondPoints, mRounds);
+        }
+
+        /**
+         * This helper method plays one round until it is finished.
+         *
+         * @return the final 'GameState' of the round.
+         */
+        private GameState playRound(TournamentStrategy.Player beginner,
+                                    TournamentStrategy.Player other, SplittableRandom random) {
+
+            mGameLogic.startNewGame();
+            GameState gameState = GameState.OPEN;
+            for (int turn = 0; gameState.equals(GameState.OPEN); turn++) {
+                int field = (turn % 2 == 0 ? beginner : other).selectField(mGameLogic, random);
+                if (field < 0 || (mGameLogic.getLegalMoves() & (1 << field)) == 0) {
+                    throw new IllegalStateException("Invalid selection: " + field);
+                }
+                gameState = mGameLogic.setFlagToField(field);
+            }
+            return gameState;
+        }
+
+        /**
+         * This helper method returns the player of a strategy for this thread.
+         */
+        private TournamentStrategy.Player getPlayer(int strategy) {
+
+            if (mPlayers[strategy] == null) {
+                mPlayers[strategy] = mStrategies[strategy].newPlayer();
+            }
+            return mPlayers[strategy];
+        }
+    }
+
+    /**
+     * This method runs a tournament of random, perfect and partly random strategies with the given
+     * count of rounds per pairing - ten thousand by default - with each count of threads from one
+     * up to the count of available processors and prints the rating tables.
+     */
+    public static void main(String[] args) {
+
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        List<TournamentStrategy> strategies = Arrays.asList(TournamentStrategy.random(),
+                TournamentStrategy.perfect(), TournamentStrategy.perfect(0.1),
+                TournamentStrategy.perfect(0.25), TournamentStrategy.perfect(0.5));
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= processors; threads *= 2) {
+            System.out.println("threads: " + threads);
+            System.out.print(new TournamentRunner(strategies, threads).run(rounds, 1));
+        }
+    }
+}
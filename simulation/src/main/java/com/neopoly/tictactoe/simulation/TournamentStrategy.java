@@ -0,0 +1,106 @@
+package com.neopoly.tictactoe.simulation;
+
+import com.neopoly.tictactoe.gamelogic.PerfectComputerGamer;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+
+import java.util.SplittableRandom;
+
+/**
+ * This interface represents a computer strategy taking part in a tournament of the
+ * 'TournamentRunner'. A strategy is shared by all threads of a tournament, so it only creates
+ * 'Player's - each thread plays with its own player instances, which don't have to be thread-safe.
+ */
+public interface TournamentStrategy {
+
+    /**
+     * The selections of one strategy on one thread.
+     */
+    interface Player {
+
+        /**
+         * This method selects a field for the gamer on turn. All random decisions have to be taken
+         * from the given random number generator, so the games of a seed can be repeated.
+         *
+         * @param gameLogic the game logic holding the current and open game - it must reach its
+         *                  current state again before the method returns.
+         * @param random the random numbers of the current pairing.
+         * @return the index [0-8] of an empty field.
+         */
+        int selectField(TicTacToeGameLogic gameLogic, SplittableRandom random);
+    }
+
+    /**
+     * @return the name of the strategy shown in the standings.
+     */
+    String getName();
+
+    /**
+     * @return a new player of this strategy for the calling thread.
+     */
+    Player newPlayer();
+
+    /**
+     * @return a strategy selecting random empty fields.
+     */
+    static TournamentStrategy random() {
+        return new TournamentStrategy() {
+            @Override
+            public String getName() {
+                return "random";
+            }
+
+            @Override
+            public Player newPlayer() {
+                return TournamentStrategy::selectRandomField;
+            }
+        };
+    }
+
+    /**
+     * @return a strategy selecting the best fields of a 'PerfectComputerGamer'.
+     */
+    static TournamentStrategy perfect() {
+        return perfect(0);
+    }
+
+    /**
+     * @param randomProbability the probability [0-1] of a random selection instead of the best
+     *                          field - '0' for a perfect strategy.
+     * @return a strategy selecting the best fields of a 'PerfectComputerGamer' with the given
+     * probability of random selections in between.
+     */
+    static TournamentStrategy perfect(double randomProbability) {
+
+        if (randomProbability < 0 || randomProbability > 1) {
+            throw new IllegalArgumentException();
+        }
+        String name = randomProbability == 0 ? "perfect"
+                : String.format("perfect (%.0f%% random)", 100 * randomProbability);
+        return new TournamentStrategy() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Player newPlayer() {
+                PerfectComputerGamer gamer = new PerfectComputerGamer();
+                return (gameLogic, random) -> randomProbability > 0
+                        && random.nextDouble() < randomProbability
+                        ? selectRandomField(gameLogic, random) : gamer.selectField(gameLogic);
+            }
+        };
+    }
+
+    /**
+     * This helper method selects the n-th empty field for a random 'n'.
+     */
+    static int selectRandomField(TicTacToeGameLogic gameLogic, SplittableRandom random) {
+
+        int fields = gameLogic.getLegalMoves();
+        for (int skip = random.nextInt(Integer.bitCount(fields)); skip > 0; skip--) {
+            fields &= fields - 1;
+        }
+        return Integer.numberOfTrailingZeros(fields);
+    }
+}
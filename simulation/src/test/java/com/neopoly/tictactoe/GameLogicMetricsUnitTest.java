@@ -0,0 +1,135 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.BitboardTicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.PackedPlayingField;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+import com.neopoly.tictactoe.simulation.GameLogicMetrics;
+import com.neopoly.tictactoe.simulation.InstrumentedGameLogic;
+import com.neopoly.tictactoe.simulation.LatencyHistogram;
+import com.neopoly.tictactoe.simulation.RandomGameSimulator;
+import com.neopoly.tictactoe.simulation.RandomGameStatistics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the metrics recorded by instrumented game logics.
+ */
+public class GameLogicMetricsUnitTest {
+
+    /**An abbreviated notation for 'FieldFlag.FIRST_GAMERS_FLAG'. */
+    private static final FieldFlag X = FieldFlag.FIRST_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.SECOND_GAMERS_FLAG'. */
+    private static final FieldFlag O = FieldFlag.SECOND_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.EMPTY_FIELD'. */
+    private static final FieldFlag E = FieldFlag.EMPTY_FIELD;
+
+    @Test
+    /**
+     * Test that game logics of several threads sharing one metrics instance count exactly the
+     * games and selections of the simulation.
+     */
+    public void snapshot_simulatedGames_matchStatistics() throws Exception {
+
+        GameLogicMetrics metrics = new GameLogicMetrics();
+        long games = 3 * RandomGameSimulator.CHUNK_SIZE + 17;
+        RandomGameStatistics statistics = new RandomGameSimulator(
+                () -> InstrumentedGameLogic.instrument(new BitboardTicTacToeGameLogic(), metrics),
+                4).simulate(games, 42);
+
+        long moves = 0;
+        for (int length = 0; length <= TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT; length++) {
+            moves += length * statistics.getGameLengthCount(length);
+        }
+        GameLogicMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(games, snapshot.getGamesStarted());
+        assertEquals(games, snapshot.getGamesFinished());
+        assertEquals(moves, snapshot.getMoves());
+        assertEquals(0, snapshot.getInvalidMoves());
+        assertEquals(moves, snapshot.getSetFlagToFieldLatencies().getCount());
+        assertEquals(0, snapshot.getInitPlayingFieldStateLatencies().getCount());
+    }
+
+    @Test
+    /**
+     * Test that invalid selections, loaded and rejected playing fields are counted separately:
+     *
+     * valid state:       invalid state:
+     *
+     *  X | O | □          X | X | X
+     * ---|---|---        ---|---|---
+     *  □ | X | □          O | O | □
+     * ---|---|---        ---|---|---
+     *  □ | □ | □          □ | □ | □
+     */
+    public void snapshot_invalidCalls_areCounted() throws Exception {
+
+        GameLogicMetrics metrics = new GameLogicMetrics();
+        TicTacToeGameLogicInterface gameLogic =
+                InstrumentedGameLogic.instrument(new TicTacToeGameLogic(), metrics);
+
+        assertEquals(X, gameLogic.initPlayingFieldState(PackedPlayingField.EMPTY));
+        assertEquals(O,
+                gameLogic.initPlayingFieldState(new FieldFlag[] {X, O, E, E, X, E, E, E, E}));
+        try {
+            gameLogic.initPlayingFieldState(new FieldFlag[] {X, X, X, O, O, E, E, E, E});
+            fail();
+        } catch (TicTacToeGameLogicInterface.NoInitialStateException e) {
+            // expected
+        }
+
+        // The rejected playing field started a new game
+        gameLogic.setFlagToField(4);
+        gameLogic.setFlagToField(-1);
+        gameLogic.setFlagToField(9);
+        gameLogic.setFlagToField(4);
+
+        GameLogicMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.getPlayingFieldsLoaded());
+        assertEquals(1, snapshot.getNoInitialStateExceptions());
+        assertEquals(3, snapshot.getInitPlayingFieldStateLatencies().getCount());
+        assertEquals(1, snapshot.getMoves());
+        assertEquals(3, snapshot.getInvalidMoves());
+        assertEquals(0, snapshot.getGamesFinished());
+
+        // The snapshot doesn't change with later calls, and without metrics nothing is wrapped
+        gameLogic.startNewGame();
+        assertEquals(0, snapshot.getGamesStarted());
+        assertEquals(1, metrics.snapshot().getGamesStarted());
+        TicTacToeGameLogic plain = new TicTacToeGameLogic();
+        assertSame(plain, InstrumentedGameLogic.instrument(plain, null));
+    }
+
+    @Test
+    /**
+     * Test the power-of-two buckets and the percentiles of the latency histogram.
+     */
+    public void latencyHistogram_recordedLatencies_isCorrect() throws Exception {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().getPercentileNanos(99));
+
+        for (int latency = 0; latency < 98; latency++) {
+            histogram.record(100);                          // [64-128)
+        }
+        histogram.record(0);
+        histogram.record(-5);                               // recorded as '0'
+        histogram.record(1000);                             // [512-1024)
+        histogram.record(Long.MAX_VALUE);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(102, snapshot.getCount());
+        assertEquals(2, snapshot.getCount(0));
+        assertEquals(98, snapshot.getCount(7));
+        assertEquals(1, snapshot.getCount(10));
+        assertEquals(1, snapshot.getCount(LatencyHistogram.BUCKET_COUNT - 1));
+        assertEquals(1, snapshot.getPercentileNanos(1));
+        assertEquals(128, snapshot.getPercentileNanos(50));
+        assertEquals(128, snapshot.getPercentileNanos(98));
+        assertEquals(1024, snapshot.getPercentileNanos(99));
+        assertEquals(Long.MAX_VALUE, snapshot.getPercentileNanos(100));
+    }
+}
@@ -0,0 +1,52 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.simulation.GameTreeEnumerator;
+import com.neopoly.tictactoe.simulation.GameTreeStatistics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the GameTreeEnumerator with different parallelism levels and split depths.
+ */
+public class GameTreeEnumeratorUnitTest {
+
+    @Test
+    /**
+     * Test the statistics of the complete game tree walked sequentially without any split.
+     */
+    public void enumerate_sequential_isCorrect() throws Exception {
+
+        GameTreeStatistics statistics = new GameTreeEnumerator(1, 0).enumerate();
+
+        assertEquals(255168, statistics.getFinishedGamesCount());
+        assertEquals(77904, statistics.getFinishedGamesCount(GameState.WINNER_SECOND));
+        assertEquals(131184, statistics.getFinishedGamesCount(GameState.WINNER_FIRST)
+                + statistics.getDoubleWinsCount());
+        assertEquals(46080, statistics.getFinishedGamesCount(GameState.GAME_OVER));
+        assertEquals(0, statistics.getFinishedGamesCount(GameState.OPEN));
+        assertTrue(statistics.getElapsedNanos() > 0);
+    }
+
+    @Test
+    /**
+     * Test that the parallel walks with several split depths equal the sequential walk.
+     */
+    public void enumerate_parallel_equalsSequential() throws Exception {
+
+        GameTreeStatistics sequential = new GameTreeEnumerator(1, 0).enumerate();
+        for (int splitDepth = 1; splitDepth <= 4; splitDepth++) {
+            GameTreeStatistics parallel = new GameTreeEnumerator(4, splitDepth).enumerate();
+
+            assertEquals(sequential.getSequencesCount(), parallel.getSequencesCount());
+            for (GameState gameState : GameState.values()) {
+                assertEquals(sequential.getFinishedGamesCount(gameState),
+                        parallel.getFinishedGamesCount(gameState));
+                assertEquals(sequential.getFinalPositionsCount(gameState),
+                        parallel.getFinalPositionsCount(gameState));
+            }
+        }
+    }
+}
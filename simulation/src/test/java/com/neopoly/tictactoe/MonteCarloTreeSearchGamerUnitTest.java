@@ -0,0 +1,154 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.BitboardTicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.FieldFlag;
+import com.neopoly.tictactoe.gamelogic.MnkGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+import com.neopoly.tictactoe.simulation.MonteCarloTreeSearchGamer;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the MonteCarloTreeSearchGamer with the game logic engines and several threads.
+ */
+public class MonteCarloTreeSearchGamerUnitTest {
+
+    /**An abbreviated notation for 'FieldFlag.FIRST_GAMERS_FLAG'. */
+    private static final FieldFlag X = FieldFlag.FIRST_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.SECOND_GAMERS_FLAG'. */
+    private static final FieldFlag O = FieldFlag.SECOND_GAMERS_FLAG;
+    /**An abbreviated notation for 'FieldFlag.EMPTY_FIELD'. */
+    private static final FieldFlag E = FieldFlag.EMPTY_FIELD;
+
+    @Test
+    /**
+     * Test that the first gamer completes the top row and that the second gamer blocks it:
+     *
+     *  X | X |         X | X |
+     * ---|---|---     ---|---|---
+     *  O | O |         O |   |
+     * ---|---|---     ---|---|---
+     *    |   |           |   |
+     *
+     * ...where 'X' is the first gamer and 'O' the second.
+     */
+    public void selectField_winAndBlock_isCorrect() throws Exception {
+
+        MonteCarloTreeSearchGamer gamer =
+                new MonteCarloTreeSearchGamer(TicTacToeGameLogic::new, 2, 42);
+        try {
+            assertEquals(2, gamer.selectField(new FieldFlag[] {X, X, E,
+                                                               O, O, E,
+                                                               E, E, E}));
+            assertEquals(2, gamer.selectField(new FieldFlag[] {X, X, E,
+                                                               O, E, E,
+                                                               E, E, E}));
+        } finally {
+            gamer.shutdown();
+        }
+    }
+
+    @Test
+    /**
+     * Test that equal seeds lead to equal single thread searches with both engines and that the
+     * count of playouts matches the iteration budget of all threads.
+     */
+    public void search_iterationBudget_isReproducible() throws Exception {
+
+        FieldFlag[] playingField = new FieldFlag[] {E, E, E,
+                                                    E, X, E,
+                                                    E, E, E};
+        MonteCarloTreeSearchGamer first =
+                new MonteCarloTreeSearchGamer(TicTacToeGameLogic::new, 1, 7);
+        MonteCarloTreeSearchGamer second =
+                new MonteCarloTreeSearchGamer(BitboardTicTacToeGameLogic::new, 1, 7);
+        MonteCarloTreeSearchGamer parallel =
+                new MonteCarloTreeSearchGamer(TicTacToeGameLogic::new, 4, 7);
+        try {
+            first.setIterationBudget(5000);
+            second.setIterationBudget(5000);
+            parallel.setIterationBudget(5000);
+
+            MonteCarloTreeSearchGamer.SearchResult firstResult = first.search(playingField);
+            MonteCarloTreeSearchGamer.SearchResult secondResult = second.search(playingField);
+            assertEquals(5000, firstResult.getPlayouts());
+            assertEquals(20000, parallel.search(playingField).getPlayouts());
+            for (int field = 0; field < TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT; field++) {
+                assertEquals(firstResult.getVisits(field), secondResult.getVisits(field));
+            }
+            assertEquals(0, firstResult.getVisits(4));      // already flagged
+        } finally {
+            first.shutdown();
+            second.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    /**
+     * Test that the first gamer completes five in a row on a 15x15-field and that the second
+     * gamer blocks the gap of a split four. The eighth row of both playing fields - the other
+     * fields are empty except for the second gamer's flags in the corners:
+     *
+     *  □ □ □ □ □ X X X X □ □ □ □ □ □
+     *
+     *  □ □ □ □ X X □ X X □ □ □ □ □ □
+     *
+     * ...where 'X' is the first gamer and 'O' the second.
+     */
+    public void selectField_15x15_winAndBlock_isCorrect() throws Exception {
+
+        MonteCarloTreeSearchGamer gamer = new MonteCarloTreeSearchGamer(
+                () -> new MnkGameLogic(15, 15, 5), 2, 42);
+        try {
+            gamer.setIterationBudget(40000);        // Random playouts on 225 fields are noisy
+            int field = gamer.selectField(new15x15PlayingField(new int[] {5, 6, 7, 8}, 4));
+            assertTrue(field == 7 * 15 + 4 || field == 7 * 15 + 9);
+            assertEquals(7 * 15 + 6,
+                    gamer.selectField(new15x15PlayingField(new int[] {4, 5, 7, 8}, 3)));
+        } finally {
+            gamer.shutdown();
+        }
+    }
+
+    @Test(expected = TicTacToeGameLogicInterface.NoInitialStateException.class)
+    /**
+     * Test that a finished game is rejected.
+     */
+    public void search_finishedGame_throwsException() throws Exception {
+
+        MonteCarloTreeSearchGamer gamer =
+                new MonteCarloTreeSearchGamer(TicTacToeGameLogic::new, 1, 1);
+        try {
+            gamer.search(new FieldFlag[] {X, X, X,
+                                          O, O, E,
+                                          E, E, E});
+        } finally {
+            gamer.shutdown();
+        }
+    }
+
+    /**
+     * This helper method builds a 15x15-playing field with the first gamer's flags in the given
+     * columns of the eighth row and the given count of the second gamer's flags in the corners.
+     */
+    private static FieldFlag[] new15x15PlayingField(int[] firstGamersColumns,
+                                                    int secondGamersCount) {
+
+        FieldFlag[] playingField = new FieldFlag[15 * 15];
+        Arrays.fill(playingField, E);
+        for (int column : firstGamersColumns) {
+            playingField[7 * 15 + column] = X;
+        }
+        int[] corners = new int[] {0, 14, 14 * 15, 14 * 15 + 14};
+        for (int corner = 0; corner < secondGamersCount; corner++) {
+            playingField[corners[corner]] = O;
+        }
+        return playingField;
+    }
+}
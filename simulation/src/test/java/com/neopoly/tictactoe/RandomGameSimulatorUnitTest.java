@@ -0,0 +1,65 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.BitboardTicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.GameState;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+import com.neopoly.tictactoe.simulation.RandomGameSimulator;
+import com.neopoly.tictactoe.simulation.RandomGameStatistics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the RandomGameSimulator with different counts of threads and engines.
+ */
+public class RandomGameSimulatorUnitTest {
+
+    @Test
+    /**
+     * Test that a seed leads to the same results for each count of threads and both engines.
+     */
+    public void simulate_fixedSeed_isIndependentOfThreads() throws Exception {
+
+        long games = 5 * RandomGameSimulator.CHUNK_SIZE + 123;
+        RandomGameStatistics reference = new RandomGameSimulator(1).simulate(games, 42);
+        assertEquals(games, reference.getGamesCount());
+
+        RandomGameStatistics[] others = new RandomGameStatistics[] {
+                new RandomGameSimulator(3).simulate(games, 42),
+                new RandomGameSimulator(8).simulate(games, 42),
+                new RandomGameSimulator(BitboardTicTacToeGameLogic::new, 2).simulate(games, 42)};
+        for (RandomGameStatistics other : others) {
+            for (GameState gameState : GameState.values()) {
+                assertEquals(reference.getGamesCount(gameState), other.getGamesCount(gameState));
+            }
+            for (int length = 0; length <= TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT;
+                 length++) {
+                assertEquals(reference.getGameLengthCount(length),
+                        other.getGameLengthCount(length));
+            }
+        }
+    }
+
+    @Test
+    /**
+     * Test the distribution of random games - the first gamer wins about 58.5% of them, the
+     * second gamer 28.8% and the rest ends without any winner after at least eight selections.
+     */
+    public void simulate_distribution_isCorrect() throws Exception {
+
+        RandomGameStatistics statistics = new RandomGameSimulator(2).simulate(1000000, 7);
+        double games = statistics.getGamesCount();
+
+        assertEquals(0.585, (statistics.getGamesCount(GameState.WINNER_FIRST)
+                + statistics.getGamesCount(GameState.DOUBLE_WIN_FIRST)) / games, 0.005);
+        assertEquals(0.288, statistics.getGamesCount(GameState.WINNER_SECOND) / games, 0.005);
+        assertEquals(0.127, statistics.getGamesCount(GameState.GAME_OVER) / games, 0.005);
+        assertEquals(0, statistics.getGamesCount(GameState.OPEN));
+
+        for (int length = 0; length < 5; length++) {
+            assertEquals(0, statistics.getGameLengthCount(length));
+        }
+        assertTrue(statistics.getGamesPerSecond() > 0);
+    }
+}
@@ -0,0 +1,182 @@
+package com.neopoly.tictactoe;
+
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogic;
+import com.neopoly.tictactoe.gamelogic.TicTacToeGameLogicInterface;
+import com.neopoly.tictactoe.simulation.RatingTable;
+import com.neopoly.tictactoe.simulation.TournamentRunner;
+import com.neopoly.tictactoe.simulation.TournamentStrategy;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the TournamentRunner with random, perfect and scripted strategies.
+ */
+public class TournamentRunnerUnitTest {
+
+    /** The preferred fields of the first gamer of the scripted strategies. */
+    private static final int[] FIRST_GAMERS_FIELDS = new int[] {0, 2, 6, 8, 4};
+    /** The preferred fields of the second gamer of the scripted strategies. */
+    private static final int[] SECOND_GAMERS_FIELDS = new int[] {1, 3, 5, 7};
+    /** The mask of all fields of the playing field. */
+    private static final int ALL_FIELDS = (1 << TicTacToeGameLogicInterface.TOTAL_FIELD_COUNT) - 1;
+
+    @Test
+    /**
+     * Test that a seed leads to the same standings for each count of threads.
+     */
+    public void run_fixedSeed_isIndependentOfThreads() throws Exception {
+
+        List<TournamentStrategy> strategies = Arrays.asList(TournamentStrategy.random(),
+                TournamentStrategy.perfect(0.5), TournamentStrategy.perfect(0.25),
+                TournamentStrategy.random(), TournamentStrategy.perfect(0.75));
+        RatingTable reference = new TournamentRunner(strategies, 1).run(500, 42);
+        assertEquals(10 * 500, reference.getGamesCount());
+        assertTrue(reference.getGamesPerSecond() > 0);
+
+        for (int threads : new int[] {2, 3, 8}) {
+            List<RatingTable.Standing> standings =
+                    new TournamentRunner(strategies, threads).run(500, 42).getStandings();
+            for (int rank = 0; rank < strategies.size(); rank++) {
+                RatingTable.Standing expected = reference.getStandings().get(rank);
+                RatingTable.Standing actual = standings.get(rank);
+                assertEquals(expected.getName(), actual.getName());
+                assertEquals(expected.getMatchesWon(), actual.getMatchesWon());
+                assertEquals(expected.getMatchesDrawn(), actual.getMatchesDrawn());
+                assertEquals(expected.getPoints(), actual.getPoints());
+                assertEquals(expected.getPointsAgainst(), actual.getPointsAgainst());
+                assertEquals(4 * 500, actual.getGames());
+            }
+        }
+    }
+
+    @Test
+    /**
+     * Test that perfect strategies never lose a round and only reach 'GameState.GAME_OVER'
+     * against each other.
+     */
+    public void run_perfectStrategies_neverLose() throws Exception {
+
+        RatingTable ratingTable = new TournamentRunner(Arrays.asList(TournamentStrategy.random(),
+                TournamentStrategy.perfect(), TournamentStrategy.perfect()), 2).run(200, 7);
+        List<RatingTable.Standing> standings = ratingTable.getStandings();
+
+        for (int rank = 0; rank < 2; rank++) {
+            assertEquals("perfect", standings.get(rank).getName());
+            assertEquals(1, standings.get(rank).getMatchesWon());
+            assertEquals(1, standings.get(rank).getMatchesDrawn());
+            assertEquals(0, standings.get(rank).getPointsAgainst());
+        }
+        assertEquals("random", standings.get(2).getName());
+        assertEquals(0, standings.get(2).getPoints());
+        assertEquals(standings.get(0).getPoints() + standings.get(1).getPoints(),
+                standings.get(2).getPointsAgainst());
+    }
+
+    @Test
+    /**
+     * Test that a 'double win' counts two and that the beginner alternates after tied scores.
+     * The beginner of each round reaches a 'double win' with its last selection:
+     *
+     *  X | O | X
+     * ---|---|---
+     *  O | X | O
+     * ---|---|---
+     *  X | O | X
+     */
+    public void run_doubleWins_countTwo() throws Exception {
+
+        ScriptedStrategy first = new ScriptedStrategy("first", FIRST_GAMERS_FIELDS,
+                SECOND_GAMERS_FIELDS);
+        ScriptedStrategy second = new ScriptedStrategy("second", FIRST_GAMERS_FIELDS,
+                SECOND_GAMERS_FIELDS);
+        List<RatingTable.Standing> standings =
+                new TournamentRunner(Arrays.asList(first, second), 1).run(3, 1).getStandings();
+
+        // 2:0 - 2:2 - 4:2, so the first strategy begins the first and the third round
+        assertEquals("first", standings.get(0).getName());
+        assertEquals(4, standings.get(0).getPoints());
+        assertEquals(2, standings.get(0).getPointsAgainst());
+        assertEquals(RatingTable.MATCH_POINTS_WIN, standings.get(0).getMatchPoints());
+        assertEquals(0, standings.get(1).getMatchPoints());
+        assertEquals(2, first.mBeginnings.get());
+        assertEquals(1, second.mBeginnings.get());
+    }
+
+    @Test
+    /**
+     * Test that the trailing strategy begins the next round. The first gamer of the scripted
+     * strategy loses each round against the selection of the lowest empty field:
+     *
+     *  X | O | X
+     * ---|---|---
+     *  O | O | O
+     * ---|---|---
+     *  X | □ | X
+     */
+    public void run_trailingStrategy_begins() throws Exception {
+
+        ScriptedStrategy scripted = new ScriptedStrategy("scripted", FIRST_GAMERS_FIELDS,
+                SECOND_GAMERS_FIELDS);
+        ScriptedStrategy lowest = new ScriptedStrategy("lowest", new int[0], new int[0]);
+        List<RatingTable.Standing> standings =
+                new TournamentRunner(Arrays.asList(scripted, lowest), 1).run(3, 1).getStandings();
+
+        assertEquals("lowest", standings.get(0).getName());
+        assertEquals(3, standings.get(0).getPoints());
+        assertEquals(0, standings.get(1).getPoints());
+        assertEquals(3, scripted.mBeginnings.get());
+        assertEquals(0, lowest.mBeginnings.get());
+    }
+
+    /**
+     * A strategy selecting the first empty field of its preferences for the gamer on turn or else
+     * the lowest empty field. It counts the rounds it has begun.
+     */
+    private static class ScriptedStrategy implements TournamentStrategy {
+
+        /** The name of the strategy. */
+        private final String mName;
+        /** The preferred fields of the first gamer. */
+        private final int[] mFirstGamersFields;
+        /** The preferred fields of the second gamer. */
+        private final int[] mSecondGamersFields;
+        /** The count of rounds begun by this strategy. */
+        private final AtomicInteger mBeginnings = new AtomicInteger();
+
+        ScriptedStrategy(String name, int[] firstGamersFields, int[] secondGamersFields) {
+            mName = name;
+            mFirstGamersFields = firstGamersFields;
+            mSecondGamersFields = secondGamersFields;
+        }
+
+        @Override
+        public String getName() {
+            return mName;
+        }
+
+        @Override
+        public Player newPlayer() {
+            return (TicTacToeGameLogic gameLogic, SplittableRandom random) -> {
+                int legalMoves = gameLogic.getLegalMoves();
+                if (legalMoves == ALL_FIELDS) {
+                    mBeginnings.incrementAndGet();
+                }
+                int[] fields = Integer.bitCount(legalMoves) % 2 == 1
+                        ? mFirstGamersFields : mSecondGamersFields;
+                for (int field : fields) {
+                    if ((legalMoves & (1 << field)) != 0) {
+                        return field;
+                    }
+                }
+                return Integer.numberOfTrailingZeros(legalMoves);
+            };
+        }
+    }
+}